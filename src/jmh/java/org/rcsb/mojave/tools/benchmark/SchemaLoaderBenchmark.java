@@ -0,0 +1,84 @@
+package org.rcsb.mojave.tools.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and writing of JSON schemas with {@link org.rcsb.mojave.tools.jsonschema.SchemaLoader}.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchemaLoaderBenchmark {
+
+    @Benchmark
+    public JsonNode readSchema(SyntheticSchemaState state) throws IOException {
+        return state.loader.readSchema(state.schemaFile);
+    }
+
+    /**
+     * Reads the schema through a stream, as {@code readSchema(File)} did before local files were read in bulk.
+     */
+    @Benchmark
+    public JsonNode readSchemaFromStream(SyntheticSchemaState state) throws IOException {
+        return state.loader.readSchema(new FileInputStream(state.schemaFile));
+    }
+
+    @Benchmark
+    public void readAllFiles(SyntheticSchemaState state, Blackhole bh) throws IOException {
+        for (File f : state.schemaFiles)
+            bh.consume(state.loader.readSchema(f));
+    }
+
+    @Benchmark
+    public void readAllFilesFromStreams(SyntheticSchemaState state, Blackhole bh) throws IOException {
+        for (File f : state.schemaFiles)
+            bh.consume(state.loader.readSchema(new FileInputStream(f)));
+    }
+
+    @Benchmark
+    public void writeSchema(SyntheticSchemaState state, Blackhole bh) throws IOException {
+        state.loader.writeSchema(new BlackholeOutputStream(bh), state.schema);
+    }
+
+    @Benchmark
+    public void writeSchemaCompact(SyntheticSchemaState state, Blackhole bh) throws IOException {
+        state.loader.writeSchema(new BlackholeOutputStream(bh), state.schema, true);
+    }
+
+    /**
+     * Output stream that consumes the written bytes, so that serialization cannot be eliminated.
+     */
+    private static final class BlackholeOutputStream extends OutputStream {
+
+        private final Blackhole bh;
+
+        private BlackholeOutputStream(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override
+        public void write(int b) {
+            bh.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bh.consume(b);
+            bh.consume(len);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.rcsb.mojave.tools.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.rcsb.mojave.tools.jsonschema.SchemaRefResolver;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inline resolution of JSON references with {@link SchemaRefResolver#resolveInline()}. Resolution modifies
+ * the schema in place, every invocation gets a fresh copy and a fresh cache of referenced documents.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchemaRefResolverBenchmark {
+
+    private JsonNode schema;
+
+    @Setup(Level.Invocation)
+    public void copySchema(SyntheticSchemaState state) {
+        schema = state.schema.deepCopy();
+    }
+
+    @Benchmark
+    public JsonNode resolveInline(SyntheticSchemaState state) throws IOException {
+        new SchemaRefResolver(schema, state.loader).resolveInline();
+        return schema;
+    }
+}
@@ -0,0 +1,61 @@
+package org.rcsb.mojave.tools.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.rcsb.mojave.tools.jsonschema.SchemaStitching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging of synthetic schemas generated with different seeds with {@link SchemaStitching}.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchemaStitchingBenchmark {
+
+    @Param({"16"})
+    public int schemaCount;
+
+    private List<JsonNode> schemas;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp(SyntheticSchemaState state) {
+        schemas = new ArrayList<>();
+        for (int i = 0; i < schemaCount; i++)
+            schemas.add(state.generator().withSeed(i).generate(state.schemaFile.getPath()));
+        pool = new ForkJoinPool();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public JsonNode mergeSchemas() {
+        return SchemaStitching.mergeSchemas(schemas);
+    }
+
+    @Benchmark
+    public JsonNode mergeSchemasInParallel() {
+        return SchemaStitching.mergeSchemas(schemas, pool);
+    }
+}
@@ -0,0 +1,113 @@
+package org.rcsb.mojave.tools.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.CaseFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.rcsb.mojave.tools.jsonschema.SchemaRefResolver;
+import org.rcsb.mojave.tools.jsonschema.traversal.JsonSchemaWalker;
+import org.rcsb.mojave.tools.jsonschema.traversal.builder.JsonSchemaBuilder;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.BsonTypeAliasConverter;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.EnumCollector;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.EnumTransformer;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.FieldNamesCollector;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.JavaTypeAnnotator;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.KeywordsSyntaxChecker;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.NamespaceVisitor;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.NamingStrategyVisitor;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.PropertiesFilterVisitor;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.SchemaBuilderVisitor;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.Visitor;
+import org.rcsb.mojave.tools.jsonschema.utils.SchemaVersion;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * {@link JsonSchemaWalker#walk()} with each of the shipped visitors. The references of the schema are resolved
+ * upfront; visitors may modify the schema, every invocation walks a fresh copy.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchemaWalkerBenchmark {
+
+    @Param({
+            "KeywordsSyntaxChecker", "JavaTypeAnnotator", "EnumCollector", "EnumTransformer",
+            "FieldNamesCollector", "BsonTypeAliasConverter", "NamingStrategyVisitor", "NamespaceVisitor",
+            "PropertiesFilterVisitor", "SchemaBuilderVisitor"
+    })
+    public String visitor;
+
+    private JsonNode resolved;
+    private JsonNode schema;
+    private JsonNode spec;
+
+    @Setup(Level.Trial)
+    public void resolveSchema(SyntheticSchemaState state) throws IOException {
+        resolved = state.schema.deepCopy();
+        new SchemaRefResolver(resolved, state.loader).resolveInline();
+        spec = SchemaVersion.DRAFTV4.getSchema();
+    }
+
+    @Setup(Level.Invocation)
+    public void copySchema() {
+        schema = resolved.deepCopy();
+    }
+
+    private Visitor createVisitor() {
+        switch (visitor) {
+            case "KeywordsSyntaxChecker":
+                return new KeywordsSyntaxChecker(spec);
+            case "JavaTypeAnnotator":
+                return new JavaTypeAnnotator().setTargetPackage("org.rcsb.benchmark");
+            case "EnumCollector":
+                return new EnumCollector();
+            case "EnumTransformer":
+                return new EnumTransformer();
+            case "FieldNamesCollector":
+                return new FieldNamesCollector();
+            case "BsonTypeAliasConverter":
+                return new BsonTypeAliasConverter();
+            case "NamingStrategyVisitor":
+                return new NamingStrategyVisitor(CaseFormat.LOWER_UNDERSCORE, CaseFormat.LOWER_CAMEL);
+            case "NamespaceVisitor":
+                return new NamespaceVisitor()
+                        .atLevel(NamespaceVisitor.Level.ROOT)
+                        .withPrefix("rcsb").withDelimiter("_");
+            case "PropertiesFilterVisitor":
+                return new PropertiesFilterVisitor(singletonList("field_10"));
+            case "SchemaBuilderVisitor":
+                return new SchemaBuilderVisitor();
+            default:
+                throw new IllegalArgumentException("Unknown visitor: " + visitor);
+        }
+    }
+
+    @Benchmark
+    public Object walk() throws IOException {
+
+        JsonSchemaWalker.Builder builder = new JsonSchemaWalker.Builder()
+                .fromInstance(schema)
+                .acceptingVisitors(singletonList(createVisitor()));
+        if (visitor.equals("SchemaBuilderVisitor"))
+            builder.withSchemaTreeBuilder(new JsonSchemaBuilder());
+
+        JsonSchemaWalker walker = builder.build();
+        walker.walk();
+        return walker.getTreeBuilder() == null ? schema : walker.getTreeBuilder().buildTree();
+    }
+}
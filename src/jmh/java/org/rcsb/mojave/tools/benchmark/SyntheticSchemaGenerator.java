@@ -0,0 +1,208 @@
+package org.rcsb.mojave.tools.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
+import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaType;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates synthetic JSON schemas of configurable size and shape for the benchmarks. Every object schema holds
+ * the given number of properties: scalars, an enum, a nested object and an array of objects (down to the given
+ * depth), references to definition documents and allOf combinations. The schema is deterministic for a given seed.
+ * <p>
+ * Definition documents referenced by $ref are written next to the root schema, see {@link #write(File)}.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class SyntheticSchemaGenerator {
+
+    private static final JsonNodeFactory factory = JsonNodeFactory.instance;
+
+    private static final String ROOT_FILE_NAME = "synthetic.json";
+    private static final String DEFINITIONS_FILE_NAME = "definitions_%d.json";
+    private static final String DEFINITION_NAME = "type_%d";
+
+    private static final String[] SCALAR_TYPES = {
+            MetaSchemaType.STRING, MetaSchemaType.INTEGER, MetaSchemaType.NUMBER, MetaSchemaType.BOOLEAN
+    };
+
+    private int propertyCount = 20;
+    private int depth = 3;
+    private int refFanOut = 2;
+    private int enumSize = 10;
+    private int allOfCount = 1;
+    private long seed = 42;
+
+    /**
+     * @param count number of properties of each object schema.
+     */
+    public SyntheticSchemaGenerator withPropertyCount(int count) {
+        propertyCount = count;
+        return this;
+    }
+
+    /**
+     * @param d number of object levels below the root.
+     */
+    public SyntheticSchemaGenerator withDepth(int d) {
+        depth = d;
+        return this;
+    }
+
+    /**
+     * @param fanOut number of properties of each object schema that reference a definition document. Each of them
+     *               references a different document, the documents are shared by all the objects.
+     */
+    public SyntheticSchemaGenerator withRefFanOut(int fanOut) {
+        refFanOut = fanOut;
+        return this;
+    }
+
+    /**
+     * @param size number of values of the enum property of each object schema, 0 for no enums.
+     */
+    public SyntheticSchemaGenerator withEnumSize(int size) {
+        enumSize = size;
+        return this;
+    }
+
+    /**
+     * @param count number of properties of each object schema that are combined with allOf.
+     */
+    public SyntheticSchemaGenerator withAllOfCount(int count) {
+        allOfCount = count;
+        return this;
+    }
+
+    public SyntheticSchemaGenerator withSeed(long s) {
+        seed = s;
+        return this;
+    }
+
+    private ObjectNode scalar(Random random) {
+        ObjectNode node = factory.objectNode();
+        node.put(MetaSchemaProperty.TYPE, SCALAR_TYPES[random.nextInt(SCALAR_TYPES.length)]);
+        node.put(MetaSchemaProperty.DESCRIPTION, "Synthetic property " + random.nextInt(1000));
+        return node;
+    }
+
+    private ObjectNode enumeration(int size) {
+        ObjectNode node = factory.objectNode();
+        node.put(MetaSchemaProperty.TYPE, MetaSchemaType.STRING);
+        ArrayNode values = node.putArray(MetaSchemaProperty.ENUM);
+        for (int i = 0; i < size; i++)
+            values.add("value-" + i);
+        return node;
+    }
+
+    private ObjectNode ref(int document) {
+        ObjectNode node = factory.objectNode();
+        node.put(MetaSchemaProperty.SCHEMA_REF, String.format(DEFINITIONS_FILE_NAME, document)
+                + "#/definitions/" + String.format(DEFINITION_NAME, document));
+        return node;
+    }
+
+    private ObjectNode allOf(int document, Random random) {
+        ObjectNode extension = factory.objectNode();
+        extension.put(MetaSchemaProperty.TYPE, MetaSchemaType.OBJECT);
+        extension.putObject(MetaSchemaProperty.PROPERTIES).set("extension_field", scalar(random));
+
+        ObjectNode node = factory.objectNode();
+        node.putArray(MetaSchemaProperty.ALL_OF)
+                .add(ref(document))
+                .add(extension);
+        return node;
+    }
+
+    private ObjectNode object(int level, Random random) {
+
+        ObjectNode node = factory.objectNode();
+        node.put(MetaSchemaProperty.TYPE, MetaSchemaType.OBJECT);
+        ObjectNode properties = node.putObject(MetaSchemaProperty.PROPERTIES);
+        ArrayNode required = factory.arrayNode();
+
+        int i = 0;
+        if (level < depth) {
+            properties.set("nested_" + level, object(level + 1, random));
+            ObjectNode array = properties.putObject("list_" + level);
+            array.put(MetaSchemaProperty.TYPE, MetaSchemaType.ARRAY);
+            array.set(MetaSchemaProperty.ITEMS, object(level + 1, random));
+            i += 2;
+        }
+        if (enumSize > 0 && i < propertyCount) {
+            properties.set("category_" + level, enumeration(enumSize));
+            i++;
+        }
+        for (int r = 0; r < refFanOut && i < propertyCount; r++, i++)
+            properties.set("ref_" + r, ref(r));
+        for (int a = 0; a < allOfCount && i < propertyCount; a++, i++)
+            properties.set("combined_" + a, allOf(a % Math.max(refFanOut, 1), random));
+        for (; i < propertyCount; i++) {
+            String name = "field_" + i;
+            properties.set(name, scalar(random));
+            if (random.nextInt(4) == 0)
+                required.add(name);
+        }
+
+        if (required.size() > 0)
+            node.set(MetaSchemaProperty.REQUIRED, required);
+        return node;
+    }
+
+    /**
+     * @param index index of the definition document.
+     * @return definition document referenced by the generated schema.
+     */
+    public JsonNode definitions(int index) {
+        Random random = new Random(seed + index + 1);
+        ObjectNode definition = factory.objectNode();
+        definition.put(MetaSchemaProperty.TYPE, MetaSchemaType.OBJECT);
+        ObjectNode properties = definition.putObject(MetaSchemaProperty.PROPERTIES);
+        for (int i = 0; i < Math.max(propertyCount / 4, 1); i++)
+            properties.set("definition_field_" + i, scalar(random));
+        if (enumSize > 0)
+            properties.set("definition_category", enumeration(enumSize));
+
+        ObjectNode document = factory.objectNode();
+        document.putObject(MetaSchemaProperty.DEFINITIONS).set(String.format(DEFINITION_NAME, index), definition);
+        return document;
+    }
+
+    /**
+     * @param id the $id of the schema, the base for resolution of the references.
+     * @return synthetic JSON schema.
+     */
+    public JsonNode generate(String id) {
+        ObjectNode schema = factory.objectNode();
+        schema.put(MetaSchemaProperty.SCHEMA, "http://json-schema.org/draft-04/schema#");
+        schema.put(MetaSchemaProperty.SCHEMA_ID, id);
+        schema.put(MetaSchemaProperty.TITLE, "synthetic");
+        schema.setAll(object(0, new Random(seed)));
+        return schema;
+    }
+
+    /**
+     * Writes the schema and the definition documents it references to a given directory.
+     *
+     * @param dir output directory.
+     * @return the root schema file.
+     * @throws IOException when a file cannot be written.
+     */
+    public File write(File dir) throws IOException {
+        SchemaLoader loader = new SchemaLoader();
+        File root = new File(dir, ROOT_FILE_NAME).getAbsoluteFile();
+        loader.writeSchema(root.getPath(), generate(root.getPath()));
+        for (int i = 0; i < Math.max(refFanOut, allOfCount > 0 ? 1 : 0); i++)
+            loader.writeSchema(new File(dir, String.format(DEFINITIONS_FILE_NAME, i)).getPath(), definitions(i));
+        return root;
+    }
+}
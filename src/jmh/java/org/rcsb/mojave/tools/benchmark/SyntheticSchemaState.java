@@ -0,0 +1,74 @@
+package org.rcsb.mojave.tools.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Synthetic schema shared by the benchmarks. The shape of the schema is controlled by the parameters,
+ * the schema and the documents it references are written to a temporary directory.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+@State(Scope.Benchmark)
+public class SyntheticSchemaState {
+
+    @Param({"20", "100"})
+    public int propertyCount;
+
+    @Param({"3"})
+    public int depth;
+
+    @Param({"2"})
+    public int refFanOut;
+
+    @Param({"10"})
+    public int enumSize;
+
+    @Param({"1"})
+    public int allOfCount;
+
+    public SchemaLoader loader;
+    public File dir;
+    public File schemaFile;
+    public File[] schemaFiles;
+    public JsonNode schema;
+
+    /**
+     * @return generator configured with the parameters of the benchmark.
+     */
+    public SyntheticSchemaGenerator generator() {
+        return new SyntheticSchemaGenerator()
+                .withPropertyCount(propertyCount)
+                .withDepth(depth)
+                .withRefFanOut(refFanOut)
+                .withEnumSize(enumSize)
+                .withAllOfCount(allOfCount);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        loader = new SchemaLoader();
+        dir = Files.createTempDirectory("mojave-benchmark").toFile();
+        schemaFile = generator().write(dir);
+        schemaFiles = dir.listFiles();
+        schema = loader.readSchema(schemaFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir);
+    }
+}
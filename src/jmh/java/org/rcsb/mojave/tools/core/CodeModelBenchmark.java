@@ -0,0 +1,81 @@
+package org.rcsb.mojave.tools.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rcsb.mojave.tools.benchmark.SyntheticSchemaState;
+import org.rcsb.mojave.tools.jsonschema.SchemaRefResolver;
+import org.rcsb.mojave.tools.jsonschema.traversal.JsonSchemaWalker;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.EnumCollector;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.FieldNamesCollector;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.JavaTypeAnnotator;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Building of the code models of {@link GenerateSchemaEnums} and {@link GenerateSchemaConstants}. The enums
+ * and the field names are collected from the synthetic schema upfront, only code model building is measured.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodeModelBenchmark {
+
+    private static final String TARGET_PACKAGE = "org.rcsb.mojave.benchmark";
+
+    private Set<JsonNode> enums;
+    private Set<String> fieldNames;
+
+    @Setup(Level.Trial)
+    public void collect(SyntheticSchemaState state) throws IOException {
+
+        JsonNode schema = state.schema.deepCopy();
+        new SchemaRefResolver(schema, state.loader).resolveInline();
+
+        EnumCollector enumCollector = new EnumCollector();
+        FieldNamesCollector namesCollector = new FieldNamesCollector();
+        new JsonSchemaWalker.Builder()
+                .fromInstance(schema)
+                .acceptingVisitors(asList(new JavaTypeAnnotator().setTargetPackage(TARGET_PACKAGE), enumCollector))
+                .build()
+                .walk();
+        new JsonSchemaWalker.Builder()
+                .fromInstance(schema)
+                .acceptingVisitors(singletonList(namesCollector))
+                .build()
+                .walk();
+
+        enums = enumCollector.getSelectedNodes();
+        fieldNames = namesCollector.getNames();
+    }
+
+    @Benchmark
+    public void enumCodeModels(Blackhole bh) throws JClassAlreadyExistsException {
+        GenerateSchemaEnums generator = new GenerateSchemaEnums();
+        for (JsonNode node : enums)
+            bh.consume(generator.createCodeModel(node));
+    }
+
+    @Benchmark
+    public JCodeModel constantsCodeModel() throws JClassAlreadyExistsException {
+        return new GenerateSchemaConstants().createCodeModel(TARGET_PACKAGE + ".Constants", fieldNames);
+    }
+}
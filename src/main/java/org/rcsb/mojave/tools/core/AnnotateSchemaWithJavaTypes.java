@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
 import org.rcsb.mojave.tools.jsonschema.traversal.JsonSchemaWalker;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.JavaTypeAnnotator;
+import org.rcsb.mojave.tools.utils.BuildManifest;
 import org.rcsb.mojave.tools.utils.CommandOptions;
 import org.rcsb.mojave.tools.utils.CommonUtils;
 
@@ -11,11 +12,14 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
 
 /**
- * Creates a Java {@link Enum} for each enum definition in core JSON schemas.
+ * Creates a Java {@link Enum} for each enum definition in core JSON schemas. With the -w option the schemas are
+ * annotated concurrently on the given number of workers, each with its own {@link JavaTypeAnnotator}.
  *
  * Created on 09/20/18.
  *
@@ -24,6 +28,15 @@ import static java.util.Collections.singletonList;
  */
 public class AnnotateSchemaWithJavaTypes {
 
+    static void annotate(JsonNode schema, JavaTypeAnnotator visitor, boolean useTitleAsClassname) throws IOException {
+        JsonSchemaWalker walker = new JsonSchemaWalker.Builder()
+                .fromInstance(schema)
+                .acceptingVisitors(singletonList(visitor))
+                .withSchemaTitleAsName(useTitleAsClassname)
+                .build();
+        walker.walk();
+    }
+
     public static void main(String[] args) throws IOException {
 
         CommandOptions cmd = new CommandOptions(args);
@@ -39,6 +52,7 @@ public class AnnotateSchemaWithJavaTypes {
         String targetPackage = cmd.valueOf("-t").get(0);
 
         boolean useTitleAsClassname = cmd.hasOption("-n") && Boolean.parseBoolean(cmd.valueOf("-n").get(0));
+        int workers = cmd.getWorkers();
 
         File schemasDir = new File(sourceDirectory);
         if (!schemasDir.exists())
@@ -53,20 +67,20 @@ public class AnnotateSchemaWithJavaTypes {
 
         SchemaLoader loader = new SchemaLoader();
 
-        JavaTypeAnnotator javaTypeNameVisitor = new JavaTypeAnnotator()
-                .setTargetPackage(targetPackage);
+        BuildManifest manifest = BuildManifest.fromArguments(AnnotateSchemaWithJavaTypes.class, args);
+        if (manifest.isUpToDate(files.stream().map(File::getPath).collect(Collectors.toList())))
+            return;
 
-        for (File f : files) {
-            JsonNode schema = loader.readSchema(f.toURI());
-            JsonSchemaWalker walker = new JsonSchemaWalker.Builder()
-                    .fromInstance(schema)
-                    .acceptingVisitors(singletonList(javaTypeNameVisitor))
-                    .withSchemaTitleAsName(useTitleAsClassname)
-                    .build();
-            walker.walk();
-            String filePath = CommonUtils.getRelativePath(schemasDir.toURI(), f.toURI());
-            String finalSchemaLocation = Paths.get(outputDirectory, filePath).toFile().getAbsolutePath();
-            loader.writeSchema(finalSchemaLocation, schema);
-        }
+        List<File> outputs = Workers.map(files, workers, () -> new JavaTypeAnnotator().setTargetPackage(targetPackage),
+                (f, javaTypeNameVisitor) -> {
+                    JsonNode schema = loader.readSchema(f.toURI());
+                    annotate(schema, javaTypeNameVisitor, useTitleAsClassname);
+                    String filePath = CommonUtils.getRelativePath(schemasDir.toURI(), f.toURI());
+                    String finalSchemaLocation = Paths.get(outputDirectory, filePath).toFile().getAbsolutePath();
+                    loader.writeSchema(finalSchemaLocation, schema);
+                    return new File(finalSchemaLocation);
+                });
+        manifest.addOutputs(outputs);
+        manifest.save();
     }
 }
@@ -6,18 +6,22 @@ import org.rcsb.mojave.tools.jsonschema.traversal.JsonSchemaWalker;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.EnumTransformer;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.JavaTypeAnnotator;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.Visitor;
+import org.rcsb.mojave.tools.utils.BuildManifest;
 import org.rcsb.mojave.tools.utils.CommandOptions;
 import org.rcsb.mojave.tools.utils.CommonUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * This tool generates JSON schemas used to automatically produce corresponding Java classes. It annotates
- * all schemas in a given "core schemas" folder with Java type names.
+ * all schemas in a given "core schemas" folder with Java type names. With the -w option the schemas are processed
+ * concurrently on the given number of workers, each with its own visitors.
  * <p>
  * Created on 9/17/18.
  *
@@ -26,6 +30,37 @@ import java.util.List;
  */
 public class GenerateAutoJsonSchema {
 
+    static List<Visitor> createVisitors(String targetPackage, boolean suppressEnums) {
+
+        List<Visitor> visitors = new ArrayList<>();
+        // Adds annotations to configure the Java type names
+        JavaTypeAnnotator javaTypeNameVisitor = new JavaTypeAnnotator();
+        javaTypeNameVisitor.setTargetPackage(targetPackage);
+        visitors.add(javaTypeNameVisitor);
+        if (suppressEnums) {
+            // Removes enum annotation from schema nodes transforming the definition
+            // from controlled vocabulary to a free text string
+            EnumTransformer javaEnumVisitor = new EnumTransformer();
+            visitors.add(javaEnumVisitor);
+        }
+        return visitors;
+    }
+
+    /**
+     * Annotates the schema in place.
+     *
+     * @param schema JSON schema to be modified.
+     * @param visitors visitors created with {@link #createVisitors(String, boolean)}.
+     * @throws IOException when a JSON reference cannot be resolved.
+     */
+    static void transform(JsonNode schema, List<Visitor> visitors) throws IOException {
+        JsonSchemaWalker walker = new JsonSchemaWalker.Builder()
+                .fromInstance(schema)
+                .acceptingVisitors(visitors)
+                .build();
+        walker.walk();
+    }
+
     public static void main(String[] args) throws Exception {
 
         CommandOptions cmd = new CommandOptions(args);
@@ -43,19 +78,9 @@ public class GenerateAutoJsonSchema {
         boolean suppressEnums = cmd.valueOf("-se").isEmpty()
                 || Boolean.parseBoolean(cmd.valueOf("-se").get(0));
 
-        CommonUtils.ensurePathToFolderExist(new File(autoSchemasLocation));
+        int workers = cmd.getWorkers();
 
-        List<Visitor> visitors = new ArrayList<>();
-        // Adds annotations to configure the Java type names
-        JavaTypeAnnotator javaTypeNameVisitor = new JavaTypeAnnotator();
-        javaTypeNameVisitor.setTargetPackage(targetPackage);
-        visitors.add(javaTypeNameVisitor);
-        if (suppressEnums) {
-            // Removes enum annotation from schema nodes transforming the definition
-            // from controlled vocabulary to a free text string
-            EnumTransformer javaEnumVisitor = new EnumTransformer();
-            visitors.add(javaEnumVisitor);
-        }
+        CommonUtils.ensurePathToFolderExist(new File(autoSchemasLocation));
 
         SchemaLoader loader = new SchemaLoader();
 
@@ -64,14 +89,19 @@ public class GenerateAutoJsonSchema {
         if (files.size() == 0)
             throw new IllegalStateException("There are no schemas to process in "+folder.getAbsolutePath());
 
-        for(File f : files) {
-            JsonNode schema = loader.readSchema(f.toURI());
-            JsonSchemaWalker walker = new JsonSchemaWalker.Builder()
-                    .fromInstance(schema)
-                    .acceptingVisitors(visitors)
-                    .build();
-            walker.walk();
-            loader.writeSchema(Paths.get(autoSchemasLocation, f.getName()).toString(), schema);
-        }
+        BuildManifest manifest = BuildManifest.fromArguments(GenerateAutoJsonSchema.class, args);
+        if (manifest.isUpToDate(files.stream().map(File::getPath).collect(Collectors.toList())))
+            return;
+
+        List<File> outputs = Workers.map(files, workers, () -> createVisitors(targetPackage, suppressEnums),
+                (f, visitors) -> {
+                    JsonNode schema = loader.readSchema(f.toURI());
+                    transform(schema, visitors);
+                    File output = Paths.get(autoSchemasLocation, f.getName()).toFile();
+                    loader.writeSchema(output.getPath(), schema);
+                    return output;
+                });
+        manifest.addOutputs(outputs);
+        manifest.save();
     }
 }
@@ -9,15 +9,19 @@ import org.apache.commons.io.filefilter.RegexFileFilter;
 import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
 import org.rcsb.mojave.tools.jsonschema.traversal.JsonSchemaWalker;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.FieldNamesCollector;
+import org.rcsb.mojave.tools.utils.BuildManifest;
 import org.rcsb.mojave.tools.utils.CommandOptions;
 import org.rcsb.mojave.tools.utils.CommonUtils;
+import org.rcsb.mojave.tools.utils.NameRegistry;
 import org.rcsb.mojave.tools.utils.NameUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
 
@@ -35,7 +39,7 @@ public class GenerateSchemaConstants {
 
     private final SchemaLoader loader;
 
-    private GenerateSchemaConstants() {
+    GenerateSchemaConstants() {
         loader = new SchemaLoader();
     }
 
@@ -48,12 +52,12 @@ public class GenerateSchemaConstants {
      *
      * @throws JClassAlreadyExistsException when the specified class/interface was already created.
      */
-    private JCodeModel createCodeModel(String fqn, Set<String> fieldNames) throws JClassAlreadyExistsException {
+    JCodeModel createCodeModel(String fqn, Set<String> fieldNames) throws JClassAlreadyExistsException {
 
         JCodeModel cm = new JCodeModel();
         JDefinedClass clazz = cm._class(JMod.PUBLIC, fqn, ClassType.CLASS);
 
-        Set<String> existingNames = new HashSet<>();
+        NameRegistry existingNames = new NameRegistry();
 
         int mods = JMod.PUBLIC + JMod.STATIC + JMod.FINAL;
         for (String n : fieldNames) {
@@ -81,18 +85,44 @@ public class GenerateSchemaConstants {
      * @param outputDir the full path to the directory where constants file will be stored.
      * @param fqp the full path to the constants classes.
      * @throws IOException is schema file cannot be read.
+     * @param manifest of the run, the generation is skipped when outputs are up to date.
      * @throws JClassAlreadyExistsException is constant file already exists.
      */
-    private void run(File schemasDir, File outputDir, String fqp) throws IOException, JClassAlreadyExistsException {
+    private void run(File schemasDir, File outputDir, String fqp, BuildManifest manifest)
+            throws IOException, JClassAlreadyExistsException {
 
         Collection<File> files = CommonUtils.listSchemaFiles(schemasDir);
         if (files.size() == 0)
             throw new IllegalStateException("There are no schemas to process in "+schemasDir.getAbsolutePath());
 
+        if (manifest.isUpToDate(files.stream().map(File::getPath).collect(Collectors.toList())))
+            return;
+
+        List<JsonNode> schemas = new ArrayList<>();
+        for (File f : files)
+            schemas.add(loader.readSchema(f.toURI()));
+
+        manifest.addOutputs(run(schemas, outputDir, fqp));
+        manifest.save();
+    }
+
+    /**
+     * Generates a Java {@link Class} with constants for each of the unique fields present
+     * in the given JSON schemas. The schemas are not modified.
+     *
+     * @param schemas JSON schemas to be processed.
+     * @param outputDir the full path to the directory where constants file will be stored.
+     * @param fqp the full path to the constants classes.
+     * @return generated files.
+     * @throws IOException is constant file cannot be written.
+     * @throws JClassAlreadyExistsException is constant file already exists.
+     */
+    Collection<File> run(Collection<JsonNode> schemas, File outputDir, String fqp)
+            throws IOException, JClassAlreadyExistsException {
+
         FieldNamesCollector visitor = new FieldNamesCollector();
 
-        for(File f : files) {
-            JsonNode schema = loader.readSchema(f.toURI());
+        for (JsonNode schema : schemas) {
             JsonSchemaWalker walker = new JsonSchemaWalker.Builder()
                     .fromInstance(schema)
                     .acceptingVisitors(singletonList(visitor))
@@ -103,7 +133,9 @@ public class GenerateSchemaConstants {
         CommonUtils.ensurePathToFolderExist(outputDir);
 
         JCodeModel codeModel = createCodeModel(fqp, visitor.getNames());
-        CommonUtils.writeClassToFile(outputDir, codeModel);
+        Collection<File> generated = new ArrayList<>();
+        CommonUtils.writeClassToFile(outputDir, codeModel, generated);
+        return generated;
     }
 
     public static void main(String[] args) throws Exception {
@@ -127,6 +159,7 @@ public class GenerateSchemaConstants {
         File outputDir = new File(outputDirectory);
 
         GenerateSchemaConstants me = new GenerateSchemaConstants();
-        me.run(schemaDir, outputDir, targetClassName);
+        me.run(schemaDir, outputDir, targetClassName,
+                BuildManifest.fromArguments(GenerateSchemaConstants.class, args));
     }
 }
@@ -10,13 +10,16 @@ import org.rcsb.mojave.tools.jsonschema.traversal.JsonSchemaWalker;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.EnumCollector;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.JavaTypeAnnotator;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.Visitor;
+import org.rcsb.mojave.tools.utils.BuildManifest;
 import org.rcsb.mojave.tools.utils.CommandOptions;
 import org.rcsb.mojave.tools.utils.CommonUtils;
+import org.rcsb.mojave.tools.utils.NameRegistry;
 import org.rcsb.mojave.tools.utils.NameUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.sun.codemodel.JExpr.lit;
 import static java.util.Arrays.asList;
@@ -39,7 +42,7 @@ public class GenerateSchemaEnums {
     private static final String DEFAULT_TYPE_NAME = "any";
     private static final String VALUE_FIELD_NAME = "value";
 
-    private Collection<String> existingConstantNames;
+    private NameRegistry existingConstantNames;
 
     private void addValueMethod(JDefinedClass enumClass, JFieldVar valueField) {
 
@@ -221,10 +224,10 @@ public class GenerateSchemaEnums {
      * @return code model that provides a way to generate Java code.
      * @throws JClassAlreadyExistsException when the specified class/interface was already created.
      */
-    private JCodeModel createCodeModel(JsonNode node) throws JClassAlreadyExistsException {
+    JCodeModel createCodeModel(JsonNode node) throws JClassAlreadyExistsException {
 
         JCodeModel cm = new JCodeModel();
-        existingConstantNames = new ArrayList<>();
+        existingConstantNames = new NameRegistry();
 
         if (node.has(MetaSchemaProperty.ITEMS))
             node = node.get(MetaSchemaProperty.ITEMS);
@@ -250,20 +253,48 @@ public class GenerateSchemaEnums {
         return cm;
     }
 
-    private void withClassNamePostfix(String postfix) {
+    void withClassNamePostfix(String postfix) {
         classNameSuffix = postfix;
     }
 
-    private void withDynamicRefResolution(boolean flag) {
+    void withDynamicRefResolution(boolean flag) {
         refResolution = flag;
     }
 
-    private void run(File schemasDir, File outputDir, String fqp) throws IOException, JClassAlreadyExistsException {
+    private void run(File schemasDir, File outputDir, String fqp, BuildManifest manifest)
+            throws IOException, JClassAlreadyExistsException {
 
         Collection<File> files = CommonUtils.listSchemaFiles(schemasDir);
         if (files.size() == 0)
             throw new IllegalStateException("There are no schemas to process in " + schemasDir.getAbsolutePath());
 
+        // documents referenced by dynamically resolved $refs are not known upfront
+        if (!refResolution && manifest.isUpToDate(files.stream().map(File::getPath).collect(Collectors.toList())))
+            return;
+
+        SchemaLoader loader = new SchemaLoader();
+        List<JsonNode> schemas = new ArrayList<>();
+        for (File f : files)
+            schemas.add(loader.readSchema(f.toURI()));
+
+        manifest.addOutputs(run(schemas, outputDir, fqp));
+        if (!refResolution)
+            manifest.save();
+    }
+
+    /**
+     * Generates enums for the given schemas. The schemas are annotated with Java types in place.
+     *
+     * @param schemas JSON schemas to be processed.
+     * @param outputDir the directory where enum classes will be stored.
+     * @param fqp the package of enum classes.
+     * @return generated files.
+     * @throws IOException when a JSON reference cannot be resolved or a class cannot be written.
+     * @throws JClassAlreadyExistsException when an enum class was already created.
+     */
+    Collection<File> run(Collection<JsonNode> schemas, File outputDir, String fqp)
+            throws IOException, JClassAlreadyExistsException {
+
         JavaTypeAnnotator javaTypeNameVisitor = new JavaTypeAnnotator()
                 .setTargetPackage(fqp)
                 .withSuffix(classNameSuffix);
@@ -271,10 +302,7 @@ public class GenerateSchemaEnums {
         EnumCollector javaEnumVisitor = new EnumCollector();
         List<Visitor> visitors = asList(javaTypeNameVisitor, javaEnumVisitor);
 
-        SchemaLoader loader = new SchemaLoader();
-
-        for (File f : files) {
-            JsonNode schema = loader.readSchema(f.toURI());
+        for (JsonNode schema : schemas) {
             JsonSchemaWalker walker = new JsonSchemaWalker.Builder()
                     .fromInstance(schema)
                     .withDynamicRefResolution(refResolution)
@@ -284,10 +312,12 @@ public class GenerateSchemaEnums {
         }
 
         CommonUtils.ensurePathToFolderExist(outputDir);
+        Collection<File> generated = new ArrayList<>();
         for (JsonNode e : javaEnumVisitor.getSelectedNodes()) {
             JCodeModel codeModel = createCodeModel(e);
-            CommonUtils.writeClassToFile(outputDir, codeModel);
+            CommonUtils.writeClassToFile(outputDir, codeModel, generated);
         }
+        return generated;
     }
 
     public static void main(String[] args) throws Exception {
@@ -326,6 +356,7 @@ public class GenerateSchemaEnums {
         GenerateSchemaEnums generator = new GenerateSchemaEnums();
         generator.withClassNamePostfix(classNameSuffix);
         generator.withDynamicRefResolution(withDynamicRefResolution);
-        generator.run(schemaDir, outputDir, targetPackage);
+        generator.run(schemaDir, outputDir, targetPackage,
+                BuildManifest.fromArguments(GenerateSchemaEnums.class, args));
     }
 }
@@ -0,0 +1,470 @@
+package org.rcsb.mojave.tools.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.CaseFormat;
+import com.sun.codemodel.*;
+import org.rcsb.mojave.tools.jsonschema.SchemaCache;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.SchemaRefResolver;
+import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
+import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaType;
+import org.rcsb.mojave.tools.jsonschema.model.JsonSchemaInstance;
+import org.rcsb.mojave.tools.jsonschema.model.JsonSchemaInstanceReader;
+import org.rcsb.mojave.tools.jsonschema.validation.DocumentValidator;
+import org.rcsb.mojave.tools.jsonschema.validation.ValidatorSupport;
+import org.rcsb.mojave.tools.jsonschema.validation.Violation;
+import org.rcsb.mojave.tools.utils.BuildManifest;
+import org.rcsb.mojave.tools.utils.CommandOptions;
+import org.rcsb.mojave.tools.utils.CommonUtils;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+import org.rcsb.mojave.tools.utils.NameUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.sun.codemodel.JExpr.lit;
+
+/**
+ * Compiles the core JSON schemas into Java validator classes. Each schema is resolved inline and turned into
+ * a {@link DocumentValidator} with a static method per sub-schema, so that no schema is looked up when
+ * documents are validated. Patterns are compiled once and enums are checked with a hashed lookup.
+ * <p>
+ * Supported keywords: type, enum, minimum, maximum (and exclusive bounds), minLength, maxLength, pattern,
+ * items (a single schema), minItems, maxItems, properties, required, additionalProperties (false),
+ * minProperties and maxProperties. Other keywords are ignored.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class GenerateSchemaValidators {
+
+    private static final String CLASS_NAME_SUFFIX = "Validator";
+    private static final String METHOD_NAME = "validate";
+
+    // a string constant of a class file holds up to 65535 bytes in (modified) UTF-8
+    private static final int MAX_LITERAL_LENGTH = 16384;
+
+    // types that can be checked, date and time types are strings
+    private static final Set<String> CHECKED_TYPES = new HashSet<>(Arrays.asList(
+            MetaSchemaType.STRING, MetaSchemaType.DATE, MetaSchemaType.DATE_TIME, MetaSchemaType.TIME,
+            MetaSchemaType.INTEGER, MetaSchemaType.NUMBER, MetaSchemaType.BOOLEAN, MetaSchemaType.NULL,
+            MetaSchemaType.OBJECT, MetaSchemaType.ARRAY));
+
+    private final SchemaLoader loader;
+
+    GenerateSchemaValidators() {
+        loader = new SchemaLoader();
+    }
+
+    /**
+     * @param f schema file.
+     * @return name of the validator class for the schema, e.g. CoreEntryValidator for core_entry.json.
+     */
+    static String getClassName(File f) {
+        String name = f.getName().replaceFirst("\\.[^.]*$", "");
+        name = name.replaceAll("[^0-9A-Za-z]+", "_").toLowerCase();
+        name = CaseFormat.LOWER_UNDERSCORE.to(CaseFormat.UPPER_CAMEL, name);
+        return NameUtils.makeNameBeLegalJavaName(name + CLASS_NAME_SUFFIX);
+    }
+
+    /**
+     * Uses CodeModel java source code generation library to generate code model.
+     *
+     * @param fqn fully qualified name of the validator class.
+     * @param schema resolved schema the class validates against.
+     * @return code model that provides a way to generate Java code.
+     * @throws JClassAlreadyExistsException when the specified class was already created.
+     */
+    JCodeModel createCodeModel(String fqn, JsonSchemaInstance schema) throws JClassAlreadyExistsException {
+
+        JCodeModel cm = new JCodeModel();
+        JDefinedClass clazz = cm._class(JMod.PUBLIC, fqn, ClassType.CLASS);
+        clazz._implements(DocumentValidator.class);
+        clazz.javadoc().add("Validates documents against the " + (schema.getTitle() != null
+                ? "'" + schema.getTitle() + "' " : "") + "schema. Generated by " + getClass().getSimpleName() + ".");
+
+        ValidatorClass validator = new ValidatorClass(cm, clazz);
+
+        JMethod validate = clazz.method(JMod.PUBLIC, cm.VOID, METHOD_NAME);
+        validate.annotate(Override.class);
+        JVar document = validate.param(JsonNode.class, "document");
+        JVar violations = validate.param(validator.violationsType, "violations");
+        JMethod root = validator.method(schema);
+        if (root != null)
+            validate.body().invoke(root).arg(document).arg(lit("")).arg(lit("")).arg(violations);
+
+        return cm;
+    }
+
+    /**
+     * State of a validator class being generated.
+     */
+    private static class ValidatorClass {
+
+        private final JCodeModel cm;
+        private final JDefinedClass clazz;
+        private final JClass violationsType;
+        private final JClass support;
+        private final Map<JsonSchemaInstance, JMethod> methods = new IdentityHashMap<>();
+
+        private int patterns;
+        private int enums;
+        private int validators;
+
+        private ValidatorClass(JCodeModel cm, JDefinedClass clazz) {
+            this.cm = cm;
+            this.clazz = clazz;
+            this.violationsType = cm.ref(List.class).narrow(Violation.class);
+            this.support = cm.ref(ValidatorSupport.class);
+        }
+
+        private static boolean hasConstraints(JsonSchemaInstance s) {
+            return typeCheck(s) || s.getEnum() != null
+                    || s.getMinimum() != null || s.getMaximum() != null
+                    || s.getMinLength() != null || s.getMaxLength() != null || s.getPattern() != null
+                    || s.getMinItems() != null || s.getMaxItems() != null
+                    || (s.getItems() != null && hasConstraints(s.getItems()))
+                    || s.getMinProperties() != null || s.getMaxProperties() != null
+                    || s.getRequired() != null && !s.getRequired().isEmpty()
+                    || Boolean.FALSE.equals(s.getAdditionalProperties())
+                    || s.getProperties() != null && s.getProperties().values().stream()
+                            .anyMatch(ValidatorClass::hasConstraints);
+        }
+
+        private static boolean typeCheck(JsonSchemaInstance s) {
+            return s.getTypes() != null && !s.getTypes().isEmpty() && CHECKED_TYPES.containsAll(s.getTypes());
+        }
+
+        private JExpression typeExpression(String type, JVar node) {
+            switch (type) {
+                case MetaSchemaType.INTEGER:
+                    return support.staticInvoke("isInteger").arg(node);
+                case MetaSchemaType.NUMBER:
+                    return node.invoke("isNumber");
+                case MetaSchemaType.BOOLEAN:
+                    return node.invoke("isBoolean");
+                case MetaSchemaType.NULL:
+                    return node.invoke("isNull");
+                case MetaSchemaType.OBJECT:
+                    return node.invoke("isObject");
+                case MetaSchemaType.ARRAY:
+                    return node.invoke("isArray");
+                default:
+                    return node.invoke("isTextual");
+            }
+        }
+
+        /**
+         * @return the block that runs for the values of given types only: the body itself when the type check
+         * already returned for other values.
+         */
+        private static JBlock guard(JsonSchemaInstance s, JBlock body, JExpression condition, String... types) {
+            if (typeCheck(s) && Arrays.asList(types).containsAll(s.getTypes()))
+                return body;
+            return body._if(condition)._then();
+        }
+
+        private void report(JBlock block, JExpression pointer, JExpression field, JVar violations, String keyword,
+                            String message) {
+            block.invoke(violations, "add").arg(JExpr._new(cm.ref(Violation.class))
+                    .arg(pointer).arg(field).arg(lit(keyword)).arg(lit(message)));
+        }
+
+        private static String format(Double bound) {
+            return bound == Math.rint(bound) && !Double.isInfinite(bound)
+                    ? String.valueOf(bound.longValue()) : String.valueOf(bound);
+        }
+
+        /**
+         * @return the method validating against a given schema, null if the schema has no constraints.
+         */
+        private JMethod method(JsonSchemaInstance s) {
+
+            if (methods.containsKey(s))
+                return methods.get(s);
+            if (!hasConstraints(s)) {
+                methods.put(s, null);
+                return null;
+            }
+
+            JMethod m = clazz.method(JMod.PRIVATE | JMod.STATIC, cm.VOID, METHOD_NAME + validators++);
+            methods.put(s, m);
+            JVar node = m.param(JsonNode.class, "node");
+            JVar pointer = m.param(String.class, "pointer");
+            JVar field = m.param(String.class, "field");
+            JVar violations = m.param(violationsType, "violations");
+            JBlock body = m.body();
+
+            addTypeCheck(s, body, node, pointer, field, violations);
+            addEnumCheck(s, body, node, pointer, field, violations);
+            addNumberChecks(s, body, node, pointer, field, violations);
+            addStringChecks(s, body, node, pointer, field, violations);
+            addArrayChecks(s, body, node, pointer, field, violations);
+            addObjectChecks(s, body, node, pointer, field, violations);
+
+            return m;
+        }
+
+        private void addTypeCheck(JsonSchemaInstance s, JBlock body, JVar node, JVar pointer, JVar field,
+                JVar violations) {
+
+            if (!typeCheck(s))
+                return;
+
+            JExpression condition = null;
+            for (String type : s.getTypes()) {
+                JExpression e = typeExpression(type, node);
+                condition = condition == null ? e : condition.cor(e);
+            }
+            JBlock then = body._if(condition.not())._then();
+            report(then, pointer, field, violations, MetaSchemaProperty.TYPE,
+                    "expected " + String.join(" or ", s.getTypes()));
+            then._return();
+        }
+
+        private void addEnumCheck(JsonSchemaInstance s, JBlock body, JVar node, JVar pointer, JVar field,
+                JVar violations) {
+
+            if (s.getEnum() == null)
+                return;
+
+            String json = ConfigurableMapper.getMapper().createArrayNode()
+                    .addAll(s.getEnum().stream().map(v -> (JsonNode) v).collect(Collectors.toList()))
+                    .toString();
+            JInvocation values = support.staticInvoke("enumSet");
+            for (int start = 0; start < json.length(); ) {
+                int end = Math.min(start + MAX_LITERAL_LENGTH, json.length());
+                if (end < json.length() && Character.isHighSurrogate(json.charAt(end - 1)))
+                    end--;
+                values.arg(lit(json.substring(start, end)));
+                start = end;
+            }
+
+            JFieldVar keys = clazz.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                    cm.ref(Set.class).narrow(Object.class), "ENUM_" + enums++, values);
+            report(body._if(keys.invoke("contains").arg(support.staticInvoke("enumKey").arg(node)).not())._then(),
+                    pointer, field, violations, MetaSchemaProperty.ENUM, "value is not one of the allowed values");
+        }
+
+        private void addNumberChecks(JsonSchemaInstance s, JBlock body, JVar node, JVar pointer, JVar field,
+                JVar violations) {
+
+            if (s.getMinimum() == null && s.getMaximum() == null)
+                return;
+
+            JBlock block = guard(s, body, node.invoke("isNumber"), MetaSchemaType.NUMBER, MetaSchemaType.INTEGER);
+            JVar value = block.decl(cm.ref(Number.class), "value", node.invoke("numberValue"));
+            if (s.getMinimum() != null) {
+                boolean exclusive = Boolean.TRUE.equals(s.getExclusiveMinimum());
+                JExpression c = support.staticInvoke("compare").arg(value).arg(lit(s.getMinimum()));
+                JExpression violated = exclusive ? c.lte(lit(0)) : c.lt(lit(0));
+                report(block._if(violated)._then(), pointer, field, violations, MetaSchemaProperty.MINIMUM,
+                        "must be " + (exclusive ? "> " : ">= ") + format(s.getMinimum()));
+            }
+            if (s.getMaximum() != null) {
+                boolean exclusive = Boolean.TRUE.equals(s.getExclusiveMaximum());
+                JExpression c = support.staticInvoke("compare").arg(value).arg(lit(s.getMaximum()));
+                JExpression violated = exclusive ? c.gte(lit(0)) : c.gt(lit(0));
+                report(block._if(violated)._then(), pointer, field, violations, MetaSchemaProperty.MAXIMUM,
+                        "must be " + (exclusive ? "< " : "<= ") + format(s.getMaximum()));
+            }
+        }
+
+        private void addStringChecks(JsonSchemaInstance s, JBlock body, JVar node, JVar pointer, JVar field,
+                JVar violations) {
+
+            if (s.getMinLength() == null && s.getMaxLength() == null && s.getPattern() == null)
+                return;
+
+            JBlock block = guard(s, body, node.invoke("isTextual"), MetaSchemaType.STRING, MetaSchemaType.DATE,
+                    MetaSchemaType.DATE_TIME, MetaSchemaType.TIME);
+            JVar text = block.decl(cm.ref(String.class), "text", node.invoke("textValue"));
+            if (s.getMinLength() != null || s.getMaxLength() != null) {
+                JVar length = block.decl(cm.INT, "length", support.staticInvoke("length").arg(text));
+                if (s.getMinLength() != null)
+                    report(block._if(length.lt(lit(s.getMinLength())))._then(), pointer, field, violations,
+                            MetaSchemaProperty.MIN_LENGTH, "must be at least " + s.getMinLength() + " characters long");
+                if (s.getMaxLength() != null)
+                    report(block._if(length.gt(lit(s.getMaxLength())))._then(), pointer, field, violations,
+                            MetaSchemaProperty.MAX_LENGTH, "must be at most " + s.getMaxLength() + " characters long");
+            }
+            if (s.getPattern() != null) {
+                JFieldVar pattern = clazz.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, Pattern.class,
+                        "PATTERN_" + patterns++,
+                        cm.ref(Pattern.class).staticInvoke("compile").arg(lit(s.getPattern().pattern())));
+                report(block._if(pattern.invoke("matcher").arg(text).invoke("find").not())._then(), pointer, field,
+                        violations, MetaSchemaProperty.PATTERN, "must match " + s.getPattern().pattern());
+            }
+        }
+
+        private void addArrayChecks(JsonSchemaInstance s, JBlock body, JVar node, JVar pointer, JVar field,
+                JVar violations) {
+
+            JMethod items = s.getItems() != null ? method(s.getItems()) : null;
+            if (s.getMinItems() == null && s.getMaxItems() == null && items == null)
+                return;
+
+            JBlock block = guard(s, body, node.invoke("isArray"), MetaSchemaType.ARRAY);
+            JVar size = block.decl(cm.INT, "size", node.invoke("size"));
+            if (s.getMinItems() != null)
+                report(block._if(size.lt(lit(s.getMinItems())))._then(), pointer, field, violations,
+                        MetaSchemaProperty.MIN_ITEMS, "must have at least " + s.getMinItems() + " items");
+            if (s.getMaxItems() != null)
+                report(block._if(size.gt(lit(s.getMaxItems())))._then(), pointer, field, violations,
+                        MetaSchemaProperty.MAX_ITEMS, "must have at most " + s.getMaxItems() + " items");
+            if (items != null) {
+                JForLoop loop = block._for();
+                JVar i = loop.init(cm.INT, "i", lit(0));
+                loop.test(i.lt(size));
+                loop.update(i.incr());
+                loop.body().invoke(items).arg(node.invoke("get").arg(i)).arg(pointer.plus(lit("/")).plus(i))
+                        .arg(field.plus(lit("/*"))).arg(violations);
+            }
+        }
+
+        private void addObjectChecks(JsonSchemaInstance s, JBlock body, JVar node, JVar pointer, JVar field,
+                JVar violations) {
+
+            Map<String, JMethod> properties = new LinkedHashMap<>();
+            if (s.getProperties() != null)
+                s.getProperties().forEach((name, schema) -> properties.put(name, method(schema)));
+
+            boolean closed = Boolean.FALSE.equals(s.getAdditionalProperties());
+            boolean descend = properties.values().stream().anyMatch(Objects::nonNull);
+            boolean required = s.getRequired() != null && !s.getRequired().isEmpty();
+            if (!closed && !descend && !required && s.getMinProperties() == null && s.getMaxProperties() == null)
+                return;
+
+            JBlock block = guard(s, body, node.invoke("isObject"), MetaSchemaType.OBJECT);
+            if (required) {
+                for (String name : s.getRequired())
+                    report(block._if(node.invoke("has").arg(lit(name)).not())._then(), pointer, field, violations,
+                            MetaSchemaProperty.REQUIRED, "missing property '" + name + "'");
+            }
+            if (s.getMinProperties() != null)
+                report(block._if(node.invoke("size").lt(lit(s.getMinProperties())))._then(), pointer, field,
+                        violations, MetaSchemaProperty.MIN_PROPERTIES,
+                        "must have at least " + s.getMinProperties() + " properties");
+            if (s.getMaxProperties() != null)
+                report(block._if(node.invoke("size").gt(lit(s.getMaxProperties())))._then(), pointer, field,
+                        violations, MetaSchemaProperty.MAX_PROPERTIES,
+                        "must have at most " + s.getMaxProperties() + " properties");
+            if (!closed && !descend)
+                return;
+
+            JClass entryType = cm.ref(Map.Entry.class).narrow(cm.ref(String.class), cm.ref(JsonNode.class));
+            JForLoop loop = block._for();
+            JVar it = loop.init(cm.ref(Iterator.class).narrow(entryType), "it", node.invoke("fields"));
+            loop.test(it.invoke("hasNext"));
+            JVar entry = loop.body().decl(entryType, "entry", it.invoke("next"));
+            JSwitch names = loop.body()._switch(entry.invoke("getKey"));
+            for (Map.Entry<String, JMethod> property : properties.entrySet()) {
+                if (property.getValue() == null && !closed)
+                    continue;
+                JBlock c = names._case(lit(property.getKey())).body();
+                if (property.getValue() != null)
+                    c.invoke(property.getValue()).arg(entry.invoke("getValue"))
+                            .arg(pointer.plus(lit("/" + ValidatorSupport.escape(property.getKey()))))
+                            .arg(field.plus(lit("/" + ValidatorSupport.escape(property.getKey()))))
+                            .arg(violations);
+                c._break();
+            }
+            if (closed) {
+                JBlock d = names._default().body();
+                JVar name = d.decl(cm.ref(String.class), "name",
+                        lit("/").plus(support.staticInvoke("escape").arg(entry.invoke("getKey"))));
+                report(d, pointer.plus(name), field.plus(name), violations,
+                        MetaSchemaProperty.ADDITIONAL_PROPERTIES, "property is not allowed");
+                d._break();
+            }
+        }
+    }
+
+    /**
+     * Generates a validator class for each of the given schemas.
+     *
+     * @param schemas JSON schemas by the simple name of their validator class. The schemas are resolved in place.
+     * @param outputDir the directory where validator classes will be stored.
+     * @param fqp the package of validator classes.
+     * @return generated files.
+     * @throws IOException when a JSON reference cannot be resolved or a class cannot be written.
+     * @throws JClassAlreadyExistsException when a validator class was already created.
+     */
+    Collection<File> run(Map<String, JsonNode> schemas, File outputDir, String fqp)
+            throws IOException, JClassAlreadyExistsException {
+        return run(schemas, outputDir, fqp, new SchemaCache());
+    }
+
+    private Collection<File> run(Map<String, JsonNode> schemas, File outputDir, String fqp, SchemaCache cache)
+            throws IOException, JClassAlreadyExistsException {
+
+        CommonUtils.ensurePathToFolderExist(outputDir);
+        Collection<File> generated = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> e : schemas.entrySet()) {
+            new SchemaRefResolver(e.getValue(), loader, cache).resolveInline();
+            JsonSchemaInstance schema = new JsonSchemaInstanceReader().read(e.getValue());
+            JCodeModel codeModel = createCodeModel(fqp + "." + e.getKey(), schema);
+            CommonUtils.writeClassToFile(outputDir, codeModel, generated);
+        }
+        return generated;
+    }
+
+    private void run(File schemasDir, File outputDir, String fqp, BuildManifest manifest)
+            throws IOException, JClassAlreadyExistsException {
+
+        Collection<File> files = CommonUtils.listSchemaFiles(schemasDir);
+        if (files.size() == 0)
+            throw new IllegalStateException("There are no schemas to process in " + schemasDir.getAbsolutePath());
+
+        // e.g. core_entry.json and core-entry.json, or the same name in different subdirectories
+        Map<String, File> classes = new LinkedHashMap<>();
+        for (File f : files) {
+            File other = classes.put(getClassName(f), f);
+            if (other != null)
+                throw new IllegalStateException("Schemas " + other.getPath() + " and " + f.getPath()
+                        + " map to the same validator class " + getClassName(f));
+        }
+
+        if (manifest.isUpToDate(files.stream().map(File::getPath).collect(Collectors.toList())))
+            return;
+
+        Map<String, JsonNode> schemas = new LinkedHashMap<>();
+        for (Map.Entry<String, File> e : classes.entrySet())
+            schemas.put(e.getKey(), loader.readSchema(e.getValue().toURI()));
+
+        SchemaCache cache = new SchemaCache();
+        manifest.addOutputs(run(schemas, outputDir, fqp, cache));
+        // referenced documents are inputs too
+        for (URI location : cache.getLoadedLocations())
+            manifest.addInput(location.toString());
+        manifest.save();
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        CommandOptions cmd = new CommandOptions(args);
+        if (!cmd.hasOption("-i"))
+            throw new IllegalArgumentException("Source Directory (-i) argument is not specified.");
+        if (!cmd.hasOption("-o"))
+            throw new IllegalArgumentException("Output Directory (-o) argument is not specified.");
+        if (!cmd.hasOption("-t"))
+            throw new IllegalArgumentException("Target Package (-t) argument is not specified.");
+
+        String sourceDirectory = cmd.valueOf("-i").get(0);
+        String outputDirectory = cmd.valueOf("-o").get(0);
+        String targetPackage = cmd.valueOf("-t").get(0);
+
+        File schemaDir = new File(sourceDirectory);
+        if (!schemaDir.exists())
+            throw new IllegalStateException("Folder with input schemas does not exist.");
+
+        GenerateSchemaValidators generator = new GenerateSchemaValidators();
+        generator.run(schemaDir, new File(outputDirectory), targetPackage,
+                BuildManifest.fromArguments(GenerateSchemaValidators.class, args));
+    }
+}
@@ -10,19 +10,22 @@ import org.rcsb.mojave.tools.jsonschema.traversal.visitors.BsonTypeAliasConverte
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.KeywordsSyntaxChecker;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.Visitor;
 import org.rcsb.mojave.tools.jsonschema.utils.SchemaVersion;
+import org.rcsb.mojave.tools.utils.BuildManifest;
 import org.rcsb.mojave.tools.utils.CommandOptions;
 import org.rcsb.mojave.tools.utils.CommonUtils;
-import org.rcsb.mojave.tools.utils.ConfigurableMapper;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * This tool updates all core JSON schemas to BSON types and produce new schemas
- * that can be used for validation in MongoDB.
+ * that can be used for validation in MongoDB. With the -w option the schemas are converted concurrently on the given
+ * number of workers, each with its own visitors.
  * <p>
  * Created on 9/20/18.
  *
@@ -31,6 +34,46 @@ import java.util.List;
  */
 public class GenerateValidationBsonSchema {
 
+    static List<Visitor> createVisitors() {
+        return Arrays.asList(
+                new KeywordsSyntaxChecker(SchemaVersion.DRAFTV4.getSchema()),
+                new BsonTypeAliasConverter());
+    }
+
+    /**
+     * Converts the schema to a MongoDB validation schema in place.
+     *
+     * @param schema JSON schema to be modified.
+     * @param visitors visitors created with {@link #createVisitors()}.
+     * @throws IOException when a JSON reference cannot be resolved.
+     */
+    static void transform(JsonNode schema, List<Visitor> visitors) throws IOException {
+
+        JsonSchemaWalker walker = new JsonSchemaWalker.Builder()
+                .fromInstance(schema)
+                .acceptingVisitors(visitors)
+                .build();
+        walker.walk();
+
+        JsonNode properties = schema.get(MetaSchemaProperty.PROPERTIES);
+
+        // if JSON schema requires validation of additional properties to be false,
+        // an explicit '_id' field is needed in the schema
+        ObjectNode idNode = ((ObjectNode) schema).objectNode();
+        idNode.put(MetaSchemaModifier.BSON_TYPE, "objectId");
+        ((ObjectNode) properties).set("_id", idNode);
+
+        // keywords '$schema' and '$comment' are not supported by MongoDB v3.6
+        ((ObjectNode) schema).remove(MetaSchemaProperty.SCHEMA);
+        ((ObjectNode) schema).remove(MetaSchemaProperty.COMMENT);
+    }
+
+    static String getFileName(File f, String fileNamePrefix) {
+        return (fileNamePrefix != null && !fileNamePrefix.isEmpty())
+                ? fileNamePrefix + f.getName()
+                : f.getName();
+    }
+
     public static void main(String[] args) throws Exception {
 
         CommandOptions cmd = new CommandOptions(args);
@@ -43,44 +86,30 @@ public class GenerateValidationBsonSchema {
         String outputSchemasLocation = cmd.valueOf("-o").get(0);
         CommonUtils.ensurePathToFolderExist(new File(outputSchemasLocation));
 
-        String fileNamePrefix = null;
-        if (cmd.hasOption("-p"))
-            fileNamePrefix = cmd.valueOf("-p").get(0);
+        String fileNamePrefix = cmd.hasOption("-p") ? cmd.valueOf("-p").get(0) : null;
+        int workers = cmd.getWorkers();
 
         File folder = new File(inputSchemasLocation);
         Collection<File> files = CommonUtils.listSchemaFiles(folder);
         if (files.size() == 0)
             throw new IllegalStateException("There are no schemas to process in "+folder.getAbsolutePath());
 
+        BuildManifest manifest = BuildManifest.fromArguments(GenerateValidationBsonSchema.class, args);
+        if (manifest.isUpToDate(files.stream().map(File::getPath).collect(Collectors.toList())))
+            return;
+
         SchemaLoader loader = new SchemaLoader();
-        List<Visitor> visitors = Arrays.asList(
-                new KeywordsSyntaxChecker(SchemaVersion.DRAFTV4.getSchema()),
-                new BsonTypeAliasConverter());
-        for (File f : files) {
-            JsonNode schema = loader.readSchema(f.toURI());
-            JsonSchemaWalker walker = new JsonSchemaWalker.Builder()
-                    .fromInstance(schema)
-                    .acceptingVisitors(visitors)
-                    .build();
-            walker.walk();
-
-            JsonNode properties = schema.get(MetaSchemaProperty.PROPERTIES);
-
-            // if JSON schema requires validation of additional properties to be false,
-            // an explicit '_id' field is needed in the schema
-            ObjectNode idNode = ConfigurableMapper.getMapper().createObjectNode();
-            idNode.put(MetaSchemaModifier.BSON_TYPE, "objectId");
-            ((ObjectNode) properties).set("_id", idNode);
-
-            // keywords '$schema' and '$comment' are not supported by MongoDB v3.6
-            ((ObjectNode) schema).remove(MetaSchemaProperty.SCHEMA);
-            ((ObjectNode) schema).remove(MetaSchemaProperty.COMMENT);
-
-            String fileName = (fileNamePrefix != null && !fileNamePrefix.isEmpty())
-                    ? fileNamePrefix + f.getName()
-                    : f.getName();
-            String validationSchemasLocation = Paths.get(outputSchemasLocation, fileName).toString();
-            loader.writeSchema(validationSchemasLocation, schema);
-        }
+        List<File> outputs = Workers.map(files, workers, GenerateValidationBsonSchema::createVisitors,
+                (f, visitors) -> {
+                    JsonNode schema = loader.readSchema(f.toURI());
+                    transform(schema, visitors);
+
+                    String fileName = getFileName(f, fileNamePrefix);
+                    String validationSchemasLocation = Paths.get(outputSchemasLocation, fileName).toString();
+                    loader.writeSchema(validationSchemasLocation, schema);
+                    return new File(validationSchemasLocation);
+                });
+        manifest.addOutputs(outputs);
+        manifest.save();
     }
 }
\ No newline at end of file
@@ -0,0 +1,423 @@
+package org.rcsb.mojave.tools.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import org.rcsb.mojave.tools.jsonschema.SchemaCache;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitors.JavaTypeAnnotator;
+import org.rcsb.mojave.tools.utils.BuildManifest;
+import org.rcsb.mojave.tools.utils.CommandOptions;
+import org.rcsb.mojave.tools.utils.CommonUtils;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs several core tools in a single JVM. The stages are described in a JSON configuration file, each stage
+ * names a tool and lists the same arguments the tool accepts on the command line:
+ * <pre>
+ * {
+ *   "stages": [
+ *     { "tool": "GenerateCombinedJsonSchema", "args": ["-i", "file:///schemas/entry.json", "-o", "core/entry.json"] },
+ *     { "tool": "GenerateSchemaConstants", "args": ["-i", "core", "-o", "src", "-t", "org.rcsb.CoreConstants"] }
+ *   ]
+ * }
+ * </pre>
+ * Supported tools are {@link GenerateCombinedJsonSchema}, {@link GenerateAutoJsonSchema},
+ * {@link AnnotateSchemaWithJavaTypes}, {@link GenerateValidationBsonSchema}, {@link GenerateSchemaEnums} and
+ * {@link GenerateSchemaConstants}.
+ * <p>
+ * A stage that reads the output of another stage runs after it, otherwise the stages run in the configured order.
+ * Each schema is parsed once and the parsed trees are shared between the stages; schemas written by a stage are
+ * handed over to the following stages without being parsed again. Stages that modify schemas work on copies, which
+ * are transformed on the number of workers given with the -w option of the tool.
+ * <p>
+ * A stage given the -m option of the tool runs incrementally: it records the same {@link BuildManifest} as the
+ * tool and is skipped when its inputs, options and outputs didn't change since the previous run, whether that run
+ * was a pipeline stage or the tool itself.
+ * <p>
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class SchemaPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaPipeline.class);
+
+    private static final String FILE_SCHEME = "file";
+
+    private final SchemaLoader loader = new SchemaLoader();
+
+    // parsed schemas by the normalized location, shared between the stages and never modified
+    private final Map<String, JsonNode> schemas = new HashMap<>();
+    private final Map<Path, Collection<File>> listings = new HashMap<>();
+
+    private static final class Stage {
+
+        private final String tool;
+        private final CommandOptions cmd;
+        private final BuildManifest manifest;
+        private final List<Path> inputs = new ArrayList<>();
+        private final List<Path> outputs = new ArrayList<>();
+
+        private Stage(String tool, String[] args, Class<?> toolClass) {
+            this.tool = tool;
+            this.cmd = new CommandOptions(args);
+            this.manifest = BuildManifest.fromArguments(toolClass, args);
+        }
+
+        private boolean dependsOn(Stage other) {
+            for (Path input : inputs) {
+                for (Path output : other.outputs) {
+                    if (input.startsWith(output) || output.startsWith(input))
+                        return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static Path toPath(String location) {
+        if (location.startsWith(FILE_SCHEME + ":"))
+            return Paths.get(URI.create(location)).toAbsolutePath().normalize();
+        return Paths.get(location).toAbsolutePath().normalize();
+    }
+
+    private static String require(CommandOptions cmd, String option, String tool) {
+        if (!cmd.hasOption(option) || cmd.valueOf(option).isEmpty())
+            throw new IllegalArgumentException("Argument " + option + " is not specified for " + tool + ".");
+        return cmd.valueOf(option).get(0);
+    }
+
+    private static Class<?> getToolClass(String tool) {
+        switch (tool) {
+            case "GenerateCombinedJsonSchema": return GenerateCombinedJsonSchema.class;
+            case "GenerateAutoJsonSchema": return GenerateAutoJsonSchema.class;
+            case "AnnotateSchemaWithJavaTypes": return AnnotateSchemaWithJavaTypes.class;
+            case "GenerateValidationBsonSchema": return GenerateValidationBsonSchema.class;
+            case "GenerateSchemaEnums": return GenerateSchemaEnums.class;
+            case "GenerateSchemaConstants": return GenerateSchemaConstants.class;
+            default: throw new IllegalArgumentException("Unsupported tool: " + tool);
+        }
+    }
+
+    private static Stage createStage(JsonNode config) {
+
+        if (!config.has("tool"))
+            throw new IllegalArgumentException("Tool is not specified for the stage: " + config);
+        String tool = config.get("tool").asText();
+
+        List<String> args = new ArrayList<>();
+        if (config.has("args"))
+            config.get("args").forEach(a -> args.add(a.asText()));
+        Stage stage = new Stage(tool, args.toArray(new String[0]), getToolClass(tool));
+        CommandOptions cmd = stage.cmd;
+        require(cmd, "-i", tool);
+        stage.outputs.add(toPath(require(cmd, "-o", tool)));
+
+        switch (tool) {
+            case "GenerateCombinedJsonSchema":
+                // JAR resources cannot be produced by other stages
+                for (String location : cmd.valueOf("-i")) {
+                    if (!SchemaLoader.hasScheme(location) || location.startsWith(FILE_SCHEME + ":"))
+                        stage.inputs.add(toPath(location));
+                }
+                break;
+            case "GenerateAutoJsonSchema":
+            case "AnnotateSchemaWithJavaTypes":
+            case "GenerateSchemaEnums":
+            case "GenerateSchemaConstants":
+                require(cmd, "-t", tool);
+                stage.inputs.add(toPath(cmd.valueOf("-i").get(0)));
+                break;
+            case "GenerateValidationBsonSchema":
+                stage.inputs.add(toPath(cmd.valueOf("-i").get(0)));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported tool: " + tool);
+        }
+        return stage;
+    }
+
+    /**
+     * Orders the stages so that each stage runs after the stages it reads the output of. Independent
+     * stages keep the configured order.
+     */
+    private static List<Stage> sort(List<Stage> stages) {
+
+        List<Stage> pending = new ArrayList<>(stages);
+        List<Stage> sorted = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            Stage next = null;
+            for (Stage candidate : pending) {
+                boolean ready = true;
+                for (Stage other : pending) {
+                    if (other != candidate && candidate.dependsOn(other)) {
+                        ready = false;
+                        break;
+                    }
+                }
+                if (ready) {
+                    next = candidate;
+                    break;
+                }
+            }
+            if (next == null)
+                throw new IllegalStateException("Stages have circular dependencies.");
+            pending.remove(next);
+            sorted.add(next);
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns the parsed schema at the given location. The schema is shared and MUST NOT be modified.
+     */
+    private JsonNode read(String location) throws IOException {
+
+        boolean isPath = !SchemaLoader.hasScheme(location) || location.startsWith(FILE_SCHEME + ":");
+        String key = isPath ? toPath(location).toString() : location;
+        JsonNode schema = schemas.get(key);
+        if (schema == null) {
+            schema = isPath ? loader.readSchema(new File(key).toURI()) : loader.readSchema(location);
+            schemas.put(key, schema);
+        }
+        return schema;
+    }
+
+    private File write(Path location, JsonNode schema) throws IOException {
+        loader.writeSchema(location.toString(), schema);
+        schemas.put(location.toString(), schema);
+        return location.toFile();
+    }
+
+    private Collection<File> list(Path directory) {
+        Collection<File> files = listings.computeIfAbsent(directory,
+                d -> CommonUtils.listSchemaFiles(d.toFile()));
+        if (files.isEmpty())
+            throw new IllegalStateException("There are no schemas to process in " + directory);
+        return files;
+    }
+
+    /**
+     * @return copies of the shared schemas that can be modified by the workers of a stage, in the order of the files.
+     */
+    private List<JsonNode> copies(Collection<File> files) throws IOException {
+        List<JsonNode> copies = new ArrayList<>();
+        for (File f : files)
+            copies.add(read(f.getPath()).deepCopy());
+        return copies;
+    }
+
+    private Collection<File> runCombined(Stage stage) throws IOException {
+
+        boolean resolve = stage.cmd.hasOption("-r") && Boolean.parseBoolean(stage.cmd.valueOf("-r").get(0));
+        int workers = stage.cmd.getWorkers();
+
+        // the input schemas are modified by merging
+        List<GenerateCombinedJsonSchema.SchemaSupplier> sources = new ArrayList<>();
+        for (String location : stage.cmd.valueOf("-i")) {
+            JsonNode schema = read(location);
+            sources.add(schema::deepCopy);
+        }
+        SchemaCache cache = new SchemaCache();
+        JsonNode finalSchema = GenerateCombinedJsonSchema.combine(sources, resolve, workers, loader, cache);
+        // referenced documents are inputs too
+        for (URI location : cache.getLoadedLocations())
+            stage.manifest.addInput(location.toString());
+
+        GenerateCombinedJsonSchema.setSchemaId(finalSchema, stage.cmd);
+        List<File> outputs = new ArrayList<>();
+        outputs.add(write(stage.outputs.get(0), finalSchema));
+
+        File snapshot = GenerateCombinedJsonSchema.getSnapshotFile(stage.cmd, stage.outputs.get(0).toFile());
+        if (snapshot != null) {
+            loader.writeSnapshot(snapshot.getPath(), finalSchema);
+            outputs.add(snapshot);
+        }
+        return outputs;
+    }
+
+    private Collection<File> runAuto(Stage stage) throws IOException {
+
+        String targetPackage = stage.cmd.valueOf("-t").get(0);
+        boolean suppressEnums = stage.cmd.valueOf("-se").isEmpty()
+                || Boolean.parseBoolean(stage.cmd.valueOf("-se").get(0));
+        Collection<File> files = list(stage.inputs.get(0));
+        List<JsonNode> copies = Workers.map(copies(files), stage.cmd.getWorkers(),
+                () -> GenerateAutoJsonSchema.createVisitors(targetPackage, suppressEnums),
+                (schema, visitors) -> {
+                    GenerateAutoJsonSchema.transform(schema, visitors);
+                    return schema;
+                });
+        Iterator<JsonNode> schemas = copies.iterator();
+        List<File> outputs = new ArrayList<>();
+        for (File f : files)
+            outputs.add(write(stage.outputs.get(0).resolve(f.getName()), schemas.next()));
+        return outputs;
+    }
+
+    private Collection<File> runAnnotate(Stage stage) throws IOException {
+
+        String targetPackage = stage.cmd.valueOf("-t").get(0);
+        boolean useTitleAsClassname = stage.cmd.hasOption("-n")
+                && Boolean.parseBoolean(stage.cmd.valueOf("-n").get(0));
+
+        Path schemasDir = stage.inputs.get(0);
+        Collection<File> files = list(schemasDir);
+        List<JsonNode> copies = Workers.map(copies(files), stage.cmd.getWorkers(),
+                () -> new JavaTypeAnnotator().setTargetPackage(targetPackage),
+                (schema, visitor) -> {
+                    AnnotateSchemaWithJavaTypes.annotate(schema, visitor, useTitleAsClassname);
+                    return schema;
+                });
+        Iterator<JsonNode> schemas = copies.iterator();
+        List<File> outputs = new ArrayList<>();
+        for (File f : files) {
+            String filePath = CommonUtils.getRelativePath(schemasDir.toFile().toURI(), f.toURI());
+            outputs.add(write(stage.outputs.get(0).resolve(filePath), schemas.next()));
+        }
+        return outputs;
+    }
+
+    private Collection<File> runValidation(Stage stage) throws IOException {
+
+        String fileNamePrefix = null;
+        if (stage.cmd.hasOption("-p"))
+            fileNamePrefix = stage.cmd.valueOf("-p").get(0);
+
+        Collection<File> files = list(stage.inputs.get(0));
+        List<JsonNode> copies = Workers.map(copies(files), stage.cmd.getWorkers(),
+                GenerateValidationBsonSchema::createVisitors,
+                (schema, visitors) -> {
+                    GenerateValidationBsonSchema.transform(schema, visitors);
+                    return schema;
+                });
+        Iterator<JsonNode> schemas = copies.iterator();
+        List<File> outputs = new ArrayList<>();
+        for (File f : files) {
+            String fileName = GenerateValidationBsonSchema.getFileName(f, fileNamePrefix);
+            outputs.add(write(stage.outputs.get(0).resolve(fileName), schemas.next()));
+        }
+        return outputs;
+    }
+
+    private Collection<File> runEnums(Stage stage) throws IOException, JClassAlreadyExistsException {
+
+        GenerateSchemaEnums generator = new GenerateSchemaEnums();
+        if (stage.cmd.hasOption("-s"))
+            generator.withClassNamePostfix(stage.cmd.valueOf("-s").get(0));
+        if (stage.cmd.hasOption("-d"))
+            generator.withDynamicRefResolution(Boolean.parseBoolean(stage.cmd.valueOf("-d").get(0)));
+
+        // schemas are annotated with Java types by the generator
+        return generator.run(copies(list(stage.inputs.get(0))), stage.outputs.get(0).toFile(),
+                stage.cmd.valueOf("-t").get(0));
+    }
+
+    private Collection<File> runConstants(Stage stage) throws IOException, JClassAlreadyExistsException {
+
+        // the generator only reads the schemas, so they don't need to be copied
+        List<JsonNode> shared = new ArrayList<>();
+        for (File f : list(stage.inputs.get(0)))
+            shared.add(read(f.getPath()));
+        return new GenerateSchemaConstants().run(shared, stage.outputs.get(0).toFile(), stage.cmd.valueOf("-t").get(0));
+    }
+
+    /**
+     * @return the inputs the tool records in its manifest: the input locations of the combined schema, the files of
+     * the input directory of the other tools.
+     */
+    private List<String> getManifestInputs(Stage stage) {
+        if (stage.tool.equals("GenerateCombinedJsonSchema"))
+            return stage.cmd.valueOf("-i");
+        List<String> inputs = new ArrayList<>();
+        for (File f : list(stage.inputs.get(0)))
+            inputs.add(f.getPath());
+        return inputs;
+    }
+
+    private void run(Stage stage) throws IOException, JClassAlreadyExistsException {
+
+        // as in the tool, documents referenced by dynamically resolved $refs are not known upfront
+        boolean incremental = !(stage.tool.equals("GenerateSchemaEnums") && stage.cmd.hasOption("-d")
+                && Boolean.parseBoolean(stage.cmd.valueOf("-d").get(0)));
+        if (incremental && stage.manifest.isUpToDate(getManifestInputs(stage))) {
+            logger.info("Skipping {} {}, outputs are up to date", stage.tool, stage.cmd.valueOf("-i"));
+            return;
+        }
+
+        logger.info("Running {} {}", stage.tool, stage.cmd.valueOf("-i"));
+        Collection<File> outputs;
+        switch (stage.tool) {
+            case "GenerateCombinedJsonSchema":
+                outputs = runCombined(stage);
+                break;
+            case "GenerateAutoJsonSchema":
+                outputs = runAuto(stage);
+                break;
+            case "AnnotateSchemaWithJavaTypes":
+                outputs = runAnnotate(stage);
+                break;
+            case "GenerateValidationBsonSchema":
+                outputs = runValidation(stage);
+                break;
+            case "GenerateSchemaEnums":
+                outputs = runEnums(stage);
+                break;
+            case "GenerateSchemaConstants":
+                outputs = runConstants(stage);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported tool: " + stage.tool);
+        }
+        stage.manifest.addOutputs(outputs);
+        if (incremental)
+            stage.manifest.save();
+    }
+
+    /**
+     * Runs all stages described in the configuration.
+     *
+     * @param config pipeline configuration.
+     * @throws IOException when a schema cannot be read or an output cannot be written.
+     * @throws JClassAlreadyExistsException when a generated class was already created.
+     */
+    public void run(JsonNode config) throws IOException, JClassAlreadyExistsException {
+
+        if (!config.has("stages") || !config.get("stages").isArray())
+            throw new IllegalArgumentException("Pipeline configuration must list the stages.");
+
+        List<Stage> stages = new ArrayList<>();
+        config.get("stages").forEach(s -> stages.add(createStage(s)));
+
+        for (Stage stage : sort(stages))
+            run(stage);
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        CommandOptions cmd = new CommandOptions(args);
+        if (!cmd.hasOption("-c"))
+            throw new IllegalArgumentException("Configuration file (-c) argument is not specified.");
+
+        File configFile = new File(cmd.valueOf("-c").get(0));
+        if (!configFile.exists())
+            throw new IllegalStateException("Configuration file does not exist.");
+
+        JsonNode config = ConfigurableMapper.getMapper().readTree(configFile);
+        new SchemaPipeline().run(config);
+    }
+}
@@ -0,0 +1,254 @@
+package org.rcsb.mojave.tools.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.validation.DocumentValidator;
+import org.rcsb.mojave.tools.jsonschema.validation.StreamingValidator;
+import org.rcsb.mojave.tools.jsonschema.validation.Violation;
+import org.rcsb.mojave.tools.jsonschema.validation.ViolationStatistics;
+import org.rcsb.mojave.tools.utils.CommandOptions;
+import org.rcsb.mojave.tools.utils.CommonUtils;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * This tool validates NDJSON files (one document per line, optionally gzip compressed) against a core JSON schema,
+ * so that data can be checked before it is loaded to MongoDB. Instead of listing every violation, it reports how
+ * many times each keyword is violated per field (see {@link ViolationStatistics}), with the line of the first
+ * occurrence.
+ * <p>
+ * The input is read in chunks of lines that are validated by the given number of workers (-w). The queue of chunks
+ * is bounded, so reading waits for the workers rather than loading the file into memory.
+ * <p>
+ * Options: -s core schema, -i input files, -o report file (JSON, per input file, optional), -w number of workers,
+ * -c number of lines per chunk. The tool fails when any document is invalid.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class ValidateDocuments {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidateDocuments.class);
+
+    static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    // chunks waiting for a worker, per worker
+    private static final int QUEUED_CHUNKS = 2;
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private static final Chunk END = new Chunk(0, new ArrayList<>());
+
+    private final DocumentValidator validator;
+    private final int workers;
+    private final int chunkSize;
+    private final JsonFactory factory = ConfigurableMapper.getMapper().getFactory();
+
+    /**
+     * @param validator thread-safe validator of the documents.
+     * @param workers number of threads that validate the documents.
+     * @param chunkSize number of lines passed to a worker at once.
+     */
+    ValidateDocuments(DocumentValidator validator, int workers, int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size (-c) must be positive.");
+        this.validator = validator;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Lines of the input, numbered from the first one.
+     */
+    private static final class Chunk {
+
+        private final long firstLine;
+        private final List<String> lines;
+
+        private Chunk(long firstLine, List<String> lines) {
+            this.firstLine = firstLine;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * @param file a file, gzip compressed or not.
+     * @return the uncompressed content of the file.
+     * @throws IOException when the file cannot be opened.
+     */
+    static InputStream open(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file));
+        in.mark(2);
+        int magic = in.read() | in.read() << 8;
+        in.reset();
+        return magic == GZIPInputStream.GZIP_MAGIC ? new BufferedInputStream(new GZIPInputStream(in)) : in;
+    }
+
+    /**
+     * Validates the documents of an NDJSON input, blank lines are ignored.
+     *
+     * @param reader the input.
+     * @return the statistics of the violations, documents are numbered by their line.
+     * @throws IOException when the input cannot be read.
+     */
+    ViolationStatistics validate(Reader reader) throws IOException {
+
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        if (workers == 1) {
+            ViolationStatistics statistics = new ViolationStatistics();
+            List<Violation> violations = new ArrayList<>();
+            long number = 0;
+            for (String line = lines.readLine(); line != null; line = lines.readLine())
+                validate(line, ++number, statistics, violations);
+            return statistics;
+        }
+
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(workers * QUEUED_CHUNKS);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<ViolationStatistics>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++)
+                futures.add(executor.submit(() -> work(queue)));
+
+            long number = 1;
+            List<String> chunk = new ArrayList<>(chunkSize);
+            for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    put(queue, new Chunk(number, chunk), futures);
+                    number += chunk.size();
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty())
+                put(queue, new Chunk(number, chunk), futures);
+            for (int i = 0; i < workers; i++)
+                put(queue, END, futures);
+
+            ViolationStatistics statistics = new ViolationStatistics();
+            for (Future<ViolationStatistics> future : futures)
+                statistics.merge(future.get());
+            return statistics;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Validation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits until the queue accepts the chunk, fails when a worker fails.
+     */
+    private static void put(BlockingQueue<Chunk> queue, Chunk chunk, List<Future<ViolationStatistics>> futures)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(chunk, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            for (Future<ViolationStatistics> future : futures) {
+                if (future.isDone())
+                    future.get();
+            }
+        }
+    }
+
+    private ViolationStatistics work(BlockingQueue<Chunk> queue) throws InterruptedException, IOException {
+        ViolationStatistics statistics = new ViolationStatistics();
+        List<Violation> violations = new ArrayList<>();
+        for (Chunk chunk = queue.take(); chunk != END; chunk = queue.take()) {
+            long number = chunk.firstLine;
+            for (String line : chunk.lines)
+                validate(line, number++, statistics, violations);
+        }
+        return statistics;
+    }
+
+    private void validate(String line, long number, ViolationStatistics statistics, List<Violation> violations)
+            throws IOException {
+
+        if (line.trim().isEmpty())
+            return;
+
+        violations.clear();
+        try (JsonParser parser = factory.createParser(line)) {
+            validator.validate(parser, violations);
+            if (parser.nextToken() != null)
+                throw new JsonParseException(parser, "Unexpected content after the document.");
+        } catch (JsonProcessingException e) {
+            statistics.addMalformed(number, e.getOriginalMessage());
+            return;
+        }
+        statistics.add(number, violations);
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        CommandOptions cmd = new CommandOptions(args);
+        if (!cmd.hasOption("-s"))
+            throw new IllegalArgumentException("Schema argument is not specified.");
+        if (!cmd.hasOption("-i"))
+            throw new IllegalArgumentException("Input arguments are not specified.");
+
+        int workers = cmd.getWorkers();
+        int chunkSize = DEFAULT_CHUNK_SIZE;
+        if (cmd.hasOption("-c"))
+            chunkSize = Integer.parseInt(cmd.valueOf("-c").get(0));
+
+        SchemaLoader loader = new SchemaLoader();
+        JsonNode schema = loader.readSchema(new File(cmd.valueOf("-s").get(0)).toURI());
+        StreamingValidator validator = new StreamingValidator(schema);
+        ValidateDocuments tool = new ValidateDocuments(validator, workers, chunkSize);
+
+        // documents are numbered by their line, so the statistics are reported per file
+        ObjectNode report = ConfigurableMapper.getMapper().createObjectNode();
+        long documents = 0;
+        long invalid = 0;
+        for (String path : cmd.valueOf("-i")) {
+            try (Reader reader = new InputStreamReader(open(new File(path)), StandardCharsets.UTF_8)) {
+                ViolationStatistics statistics = tool.validate(reader);
+                logger.info("Validated {}: {} of {} documents are invalid", path, statistics.getInvalid(),
+                        statistics.getDocuments());
+                statistics.getCounters().forEach(c -> logger.info("  {}", c));
+                report.set(path, statistics.toJson());
+                documents += statistics.getDocuments();
+                invalid += statistics.getInvalid();
+            }
+        }
+
+        if (cmd.hasOption("-o")) {
+            File output = new File(cmd.valueOf("-o").get(0));
+            CommonUtils.ensurePathToFolderExist(output.getAbsoluteFile().getParentFile());
+            ConfigurableMapper.getMapper().writerWithDefaultPrettyPrinter().writeValue(output, report);
+        }
+
+        if (invalid > 0)
+            throw new IllegalStateException(invalid + " of " + documents + " documents are invalid.");
+    }
+}
@@ -0,0 +1,79 @@
+package org.rcsb.mojave.tools.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs a task for each input of a tool, e.g. for each schema file of a directory, on a number of worker threads.
+ * Each worker has its own state (typically the visitors of the tool) so that nothing but the inputs is shared
+ * between the workers. The results are returned in the order of the inputs, whatever the number of workers, so
+ * that the output of a tool is the same as when the inputs are processed one after another.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+final class Workers {
+
+    private Workers() {}
+
+    /**
+     * A task applied to an input with the state of the worker it runs on.
+     */
+    interface Task<T, S, R> {
+        R apply(T input, S state) throws IOException;
+    }
+
+    /**
+     * @param inputs inputs of the tasks.
+     * @param workers number of workers, with a single worker the tasks run on the calling thread.
+     * @param state creates the state of a worker.
+     * @param task the task to be applied to each input.
+     * @return the results of the tasks in the order of the inputs.
+     * @throws IOException the first error in the order of the inputs, the remaining tasks are cancelled.
+     */
+    static <T, S, R> List<R> map(Collection<T> inputs, int workers, Supplier<S> state, Task<T, S, R> task)
+            throws IOException {
+
+        List<R> results = new ArrayList<>(inputs.size());
+        if (workers == 1 || inputs.size() < 2) {
+            S s = state.get();
+            for (T input : inputs)
+                results.add(task.apply(input, s));
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, inputs.size()));
+        // created on the first task of each worker, dropped with the threads
+        ThreadLocal<S> local = ThreadLocal.withInitial(state);
+        try {
+            List<Future<R>> futures = new ArrayList<>(inputs.size());
+            for (T input : inputs)
+                futures.add(executor.submit(() -> task.apply(input, local.get())));
+            for (Future<R> future : futures)
+                results.add(future.get());
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing schemas.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException("Failed to process schemas.", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
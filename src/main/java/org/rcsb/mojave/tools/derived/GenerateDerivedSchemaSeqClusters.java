@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 import org.rcsb.mojave.tools.jsonschema.traversal.JsonSchemaWalker;
+import org.rcsb.mojave.tools.jsonschema.traversal.algorithm.JsonSchemaTraversal;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.NamespaceVisitor;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.PropertiesFilterVisitor;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.Visitor;
@@ -50,9 +51,11 @@ public class GenerateDerivedSchemaSeqClusters {
                 .withPrefix("rcsb").withDelimiter("_");
         List<Visitor> visitors = asList(v1, v2);
 
+        // pre-order lets the visitors skip the properties that are filtered out and the levels below the root
         JsonSchemaWalker walker = new JsonSchemaWalker.Builder()
                 .fromInstance(schema)
                 .acceptingVisitors(visitors)
+                .withSchemaTraversalStrategy(JsonSchemaTraversal.Strategy.PRE_ORDER)
                 .build();
         walker.walk();
 
@@ -0,0 +1,146 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the records of a large XML document one element at a time: the document is pulled with StAX and each
+ * record element is unmarshalled alone, so that the memory needed does not depend on the size of the document.
+ * <p>
+ * The unmarshaller is acquired from a {@link JaxbPool} for the life of the reader. A reader is meant to be used by
+ * a single thread.
+ *
+ * Created on 10/17/26.
+ *
+ * @param <T> the class the record elements are bound to.
+ * @since 1.10.0
+ */
+public abstract class JaxbElementReader<T> implements Iterator<T>, Closeable {
+
+    private final InputStream in;
+    private final Class<T> type;
+    private final String namespace;
+    private final String localName;
+    private final JaxbPool pool;
+    private final Unmarshaller unmarshaller;
+    private final XMLStreamReader reader;
+    private T next;
+    private boolean closed;
+
+    /**
+     * @param in XML document, it is closed with the reader. DTDs and external entities are not processed.
+     * @param pool pool of the package of the records the unmarshaller is acquired from.
+     * @param type the class the record elements are bound to.
+     * @param namespace namespace of the record elements, empty for none.
+     * @param localName local name of the record elements.
+     * @throws IOException when the document cannot be read.
+     */
+    protected JaxbElementReader(InputStream in, JaxbPool pool, Class<T> type, String namespace, String localName)
+            throws IOException {
+        if (!type.getPackage().getName().equals(pool.getPackage().getPackageName()))
+            throw new IllegalArgumentException("Pool of " + type.getPackage().getName() + " package expected.");
+        this.in = in;
+        this.type = type;
+        this.namespace = namespace;
+        this.localName = localName;
+        this.pool = pool;
+        try {
+            this.unmarshaller = pool.acquireUnmarshaller();
+        } catch (JAXBException e) {
+            throw new IOException("Cannot create unmarshaller of " + type.getName(), e);
+        }
+        try {
+            this.reader = JaxbPool.inputFactory().createXMLStreamReader(in);
+        } catch (XMLStreamException e) {
+            pool.release(unmarshaller);
+            throw new IOException("Cannot read XML.", e);
+        }
+    }
+
+    /**
+     * @return the remaining records, closing the stream closes the reader.
+     */
+    public Stream<T> stream() {
+        Spliterator<T> records = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(records, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * @return the next record, null at the end of the document.
+     * @throws IOException when the XML cannot be read or a record cannot be unmarshalled.
+     */
+    public T read() throws IOException {
+        try {
+            while (!isRecord()) {
+                if (!reader.hasNext())
+                    return null;
+                reader.next();
+            }
+            // leaves the reader at the event that follows the record
+            return unmarshaller.unmarshal(reader, type).getValue();
+        } catch (XMLStreamException | JAXBException e) {
+            throw new IOException("Cannot read " + localName + " at " + reader.getLocation(), e);
+        }
+    }
+
+    private boolean isRecord() {
+        return reader.isStartElement()
+                && localName.equals(reader.getLocalName())
+                && namespace.equals(reader.getNamespaceURI() != null ? reader.getNamespaceURI() : "");
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        T record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            pool.release(unmarshaller);
+            in.close();
+        }
+    }
+}
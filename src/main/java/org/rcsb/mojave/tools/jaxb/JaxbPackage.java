@@ -0,0 +1,67 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+
+/**
+ * The packages of JAXB classes generated by xjc in this artifact. The JAXB context of a package is costly to create,
+ * it is created on first use and shared, as well as a {@link JaxbPool} of (un)marshallers without validation.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public enum JaxbPackage {
+
+    UNIPROT("org.rcsb.uniprot.auto"),
+    NCBI("org.rcsb.ncbi.auto"),
+    MESH("org.rcsb.mesh.auto");
+
+    private final String packageName;
+    private volatile JAXBContext context;
+    private volatile JaxbPool pool;
+
+    JaxbPackage(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * @return the JAXB context of the package.
+     * @throws IllegalStateException when the context cannot be created.
+     */
+    public JAXBContext getContext() {
+        JAXBContext c = context;
+        if (c == null) {
+            synchronized (this) {
+                c = context;
+                if (c == null) {
+                    try {
+                        context = c = JAXBContext.newInstance(packageName, JaxbPackage.class.getClassLoader());
+                    } catch (JAXBException e) {
+                        throw new IllegalStateException("Cannot create JAXB context of " + packageName, e);
+                    }
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * @return the shared pool of (un)marshallers of the package, without schema validation.
+     */
+    public JaxbPool getPool() {
+        JaxbPool p = pool;
+        if (p == null) {
+            synchronized (this) {
+                p = pool;
+                if (p == null)
+                    pool = p = new JaxbPool(this);
+            }
+        }
+        return p;
+    }
+}
@@ -0,0 +1,313 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe pool of the {@link Unmarshaller}s and {@link Marshaller}s of a {@link JaxbPackage}. They are not
+ * thread-safe and costly enough to create that they should be reused rather than created per document. An
+ * acquired instance is used by a single thread and released when done, it must be left configured as it was
+ * acquired. Up to a maximum number of released instances are kept for reuse.
+ * <p>
+ * With a schema, documents are validated while they are (un)marshalled. The NCBI schemas are bundled in
+ * {@code xsd-schemas/}, see {@link #newSchema(URL...)}.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class JaxbPool {
+
+    static final int DEFAULT_MAX_IDLE = 2 * Runtime.getRuntime().availableProcessors();
+
+    // factories are not guaranteed to be thread-safe, and are costly to look up for each document
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY =
+            ThreadLocal.withInitial(JaxbPool::createInputFactory);
+
+    private final JaxbPackage jaxbPackage;
+    private final Schema schema;
+    private final Pool<Unmarshaller> unmarshallers;
+    private final Pool<Marshaller> marshallers;
+
+    /**
+     * @param jaxbPackage package of the bound classes.
+     */
+    public JaxbPool(JaxbPackage jaxbPackage) {
+        this(jaxbPackage, null, DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * @param jaxbPackage package of the bound classes.
+     * @param schema schema documents are validated against, null for no validation.
+     * @param maxIdle maximum number of released instances of each kind kept for reuse.
+     */
+    public JaxbPool(JaxbPackage jaxbPackage, Schema schema, int maxIdle) {
+        if (maxIdle < 0)
+            throw new IllegalArgumentException("Maximum number of idle instances must not be negative.");
+        this.jaxbPackage = jaxbPackage;
+        this.schema = schema;
+        this.unmarshallers = new Pool<>(maxIdle, () -> {
+            Unmarshaller unmarshaller = jaxbPackage.getContext().createUnmarshaller();
+            unmarshaller.setSchema(schema);
+            return unmarshaller;
+        });
+        this.marshallers = new Pool<>(maxIdle, () -> {
+            Marshaller marshaller = jaxbPackage.getContext().createMarshaller();
+            marshaller.setSchema(schema);
+            return marshaller;
+        });
+    }
+
+    /**
+     * @param sources W3C XML schemas.
+     * @return the schema that can be passed to a pool for validation.
+     * @throws SAXException when a schema cannot be read.
+     */
+    public static Schema newSchema(URL... sources) throws SAXException {
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        Source[] schemas = new Source[sources.length];
+        for (int i = 0; i < sources.length; i++)
+            schemas[i] = new StreamSource(sources[i].toExternalForm());
+        return factory.newSchema(schemas);
+    }
+
+    /**
+     * @return a factory of readers that do not process DTDs and external entities, confined to the current thread.
+     */
+    static XMLInputFactory inputFactory() {
+        return INPUT_FACTORY.get();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+
+    public JaxbPackage getPackage() {
+        return jaxbPackage;
+    }
+
+    /**
+     * @return the schema documents are validated against, null when they are not.
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return an unmarshaller to be released with {@link #release(Unmarshaller)}.
+     * @throws JAXBException when an unmarshaller cannot be created.
+     */
+    public Unmarshaller acquireUnmarshaller() throws JAXBException {
+        return unmarshallers.acquire();
+    }
+
+    /**
+     * @param unmarshaller an unmarshaller acquired from this pool.
+     */
+    public void release(Unmarshaller unmarshaller) {
+        unmarshallers.release(unmarshaller);
+    }
+
+    /**
+     * @return a marshaller to be released with {@link #release(Marshaller)}.
+     * @throws JAXBException when a marshaller cannot be created.
+     */
+    public Marshaller acquireMarshaller() throws JAXBException {
+        return marshallers.acquire();
+    }
+
+    /**
+     * @param marshaller a marshaller acquired from this pool.
+     */
+    public void release(Marshaller marshaller) {
+        marshallers.release(marshaller);
+    }
+
+    /**
+     * @param in XML document, DTDs and external entities are not processed.
+     * @param type the class the root element is bound to.
+     * @return the unmarshalled root element.
+     * @throws IOException when the document cannot be read or is not valid.
+     */
+    public <T> T unmarshal(InputStream in, Class<T> type) throws IOException {
+        Unmarshaller unmarshaller = null;
+        XMLStreamReader reader = null;
+        try {
+            unmarshaller = acquireUnmarshaller();
+            reader = inputFactory().createXMLStreamReader(in);
+            return unmarshaller.unmarshal(reader, type).getValue();
+        } catch (JAXBException | XMLStreamException e) {
+            throw new IOException("Cannot unmarshal " + type.getName(), e);
+        } finally {
+            if (unmarshaller != null)
+                release(unmarshaller);
+            if (reader != null)
+                closeQuietly(reader);
+        }
+    }
+
+    /**
+     * @param value the bound object to be written.
+     * @param out the output, left open.
+     * @throws IOException when the object cannot be marshalled or is not valid.
+     */
+    public void marshal(Object value, OutputStream out) throws IOException {
+        Marshaller marshaller = null;
+        try {
+            marshaller = acquireMarshaller();
+            marshaller.marshal(value, out);
+        } catch (JAXBException e) {
+            throw new IOException("Cannot marshal " + value.getClass().getName(), e);
+        } finally {
+            if (marshaller != null)
+                release(marshaller);
+        }
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        try {
+            reader.close();
+        } catch (XMLStreamException ignored) {
+            // the reader does not own the input
+        }
+    }
+
+    public Metrics getUnmarshallerMetrics() {
+        return unmarshallers.metrics();
+    }
+
+    public Metrics getMarshallerMetrics() {
+        return marshallers.metrics();
+    }
+
+    /**
+     * Usage of the instances of a pool, at the time it is taken.
+     */
+    public static final class Metrics {
+
+        private final long created;
+        private final long acquired;
+        private final long released;
+        private final long discarded;
+        private final int idle;
+
+        private Metrics(long created, long acquired, long released, long discarded, int idle) {
+            this.created = created;
+            this.acquired = acquired;
+            this.released = released;
+            this.discarded = discarded;
+            this.idle = idle;
+        }
+
+        /**
+         * @return the number of instances created because none was idle.
+         */
+        public long getCreated() {
+            return created;
+        }
+
+        public long getAcquired() {
+            return acquired;
+        }
+
+        public long getReleased() {
+            return released;
+        }
+
+        /**
+         * @return the number of released instances dropped because the maximum of idle instances was reached.
+         */
+        public long getDiscarded() {
+            return discarded;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        /**
+         * @return the number of instances acquired and not released yet.
+         */
+        public long getInUse() {
+            return acquired - released;
+        }
+
+        @Override
+        public String toString() {
+            return "created=" + created + ", acquired=" + acquired + ", released=" + released
+                    + ", discarded=" + discarded + ", idle=" + idle;
+        }
+    }
+
+    private interface Factory<T> {
+        T create() throws JAXBException;
+    }
+
+    private static final class Pool<T> {
+
+        private final int maxIdle;
+        private final Factory<T> factory;
+        private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+        // the size of the queue is not constant time
+        private final AtomicInteger idleCount = new AtomicInteger();
+        private final LongAdder created = new LongAdder();
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder released = new LongAdder();
+        private final LongAdder discarded = new LongAdder();
+
+        private Pool(int maxIdle, Factory<T> factory) {
+            this.maxIdle = maxIdle;
+            this.factory = factory;
+        }
+
+        T acquire() throws JAXBException {
+            T instance = idle.poll();
+            if (instance != null) {
+                idleCount.decrementAndGet();
+            } else {
+                instance = factory.create();
+                created.increment();
+            }
+            acquired.increment();
+            return instance;
+        }
+
+        void release(T instance) {
+            released.increment();
+            if (idleCount.incrementAndGet() > maxIdle) {
+                idleCount.decrementAndGet();
+                discarded.increment();
+                return;
+            }
+            idle.offer(instance);
+        }
+
+        Metrics metrics() {
+            return new Metrics(created.sum(), acquired.sum(), released.sum(), discarded.sum(), idleCount.get());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import org.rcsb.mesh.auto.DescriptorRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+/**
+ * Reads a MeSH descriptor file (e.g. {@code desc2024.xml}) one {@code <DescriptorRecord>} at a time into
+ * {@link DescriptorRecord}, the memory needed does not depend on the size of the file. The DOCTYPE declaration of
+ * the file is skipped, the DTD is not loaded.
+ * <p>
+ * For random access to records by DescriptorUI or TreeNumber see {@link MeshIndex}.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class MeshDescriptorReader extends JaxbElementReader<DescriptorRecord> {
+
+    static final String DESCRIPTOR_RECORD = "DescriptorRecord";
+
+    /**
+     * @param in MeSH descriptor XML, it is closed with the reader.
+     * @throws IOException when the XML cannot be read.
+     */
+    public MeshDescriptorReader(InputStream in) throws IOException {
+        this(in, JaxbPackage.MESH.getPool());
+    }
+
+    /**
+     * @param in MeSH descriptor XML, it is closed with the reader.
+     * @param pool pool of the MeSH package the unmarshaller of the reader is acquired from, it is released when the
+     *             reader is closed.
+     * @throws IOException when the XML cannot be read.
+     */
+    public MeshDescriptorReader(InputStream in, JaxbPool pool) throws IOException {
+        super(in, pool, DescriptorRecord.class, "", DESCRIPTOR_RECORD);
+    }
+
+    /**
+     * @param in MeSH descriptor XML.
+     * @return the records, closing the stream closes the input.
+     * @throws IOException when the XML cannot be read.
+     */
+    public static Stream<DescriptorRecord> stream(InputStream in) throws IOException {
+        return new MeshDescriptorReader(in).stream();
+    }
+}
@@ -0,0 +1,390 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import org.rcsb.mesh.auto.DescriptorRecord;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Index of a MeSH descriptor file by DescriptorUI and TreeNumber. The file is memory-mapped, the index keeps the
+ * offset of each record in the file and the UIs and tree numbers packed in sorted primitive arrays: lookups are
+ * binary searches, and a record is unmarshalled from the file only when it is asked for. The records of a subtree
+ * are found as the range of tree numbers that start with the tree number of its root.
+ * <p>
+ * The index is immutable and thread-safe. The file must be encoded in UTF-8, as the MeSH files are, and must not be
+ * modified while it is indexed.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public final class MeshIndex {
+
+    private static final byte[] RECORD_START = bytes("<" + MeshDescriptorReader.DESCRIPTOR_RECORD);
+    private static final byte[] RECORD_END = bytes("</" + MeshDescriptorReader.DESCRIPTOR_RECORD + ">");
+    private static final byte[] UI_START = bytes("<DescriptorUI>");
+    private static final byte[] UI_END = bytes("</DescriptorUI>");
+    private static final byte[] TREE_NUMBER_START = bytes("<TreeNumber>");
+    private static final byte[] TREE_NUMBER_END = bytes("</TreeNumber>");
+
+    private final ByteBuffer data;
+    private final JaxbPool pool;
+    // position and length of the records in the file, in the order of the file
+    private final int[] offsets;
+    private final int[] lengths;
+    private final PackedStrings descriptorUIs;
+    // record of each UI, and position of the UI of each record
+    private final int[] uiRecords;
+    private final int[] recordUIs;
+    private final PackedStrings treeNumbers;
+    // record of each tree number
+    private final int[] treeNumberRecords;
+    // tree numbers of record r are at recordTreeNumbers[recordTreeNumberStarts[r]] until the start of record r + 1
+    private final int[] recordTreeNumberStarts;
+    private final int[] recordTreeNumbers;
+
+    private MeshIndex(ByteBuffer data, JaxbPool pool, int[] offsets, int[] lengths, List<byte[]> uis,
+                      List<List<byte[]>> recordTrees) throws IOException {
+        this.data = data;
+        this.pool = pool;
+        this.offsets = offsets;
+        this.lengths = lengths;
+
+        int[] uiOrder = sort(uis);
+        this.descriptorUIs = new PackedStrings(uis, uiOrder, "DescriptorUI");
+        this.uiRecords = uiOrder;
+        this.recordUIs = invert(uiOrder);
+
+        List<byte[]> trees = new ArrayList<>();
+        int[] treeRecords = new int[recordTrees.stream().mapToInt(List::size).sum()];
+        this.recordTreeNumberStarts = new int[offsets.length + 1];
+        for (int r = 0; r < recordTrees.size(); r++) {
+            recordTreeNumberStarts[r] = trees.size();
+            for (byte[] tree : recordTrees.get(r)) {
+                treeRecords[trees.size()] = r;
+                trees.add(tree);
+            }
+        }
+        recordTreeNumberStarts[offsets.length] = trees.size();
+
+        int[] treeOrder = sort(trees);
+        this.treeNumbers = new PackedStrings(trees, treeOrder, "TreeNumber");
+        this.treeNumberRecords = new int[treeOrder.length];
+        for (int i = 0; i < treeOrder.length; i++)
+            treeNumberRecords[i] = treeRecords[treeOrder[i]];
+        // the tree numbers of a record stay in the order of the file
+        this.recordTreeNumbers = invert(treeOrder);
+    }
+
+    /**
+     * Indexes a MeSH descriptor file, records are unmarshalled with the shared pool of the MeSH package.
+     * @param path MeSH descriptor XML (e.g. {@code desc2024.xml}), up to 2GB.
+     * @return the index of the file.
+     * @throws IOException when the file cannot be read, or a record has no DescriptorUI or a UI or tree number is
+     * found twice.
+     */
+    public static MeshIndex build(Path path) throws IOException {
+        return build(path, JaxbPackage.MESH.getPool());
+    }
+
+    /**
+     * @param path MeSH descriptor XML (e.g. {@code desc2024.xml}), up to 2GB.
+     * @param pool pool of the MeSH package records are unmarshalled with.
+     * @return the index of the file.
+     * @throws IOException when the file cannot be read, or a record has no DescriptorUI or a UI or tree number is
+     * found twice.
+     */
+    public static MeshIndex build(Path path, JaxbPool pool) throws IOException {
+        if (pool.getPackage() != JaxbPackage.MESH)
+            throw new IllegalArgumentException("Pool of " + JaxbPackage.MESH.getPackageName() + " package expected.");
+
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Cannot index " + path + " larger than 2GB.");
+            // the mapping stays valid once the channel is closed
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        List<Integer> offsets = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<byte[]> uis = new ArrayList<>();
+        List<List<byte[]>> trees = new ArrayList<>();
+        int limit = data.limit();
+        int position = 0;
+        int start;
+        while ((start = indexOf(data, RECORD_START, position, limit)) >= 0) {
+            int content = start + RECORD_START.length;
+            // skips <DescriptorRecordSet
+            if (content >= limit || !isDelimiter(data.get(content))) {
+                position = content;
+                continue;
+            }
+            int end = indexOf(data, RECORD_END, content, limit);
+            if (end < 0)
+                throw new IOException("Truncated " + MeshDescriptorReader.DESCRIPTOR_RECORD + " at byte " + start);
+            end += RECORD_END.length;
+
+            // the UI of the record comes first, those of the descriptors it refers to follow
+            List<byte[]> values = textOf(data, UI_START, UI_END, content, end, 1);
+            if (values.isEmpty())
+                throw new IOException("No DescriptorUI in " + MeshDescriptorReader.DESCRIPTOR_RECORD + " at byte "
+                        + start);
+            offsets.add(start);
+            lengths.add(end - start);
+            uis.add(values.get(0));
+            trees.add(textOf(data, TREE_NUMBER_START, TREE_NUMBER_END, content, end, Integer.MAX_VALUE));
+            position = end;
+        }
+
+        return new MeshIndex(data, pool, toArray(offsets), toArray(lengths), uis, trees);
+    }
+
+    /**
+     * @return the number of records.
+     */
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * @param descriptorUI UI of a descriptor, e.g. D000001.
+     * @return the record of the descriptor, null when there is none.
+     * @throws IOException when the record cannot be unmarshalled.
+     */
+    public DescriptorRecord getRecord(String descriptorUI) throws IOException {
+        int record = recordOf(descriptorUI);
+        if (record < 0)
+            return null;
+        byte[] bytes = new byte[lengths[record]];
+        // a view per call, the position of the buffer is not shared between threads
+        data.duplicate().position(offsets[record]).get(bytes);
+        return pool.unmarshal(new ByteArrayInputStream(bytes), DescriptorRecord.class);
+    }
+
+    /**
+     * @param descriptorUI UI of a descriptor.
+     * @return the tree numbers of the descriptor in the order of the file, empty when there is none.
+     */
+    public List<String> getTreeNumbers(String descriptorUI) {
+        int record = recordOf(descriptorUI);
+        if (record < 0)
+            return Collections.emptyList();
+        List<String> found = new ArrayList<>();
+        for (int i = recordTreeNumberStarts[record]; i < recordTreeNumberStarts[record + 1]; i++)
+            found.add(treeNumbers.get(recordTreeNumbers[i]));
+        return found;
+    }
+
+    /**
+     * @param treeNumber a tree number, e.g. A01.378.
+     * @return the UI of the descriptor at the tree number, null when there is none.
+     */
+    public String getDescriptorUI(String treeNumber) {
+        byte[] key = bytes(treeNumber);
+        int i = treeNumbers.find(key, key.length);
+        return i < 0 ? null : descriptorUIs.get(recordUIs[treeNumberRecords[i]]);
+    }
+
+    /**
+     * @param descriptorUI UI of a descriptor.
+     * @return the UIs of the descriptors above the descriptor in any of its trees, from the root of each tree
+     * down, without duplicates. Empty when there is none or the descriptor is not found.
+     */
+    public List<String> getAncestors(String descriptorUI) {
+        int record = recordOf(descriptorUI);
+        if (record < 0)
+            return Collections.emptyList();
+        Set<String> found = new LinkedHashSet<>();
+        for (int i = recordTreeNumberStarts[record]; i < recordTreeNumberStarts[record + 1]; i++) {
+            byte[] treeNumber = treeNumbers.bytesOf(recordTreeNumbers[i]);
+            for (int length = 0; length < treeNumber.length; length++) {
+                if (treeNumber[length] != '.')
+                    continue;
+                int ancestor = treeNumbers.find(treeNumber, length);
+                if (ancestor >= 0)
+                    found.add(descriptorUIs.get(recordUIs[treeNumberRecords[ancestor]]));
+            }
+        }
+        found.remove(descriptorUI);
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * @param descriptorUI UI of a descriptor.
+     * @return the UIs of the descriptors below the descriptor in any of its trees, in the order of their tree
+     * numbers, without duplicates. Empty when there is none or the descriptor is not found.
+     */
+    public List<String> getDescendants(String descriptorUI) {
+        int record = recordOf(descriptorUI);
+        if (record < 0)
+            return Collections.emptyList();
+        Set<String> found = new LinkedHashSet<>();
+        for (int i = recordTreeNumberStarts[record]; i < recordTreeNumberStarts[record + 1]; i++) {
+            byte[] treeNumber = treeNumbers.bytesOf(recordTreeNumbers[i]);
+            byte[] prefix = Arrays.copyOf(treeNumber, treeNumber.length + 1);
+            prefix[treeNumber.length] = '.';
+            // the subtree is the range of the tree numbers that start with the prefix, from where it would be
+            int first = treeNumbers.find(prefix, prefix.length);
+            for (int j = first < 0 ? -first - 1 : first; j < treeNumbers.size() && treeNumbers.startsWith(j, prefix); j++)
+                found.add(descriptorUIs.get(recordUIs[treeNumberRecords[j]]));
+        }
+        found.remove(descriptorUI);
+        return new ArrayList<>(found);
+    }
+
+    private int recordOf(String descriptorUI) {
+        byte[] key = bytes(descriptorUI);
+        int i = descriptorUIs.find(key, key.length);
+        return i < 0 ? -1 : uiRecords[i];
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int indexOf(ByteBuffer data, byte[] bytes, int from, int to) {
+        int last = to - bytes.length;
+        for (int i = from; i <= last; i++) {
+            if (data.get(i) == bytes[0] && startsWith(data, i, bytes))
+                return i;
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(ByteBuffer data, int position, byte[] bytes) {
+        for (int i = 1; i < bytes.length; i++) {
+            if (data.get(position + i) != bytes[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the trimmed text of up to max elements between the given tags, found in the given range.
+     */
+    private static List<byte[]> textOf(ByteBuffer data, byte[] startTag, byte[] endTag, int from, int to, int max)
+            throws IOException {
+        List<byte[]> values = new ArrayList<>();
+        int start;
+        while (values.size() < max && (start = indexOf(data, startTag, from, to)) >= 0) {
+            start += startTag.length;
+            int end = indexOf(data, endTag, start, to);
+            if (end < 0)
+                throw new IOException("Unterminated element at byte " + start);
+            from = end + endTag.length;
+            while (start < end && isWhitespace(data.get(start)))
+                start++;
+            while (end > start && isWhitespace(data.get(end - 1)))
+                end--;
+            byte[] value = new byte[end - start];
+            data.duplicate().position(start).get(value);
+            values.add(value);
+        }
+        return values;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == '>' || isWhitespace(b);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return the positions of the values in the order of the values.
+     */
+    private static int[] sort(List<byte[]> values) {
+        return IntStream.range(0, values.size()).boxed()
+                .sorted((a, b) -> Arrays.compareUnsigned(values.get(a), values.get(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int[] invert(int[] order) {
+        int[] inverse = new int[order.length];
+        for (int i = 0; i < order.length; i++)
+            inverse[order[i]] = i;
+        return inverse;
+    }
+
+    /**
+     * Sorted strings stored end to end in a single array.
+     */
+    private static final class PackedStrings {
+
+        private final byte[] bytes;
+        // string i is from starts[i] until starts[i + 1]
+        private final int[] starts;
+
+        private PackedStrings(List<byte[]> values, int[] order, String name) throws IOException {
+            this.starts = new int[order.length + 1];
+            this.bytes = new byte[values.stream().mapToInt(v -> v.length).sum()];
+            int position = 0;
+            for (int i = 0; i < order.length; i++) {
+                byte[] value = values.get(order[i]);
+                if (i > 0 && Arrays.equals(value, values.get(order[i - 1])))
+                    throw new IOException("Duplicate " + name + " " + new String(value, StandardCharsets.UTF_8));
+                starts[i] = position;
+                System.arraycopy(value, 0, bytes, position, value.length);
+                position += value.length;
+            }
+            starts[order.length] = position;
+        }
+
+        int size() {
+            return starts.length - 1;
+        }
+
+        String get(int i) {
+            return new String(bytes, starts[i], starts[i + 1] - starts[i], StandardCharsets.UTF_8);
+        }
+
+        byte[] bytesOf(int i) {
+            return Arrays.copyOfRange(bytes, starts[i], starts[i + 1]);
+        }
+
+        boolean startsWith(int i, byte[] prefix) {
+            int length = starts[i + 1] - starts[i];
+            return length >= prefix.length
+                    && Arrays.equals(bytes, starts[i], starts[i] + prefix.length, prefix, 0, prefix.length);
+        }
+
+        /**
+         * @return the position of the first length bytes of the key, or (-(insertion point) - 1) as
+         * {@link Arrays#binarySearch(int[], int)} when it is not found.
+         */
+        int find(byte[] key, int length) {
+            int low = 0;
+            int high = size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int c = Arrays.compareUnsigned(bytes, starts[mid], starts[mid + 1], key, 0, length);
+                if (c < 0)
+                    low = mid + 1;
+                else if (c > 0)
+                    high = mid - 1;
+                else
+                    return mid;
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import org.rcsb.uniprot.auto.Entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads UniProtKB XML on several threads. The input is split into chunks of whole {@code <entry>} elements by
+ * scanning the bytes for entry start tags, local files are memory-mapped. Each chunk is parsed by a worker as
+ * a document made of the root start tag of the input, the entries of the chunk and the root end tag, with an
+ * unmarshaller the worker acquires from a {@link JaxbPool} for the chunk.
+ * <p>
+ * Entries are returned in the order of the input, or in the order chunks are parsed when the order need not be
+ * preserved. The number of chunks being parsed or waiting to be consumed is bounded by the queue size, so the
+ * input is not read faster than the entries are consumed. Entries in CDATA sections or comments are not supported,
+ * as in UniProtKB files.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class ParallelUniProtReader implements Iterator<Entry>, Closeable {
+
+    static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+
+    private static final byte[] ENTRY_START = ("<" + UniProtEntryReader.ENTRY).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ENTRY_END =
+            ("</" + UniProtEntryReader.ENTRY + ">").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ROOT_END = "</uniprot>".getBytes(StandardCharsets.US_ASCII);
+
+    private final InputStream in;
+    private final int chunkSize;
+    private final boolean ordered;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final BlockingQueue<Future<List<Entry>>> output = new LinkedBlockingQueue<>();
+    private final JaxbPool pool;
+    private final Thread splitter;
+
+    private Iterator<Entry> batch = Collections.emptyIterator();
+    private long taken;
+    private End end;
+
+    private ParallelUniProtReader(InputStream in, JaxbPool pool, int workers, int queueSize, int chunkSize,
+                                  boolean ordered) {
+        this.in = in;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.ordered = ordered;
+        this.permits = new Semaphore(queueSize);
+        this.executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "uniprot-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.splitter = new Thread(this::split, "uniprot-splitter");
+        this.splitter.setDaemon(true);
+        this.splitter.start();
+    }
+
+    public static class Builder {
+
+        private Path path;
+        private InputStream in;
+        private int workers = Runtime.getRuntime().availableProcessors();
+        private int queueSize;
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private boolean ordered = true;
+        private JaxbPool pool;
+
+        public Builder() {}
+
+        /**
+         * @param path local file, it is memory-mapped.
+         */
+        public Builder fromFile(Path path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * @param in input stream, it is closed with the reader.
+         */
+        public Builder fromStream(InputStream in) {
+            this.in = in;
+            return this;
+        }
+
+        public Builder withWorkers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * @param queueSize maximum number of chunks being parsed or waiting to be consumed, twice the number of
+         *                  workers by default.
+         */
+        public Builder withQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        /**
+         * @param chunkSize minimum size of a chunk in bytes, the last one excepted.
+         */
+        public Builder withChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * @param flag false to return the entries as soon as their chunk is parsed.
+         */
+        public Builder withOrderPreserved(boolean flag) {
+            this.ordered = flag;
+            return this;
+        }
+
+        /**
+         * @param pool pool of the UniProt package the workers acquire unmarshallers from, the shared one by default.
+         */
+        public Builder withPool(JaxbPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        public ParallelUniProtReader build() throws IOException {
+
+            if ((path == null) == (in == null))
+                throw new IllegalStateException("Either a file or an input stream MUST be provided to the reader.");
+            if (workers < 1 || chunkSize < 1 || queueSize < 0)
+                throw new IllegalArgumentException("Workers and chunk size must be positive.");
+
+            if (pool != null && pool.getPackage() != JaxbPackage.UNIPROT)
+                throw new IllegalArgumentException("Pool of " + JaxbPackage.UNIPROT + " package expected.");
+
+            InputStream input = path != null ? new MappedInputStream(path) : in;
+            return new ParallelUniProtReader(input, pool != null ? pool : JaxbPackage.UNIPROT.getPool(), workers,
+                    queueSize > 0 ? queueSize : 2 * workers, chunkSize, ordered);
+        }
+    }
+
+    /**
+     * Marks the end of the chunks, with the error that stopped the splitting if any.
+     */
+    private static final class End extends FutureTask<List<Entry>> {
+
+        private final long chunks;
+
+        private End(long chunks, Throwable error) {
+            super(Collections::emptyList);
+            this.chunks = chunks;
+            if (error != null)
+                setException(error);
+            else
+                run();
+        }
+    }
+
+    /**
+     * Parsing of a chunk, queued once done when the order need not be preserved.
+     */
+    private final class Chunk extends FutureTask<List<Entry>> {
+
+        private Chunk(Callable<List<Entry>> callable) {
+            super(callable);
+        }
+
+        @Override
+        protected void done() {
+            if (!ordered)
+                output.add(this);
+        }
+    }
+
+    private void split() {
+        long chunks = 0;
+        Throwable error = null;
+        try (InputStream input = in) {
+            Splitter chunker = new Splitter(input, chunkSize);
+            byte[] header = chunker.header();
+            for (byte[] bytes = header != null ? chunker.next() : null; bytes != null; bytes = chunker.next()) {
+                permits.acquire();
+                byte[] body = bytes;
+                Chunk chunk = new Chunk(() -> parse(header, body));
+                if (ordered)
+                    output.add(chunk);
+                executor.execute(chunk);
+                chunks++;
+            }
+        } catch (Throwable e) {
+            // errors too, e.g. OutOfMemoryError, the consumer would wait for the end forever otherwise
+            error = e;
+        } finally {
+            output.add(new End(chunks, error));
+        }
+    }
+
+    private List<Entry> parse(byte[] header, byte[] body) throws IOException {
+
+        InputStream document = new SequenceInputStream(Collections.enumeration(Arrays.asList(
+                new ByteArrayInputStream(header), new ByteArrayInputStream(body), new ByteArrayInputStream(ROOT_END))));
+        List<Entry> entries = new ArrayList<>();
+        try (UniProtEntryReader reader = new UniProtEntryReader(document, pool)) {
+            for (Entry entry = reader.read(); entry != null; entry = reader.read())
+                entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * @return the remaining entries, closing the stream closes the reader.
+     */
+    public Stream<Entry> stream() {
+        Spliterator<Entry> entries = Spliterators.spliteratorUnknownSize(this,
+                (ordered ? Spliterator.ORDERED : 0) | Spliterator.NONNULL);
+        return StreamSupport.stream(entries, false).onClose(this::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (!batch.hasNext()) {
+                if (end != null && taken == end.chunks)
+                    return false;
+
+                Future<List<Entry>> future = output.take();
+                if (future instanceof End) {
+                    end = (End) future;
+                    // no more chunks are submitted, the workers exit once the queued ones are parsed
+                    executor.shutdown();
+                    future.get();
+                    continue;
+                }
+                taken++;
+                permits.release();
+                batch = future.get().iterator();
+            }
+            return true;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Reading of UniProt entries was interrupted."));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new UncheckedIOException(cause instanceof IOException
+                    ? (IOException) cause : new IOException("Cannot read UniProt entries.", cause));
+        }
+    }
+
+    @Override
+    public Entry next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        return batch.next();
+    }
+
+    /**
+     * Stops the reading, the remaining entries are discarded.
+     */
+    @Override
+    public void close() {
+        splitter.interrupt();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Splits UniProtKB XML into the bytes before the first entry and chunks of whole entries.
+     */
+    private static final class Splitter {
+
+        private static final int READ_SIZE = 1 << 16;
+
+        private final InputStream in;
+        private final int chunkSize;
+        private byte[] buffer;
+        private int length;
+        private boolean eof;
+
+        private Splitter(InputStream in, int chunkSize) {
+            this.in = in;
+            this.chunkSize = chunkSize;
+            this.buffer = new byte[Math.max(READ_SIZE, chunkSize + READ_SIZE)];
+        }
+
+        /**
+         * @return the bytes before the first entry, null when there are no entries.
+         */
+        byte[] header() throws IOException {
+            int from = 0;
+            while (true) {
+                int start = find(from);
+                if (start >= 0)
+                    return take(start);
+                if (eof)
+                    return null;
+                from = Math.max(0, length - ENTRY_START.length);
+                fill();
+            }
+        }
+
+        /**
+         * @return the next chunk starting with an entry, null after the last one.
+         */
+        byte[] next() throws IOException {
+            int from = Math.max(1, chunkSize);
+            while (true) {
+                if (length > from) {
+                    int start = find(from);
+                    if (start >= 0)
+                        return take(start);
+                    from = Math.max(from, length - ENTRY_START.length);
+                }
+                if (eof) {
+                    if (length == 0)
+                        return null;
+                    // the last chunk ends with the last entry, the end of the document is left out.
+                    // A truncated entry is kept for the parser to report it
+                    int end = lastIndexOf(ENTRY_END);
+                    boolean truncated = end < 0 || lastIndexOf(ENTRY_START) > end;
+                    byte[] chunk = take(truncated ? length : end + ENTRY_END.length);
+                    length = 0;
+                    return chunk;
+                }
+                fill();
+            }
+        }
+
+        private void fill() throws IOException {
+            if (buffer.length - length < READ_SIZE)
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            int n = in.read(buffer, length, buffer.length - length);
+            if (n < 0)
+                eof = true;
+            else
+                length += n;
+        }
+
+        private byte[] take(int end) {
+            byte[] chunk = Arrays.copyOf(buffer, end);
+            System.arraycopy(buffer, end, buffer, 0, length - end);
+            length -= end;
+            return chunk;
+        }
+
+        /**
+         * @return the position of the first entry start tag at or after the given position, -1 when there is none
+         * in the buffer.
+         */
+        private int find(int from) {
+            int last = length - ENTRY_START.length;
+            for (int i = from; i < last; i++) {
+                if (buffer[i] == '<' && startsWith(i, ENTRY_START) && isDelimiter(buffer[i + ENTRY_START.length]))
+                    return i;
+            }
+            return -1;
+        }
+
+        private int lastIndexOf(byte[] bytes) {
+            for (int i = length - bytes.length; i >= 0; i--) {
+                if (startsWith(i, bytes))
+                    return i;
+            }
+            return -1;
+        }
+
+        private boolean startsWith(int position, byte[] bytes) {
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer[position + i] != bytes[i])
+                    return false;
+            }
+            return true;
+        }
+
+        private static boolean isDelimiter(byte b) {
+            return b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\n' || b == '\r';
+        }
+    }
+
+    /**
+     * Reads a file through read-only memory mappings of consecutive regions.
+     */
+    private static final class MappedInputStream extends InputStream {
+
+        private static final long REGION_SIZE = 1L << 30;
+
+        private final FileChannel channel;
+        private final long size;
+        private long position;
+        private MappedByteBuffer region;
+
+        private MappedInputStream(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            size = channel.size();
+        }
+
+        private boolean nextRegion() throws IOException {
+            if (region != null && region.hasRemaining())
+                return true;
+            if (position >= size)
+                return false;
+            long length = Math.min(REGION_SIZE, size - position);
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            position += length;
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return nextRegion() ? region.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+            if (!nextRegion())
+                return -1;
+            int n = Math.min(len, region.remaining());
+            region.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            region = null;
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import org.rcsb.uniprot.auto.Entry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+/**
+ * Reads UniProtKB XML one {@code <entry>} at a time: the document is pulled with StAX and each entry element
+ * is unmarshalled alone into {@link Entry}, so that the memory needed does not depend on the size of the file.
+ * <p>
+ * The JAXB context is shared (see {@link JaxbPackage}), the unmarshaller is acquired from a {@link JaxbPool} for
+ * the life of the reader. A reader is meant to be used by a single thread.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class UniProtEntryReader extends JaxbElementReader<Entry> {
+
+    static final String NAMESPACE = "http://uniprot.org/uniprot";
+    static final String ENTRY = "entry";
+
+    /**
+     * @param in UniProtKB XML, it is closed with the reader.
+     * @throws IOException when the XML cannot be read.
+     */
+    public UniProtEntryReader(InputStream in) throws IOException {
+        this(in, JaxbPackage.UNIPROT.getPool());
+    }
+
+    /**
+     * @param in UniProtKB XML, it is closed with the reader.
+     * @param pool pool of the UniProt package the unmarshaller of the reader is acquired from, it is released
+     *             when the reader is closed.
+     * @throws IOException when the XML cannot be read.
+     */
+    public UniProtEntryReader(InputStream in, JaxbPool pool) throws IOException {
+        super(in, pool, Entry.class, NAMESPACE, ENTRY);
+    }
+
+    /**
+     * @param in UniProtKB XML.
+     * @return the entries, closing the stream closes the input.
+     * @throws IOException when the XML cannot be read.
+     */
+    public static Stream<Entry> stream(InputStream in) throws IOException {
+        return new UniProtEntryReader(in).stream();
+    }
+}
@@ -0,0 +1,366 @@
+package org.rcsb.mojave.tools.jsonschema;
+
+import org.rcsb.mojave.tools.utils.CommonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>
+ *   Fetches schema documents over HTTP(S) for {@link SchemaLoader}. A single {@link HttpClient} is used, so
+ *   connections to a host are kept alive and reused, and {@link #fetchAll(Collection)} sends the requests for
+ *   independent documents concurrently, up to a bounded number at a time.
+ * </p>
+ *
+ * <p>
+ *   With a cache directory, each fetched document is stored on disk with its {@code ETag} and {@code Last-Modified}
+ *   headers. Later fetches, also from other processes, send a conditional request and read the stored document when
+ *   the server answers {@code 304 Not Modified}, or when the server cannot be reached. In offline mode no request is
+ *   sent at all: documents are read from the cache directory and a document that is not cached fails to load.
+ * </p>
+ *
+ * <p>
+ *   {@link #getDefault()} is configured by the {@value #CACHE_DIRECTORY_PROPERTY} and {@value #OFFLINE_PROPERTY}
+ *   system properties, so that the command line tools can share a cache between builds, e.g.
+ *   {@code -Dmojave.http.cache=$HOME/.cache/mojave -Dmojave.http.offline=true}.
+ * </p>
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class HttpSchemaFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpSchemaFetcher.class);
+
+    public static final String CACHE_DIRECTORY_PROPERTY = "mojave.http.cache";
+    public static final String OFFLINE_PROPERTY = "mojave.http.offline";
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+    private static final String CACHE_EXTENSION = ".entry";
+    private static final int CACHE_VERSION = 1;
+
+    private final HttpClient client;
+    private final File cacheDirectory;
+    private final boolean offline;
+    private final Duration timeout;
+    private final Semaphore permits;
+
+    public static class Builder {
+
+        private File cacheDirectory;
+        private boolean offline;
+        private Duration timeout = DEFAULT_TIMEOUT;
+        private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+
+        public Builder() {}
+
+        /**
+         * @param directory directory where fetched documents are kept between runs, created when needed.
+         */
+        public Builder withCacheDirectory(File directory) {
+            cacheDirectory = directory;
+            return this;
+        }
+
+        /**
+         * @param flag if true, documents are only read from the cache directory, no request is sent.
+         */
+        public Builder withOffline(boolean flag) {
+            offline = flag;
+            return this;
+        }
+
+        /**
+         * @param timeout timeout of connecting and of each request, {@link #DEFAULT_TIMEOUT} by default.
+         */
+        public Builder withTimeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param count maximum number of requests in flight, {@link #DEFAULT_MAX_CONCURRENT_REQUESTS} by default.
+         */
+        public Builder withMaxConcurrentRequests(int count) {
+            maxConcurrentRequests = count;
+            return this;
+        }
+
+        public HttpSchemaFetcher build() {
+
+            if (offline && cacheDirectory == null)
+                throw new IllegalStateException("Cache directory MUST be provided in offline mode.");
+            if (maxConcurrentRequests < 1)
+                throw new IllegalStateException("Maximum number of concurrent requests MUST be positive.");
+
+            return new HttpSchemaFetcher(cacheDirectory, offline, timeout, maxConcurrentRequests);
+        }
+    }
+
+    private HttpSchemaFetcher(File cacheDirectory, boolean offline, Duration timeout, int maxConcurrentRequests) {
+        this.cacheDirectory = cacheDirectory;
+        this.offline = offline;
+        this.timeout = timeout;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    private static final class DefaultHolder {
+
+        private static final HttpSchemaFetcher INSTANCE = create();
+
+        private static HttpSchemaFetcher create() {
+            String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+            return new Builder()
+                    .withCacheDirectory(directory != null ? new File(directory) : null)
+                    .withOffline(Boolean.getBoolean(OFFLINE_PROPERTY))
+                    .build();
+        }
+    }
+
+    /**
+     * @return the fetcher shared by the loaders that are not given one, configured by system properties.
+     */
+    public static HttpSchemaFetcher getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    /**
+     * @param uri HTTP(S) location of a document, a fragment (if any) is ignored.
+     * @return the content of the document.
+     * @throws IOException when the document cannot be fetched, nor read from the cache.
+     */
+    public byte[] fetch(URI uri) throws IOException {
+        return fetchAll(Collections.singletonList(uri)).get(uri);
+    }
+
+    /**
+     * Fetches documents concurrently.
+     *
+     * @param uris HTTP(S) locations of documents, fragments (if any) are ignored.
+     * @return the content of each document, keyed by the given locations in their order.
+     * @throws IOException when a document cannot be fetched, nor read from the cache.
+     */
+    public Map<URI, byte[]> fetchAll(Collection<URI> uris) throws IOException {
+
+        Map<URI, CompletableFuture<byte[]>> futures = new LinkedHashMap<>();
+        try {
+            for (URI uri : uris)
+                futures.put(uri, fetchAsync(withoutFragment(uri)));
+        } catch (IOException | RuntimeException e) {
+            futures.values().forEach(f -> f.cancel(true));
+            throw e;
+        }
+
+        Map<URI, byte[]> documents = new LinkedHashMap<>();
+        for (Map.Entry<URI, CompletableFuture<byte[]>> e : futures.entrySet()) {
+            try {
+                documents.put(e.getKey(), e.getValue().join());
+            } catch (CompletionException ce) {
+                futures.values().forEach(f -> f.cancel(true));
+                Throwable cause = ce.getCause();
+                if (cause instanceof UncheckedIOException)
+                    throw ((UncheckedIOException) cause).getCause();
+                if (cause instanceof IOException)
+                    throw new IOException("Cannot fetch schema from " + e.getKey() + ". Error: " + cause, cause);
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                throw ce;
+            }
+        }
+        return documents;
+    }
+
+    private static URI withoutFragment(URI uri) {
+        if (uri.getFragment() == null)
+            return uri;
+        try {
+            return new URI(uri.getScheme(), uri.getSchemeSpecificPart(), null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Cannot remove fragment of URI: " + uri + ". Error: " + e.getMessage());
+        }
+    }
+
+    private CompletableFuture<byte[]> fetchAsync(URI uri) throws IOException {
+
+        CacheEntry cached = cacheDirectory != null ? readEntry(uri) : null;
+        if (offline) {
+            if (cached == null)
+                throw new IOException("Cannot read schema from " + uri + ". It is not cached in "
+                        + cacheDirectory + " and cannot be fetched in offline mode.");
+            return CompletableFuture.completedFuture(cached.body);
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json, */*")
+                .GET();
+        if (cached != null && cached.etag != null)
+            request.header("If-None-Match", cached.etag);
+        if (cached != null && cached.lastModified != null)
+            request.header("If-Modified-Since", cached.lastModified);
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching schema from " + uri);
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> permits.release())
+                .handle((response, error) -> {
+                    if (error == null)
+                        return onResponse(uri, cached, response);
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cached == null)
+                        throw new CompletionException(cause);
+                    logger.warn("Cannot fetch schema from {}, using the copy cached in {}. Error: {}",
+                            uri, cacheDirectory, cause.toString());
+                    return cached.body;
+                });
+    }
+
+    private byte[] onResponse(URI uri, CacheEntry cached, HttpResponse<byte[]> response) {
+
+        if (response.statusCode() == 304 && cached != null) {
+            logger.debug("Schema {} is not modified, using the cached copy", uri);
+            return cached.body;
+        }
+        if (response.statusCode() != 200)
+            throw new UncheckedIOException(new IOException("Cannot fetch schema from " + uri
+                    + ". HTTP status: " + response.statusCode()));
+
+        byte[] body = response.body();
+        if (cacheDirectory != null) {
+            HttpHeaders headers = response.headers();
+            CacheEntry entry = new CacheEntry(headers.firstValue("ETag").orElse(null),
+                    headers.firstValue("Last-Modified").orElse(null), body);
+            try {
+                writeEntry(uri, entry);
+            } catch (IOException e) {
+                // the document was fetched, it is only not cached
+                logger.warn("Cannot cache schema {} in {}. Error: {}", uri, cacheDirectory, e.getMessage());
+            }
+        }
+        logger.debug("Fetched schema {} ({} bytes)", uri, body.length);
+        return body;
+    }
+
+    /**
+     * Fetched document with the validators of its version.
+     */
+    private static final class CacheEntry {
+
+        private final String etag;
+        private final String lastModified;
+        private final byte[] body;
+
+        private CacheEntry(String etag, String lastModified, byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+    }
+
+    private Path getEntryPath(URI uri) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder name = new StringBuilder();
+            for (byte b : digest.digest(uri.toString().getBytes(StandardCharsets.UTF_8)))
+                name.append(String.format("%02x", b));
+            return cacheDirectory.toPath().resolve(name.append(CACHE_EXTENSION).toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the cached document, null when there is none, or it cannot be read.
+     */
+    private CacheEntry readEntry(URI uri) {
+
+        Path path = getEntryPath(uri);
+        if (!Files.isRegularFile(path))
+            return null;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)))) {
+            if (in.readInt() != CACHE_VERSION || !uri.toString().equals(in.readUTF()))
+                return null;
+            String etag = in.readUTF();
+            String lastModified = in.readUTF();
+            byte[] body = in.readAllBytes();
+            return new CacheEntry(etag.isEmpty() ? null : etag, lastModified.isEmpty() ? null : lastModified, body);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable cached schema {} for {}. Error: {}", path, uri, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the entry to a single file that replaces the previous one at once, so that concurrent builds sharing
+     * the directory never read a partial entry.
+     */
+    private void writeEntry(URI uri, CacheEntry entry) throws IOException {
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream(entry.body.length + 256);
+        try (DataOutputStream out = new DataOutputStream(content)) {
+            out.writeInt(CACHE_VERSION);
+            out.writeUTF(uri.toString());
+            out.writeUTF(entry.etag != null ? entry.etag : "");
+            out.writeUTF(entry.lastModified != null ? entry.lastModified : "");
+            out.write(entry.body);
+        }
+
+        Path path = getEntryPath(uri);
+        CommonUtils.ensurePathToFolderExist(cacheDirectory);
+        Path tmp = Files.createTempFile(cacheDirectory.toPath(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmp, content.toByteArray());
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
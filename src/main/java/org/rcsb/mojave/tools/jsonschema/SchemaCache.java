@@ -0,0 +1,185 @@
+package org.rcsb.mojave.tools.jsonschema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * <p>
+ *   Bounded cache of parsed JSON schema documents and of the fragments that JSON
+ *   References point to within those documents. Documents are keyed by the normalized
+ *   URI without its fragment, fragments are keyed by the normalized URI including
+ *   the fragment. Least recently used entries are evicted once the size bound is reached.
+ * </p>
+ *
+ * <p>
+ *   Cached nodes are shared and MUST NOT be modified. {@link SchemaRefResolver} hands
+ *   out deep copies of cached fragments before they are inlined into a schema.
+ * </p>
+ *
+ * <p>
+ *   The cache is thread-safe and can be shared between several {@link SchemaRefResolver}
+ *   instances, e.g. when multiple schemas referencing the same fragment files are resolved.
+ * </p>
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class SchemaCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 256;
+
+    private final Cache<URI, JsonNode> documents;
+    private final Cache<URI, JsonNode> fragments;
+    // every document read through the cache, evicted or not
+    private final Set<URI> loaded = ConcurrentHashMap.newKeySet();
+
+    public SchemaCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize the maximum number of documents (and, separately, fragments) held in the cache.
+     */
+    public SchemaCache(long maximumSize) {
+        documents = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        fragments = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    private static URI normalize(URI uri, boolean keepFragment) {
+        URI normalized = uri.normalize();
+        if (keepFragment || normalized.getFragment() == null)
+            return normalized;
+        try {
+            return new URI(normalized.getScheme(), normalized.getSchemeSpecificPart(), null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Cannot normalize URI: " + uri + ". Error: " + e.getMessage());
+        }
+    }
+
+    private static JsonNode get(Cache<URI, JsonNode> cache, URI key, Callable<JsonNode> loader) throws IOException {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a parsed schema document, reading it with the given {@link SchemaLoader} on a cache miss.
+     *
+     * @param uri location of the document, a fragment (if any) is ignored.
+     * @param loader used to read the document when it is not cached yet.
+     * @return cached (shared) document.
+     * @throws IOException when the document cannot be read.
+     */
+    public JsonNode getDocument(URI uri, SchemaLoader loader) throws IOException {
+        URI key = normalize(uri, false);
+        return get(documents, key, () -> {
+            JsonNode document = loader.readSchema(key);
+            loaded.add(key);
+            return document;
+        });
+    }
+
+    /**
+     * Returns parsed schema documents, reading the ones that are not cached yet together with
+     * {@link SchemaLoader#readSchemas(Collection)}, so that remote documents are fetched concurrently.
+     *
+     * @param uris locations of the documents, fragments (if any) are ignored.
+     * @param loader used to read the documents that are not cached yet.
+     * @return cached (shared) documents keyed by their normalized location.
+     * @throws IOException when a document cannot be read.
+     */
+    public Map<URI, JsonNode> getDocuments(Collection<URI> uris, SchemaLoader loader) throws IOException {
+
+        Set<URI> keys = new LinkedHashSet<>();
+        for (URI uri : uris)
+            keys.add(normalize(uri, false));
+        Map<URI, JsonNode> found = new LinkedHashMap<>(documents.getAllPresent(keys));
+
+        List<URI> missing = new ArrayList<>();
+        for (URI key : keys) {
+            if (!found.containsKey(key))
+                missing.add(key);
+        }
+        if (!missing.isEmpty()) {
+            Map<URI, JsonNode> read = loader.readSchemas(missing);
+            loaded.addAll(read.keySet());
+            documents.putAll(read);
+            found.putAll(read);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the node a JSON Reference points to, locating it with the given callable on a cache miss.
+     *
+     * @param uri full location of the fragment (document and fragment).
+     * @param locator locates the fragment within its (cached) document.
+     * @return cached (shared) fragment.
+     * @throws IOException when the fragment cannot be located.
+     */
+    public JsonNode getFragment(URI uri, Callable<JsonNode> locator) throws IOException {
+        return get(fragments, normalize(uri, true), locator);
+    }
+
+    /**
+     * @return normalized locations of the documents currently held in the cache, documents that were evicted are
+     * not included. See {@link #getLoadedLocations()} for all the documents that were read.
+     */
+    public Set<URI> getDocumentLocations() {
+        return new HashSet<>(documents.asMap().keySet());
+    }
+
+    /**
+     * @return normalized locations of all the documents read through the cache since it was created, including the
+     * ones that were evicted or invalidated since, e.g. to record the documents a schema depends on.
+     */
+    public Set<URI> getLoadedLocations() {
+        return new HashSet<>(loaded);
+    }
+
+    public CacheStats getDocumentStats() {
+        return documents.stats();
+    }
+
+    public CacheStats getFragmentStats() {
+        return fragments.stats();
+    }
+
+    public void invalidateAll() {
+        documents.invalidateAll();
+        fragments.invalidateAll();
+    }
+}
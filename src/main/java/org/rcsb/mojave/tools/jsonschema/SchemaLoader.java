@@ -1,23 +1,55 @@
 package org.rcsb.mojave.tools.jsonschema;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.apache.commons.io.FileUtils;
 import org.rcsb.mojave.tools.core.GenerateCombinedJsonSchema;
 import org.rcsb.mojave.tools.utils.CommonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
 
 /**
  * IO operations on a JSON representation of JSON schema.
+ * <p>
+ * Schemas can also be written as binary snapshots, see {@link #writeSnapshot(OutputStream, JsonNode)}, which are
+ * several times faster to read than pretty-printed JSON. The read methods detect snapshots by their header and
+ * accept both formats.
+ * <p>
+ * HTTP(S) locations are fetched with a {@link HttpSchemaFetcher}, which keeps connections alive, fetches independent
+ * documents concurrently (see {@link #readSchemas(Collection)}) and can cache them on disk.
  *
  * Created on 8/27/18.
  *
@@ -28,7 +60,25 @@ public class SchemaLoader {
 
     private static final Logger logger = LoggerFactory.getLogger(SchemaLoader.class);
 
+    /**
+     * Extension of the binary schema snapshot files.
+     */
+    public static final String SNAPSHOT_EXTENSION = ".smile";
+    /**
+     * Version of the snapshot format, snapshots of other versions are rejected and must be written again.
+     */
+    public static final int SNAPSHOT_VERSION = 1;
+    private static final byte[] SNAPSHOT_MAGIC = {'M', 'J', 'S', 'S'};
+    // magic number, version, content length and checksum
+    private static final int SNAPSHOT_HEADER_LENGTH = SNAPSHOT_MAGIC.length + 4 + 4 + 8;
+
+    // local files up to this size are read into a buffer reused by the thread, larger files are memory-mapped
+    static final int MAPPED_READ_THRESHOLD = 1 << 20;
+    private static final ThreadLocal<byte[]> READ_BUFFER = ThreadLocal.withInitial(() -> new byte[1 << 16]);
+
     private final ObjectMapper objectMapper;
+    private final ObjectMapper snapshotMapper;
+    private final HttpSchemaFetcher httpFetcher;
 
     private static final String JAR_SCHEME = "jar";
     private static final String FILE_SCHEME = "file";
@@ -36,13 +86,42 @@ public class SchemaLoader {
     private static final String HTTPS_SCHEME = "https";
 
     public SchemaLoader() {
-        this(null);
+        this(null, null);
     }
 
     public SchemaLoader(JsonFactory jsonFactory) {
+        this(jsonFactory, null);
+    }
+
+    /**
+     * @param httpFetcher fetcher of HTTP(S) locations, if null the {@link HttpSchemaFetcher#getDefault()} one.
+     */
+    public SchemaLoader(HttpSchemaFetcher httpFetcher) {
+        this(null, httpFetcher);
+    }
+
+    public SchemaLoader(JsonFactory jsonFactory, HttpSchemaFetcher httpFetcher) {
+        this.httpFetcher = httpFetcher;
         this.objectMapper = (new ObjectMapper(jsonFactory))
                 .enable(JsonParser.Feature.ALLOW_COMMENTS)
                 .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        // property names are back-referenced by default, repeated short values ("string", "object") are too
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.snapshotMapper = new ObjectMapper(smileFactory)
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    /**
+     * @return the fetcher of HTTP(S) locations.
+     */
+    public HttpSchemaFetcher getHttpFetcher() {
+        return httpFetcher != null ? httpFetcher : HttpSchemaFetcher.getDefault();
+    }
+
+    private static boolean isHttp(String scheme) {
+        return HTTP_SCHEME.equalsIgnoreCase(scheme) || HTTPS_SCHEME.equalsIgnoreCase(scheme);
     }
 
     public static boolean hasScheme(String path) {
@@ -52,27 +131,288 @@ public class SchemaLoader {
                 || path.startsWith(HTTPS_SCHEME+":");
     }
 
+    /**
+     * Writes a JSON node to the generator. Floating point numbers that are not held as {@link java.math.BigDecimal}
+     * are written the way they are read back by this loader, so the output doesn't depend on how the tree was built.
+     */
+    private void writeNode(JsonGenerator generator, JsonNode node) throws IOException {
+
+        switch (node.getNodeType()) {
+            case OBJECT:
+                generator.writeStartObject();
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    generator.writeFieldName(field.getKey());
+                    writeNode(generator, field.getValue());
+                }
+                generator.writeEndObject();
+                break;
+            case ARRAY:
+                generator.writeStartArray();
+                for (JsonNode element : node)
+                    writeNode(generator, element);
+                generator.writeEndArray();
+                break;
+            case NUMBER:
+                if (node.isInt())
+                    generator.writeNumber(node.intValue());
+                else if (node.isLong())
+                    generator.writeNumber(node.longValue());
+                else if (node.isIntegralNumber())
+                    generator.writeNumber(node.bigIntegerValue());
+                else if (node.isBigDecimal())
+                    generator.writeNumber(node.decimalValue());
+                else if (Double.isFinite(node.doubleValue()))
+                    generator.writeNumber(new BigDecimal(node.asText()));
+                else
+                    generator.writeString(node.asText());
+                break;
+            case STRING:
+                generator.writeString(node.textValue());
+                break;
+            case BOOLEAN:
+                generator.writeBoolean(node.booleanValue());
+                break;
+            case BINARY:
+                generator.writeString(node.asText());
+                break;
+            case POJO:
+                writeNode(generator, this.objectMapper.valueToTree(((POJONode) node).getPojo()));
+                break;
+            default:
+                generator.writeNull();
+        }
+    }
+
+    /**
+     * Writes the schema to the output stream. The stream is flushed but not closed.
+     *
+     * @param os the output stream.
+     * @param node JSON schema.
+     * @param compact if true, the schema is written without whitespace, otherwise it's pretty-printed.
+     * @throws IOException when the schema cannot be written.
+     */
+    public void writeSchema(OutputStream os, JsonNode node, boolean compact) throws IOException {
+
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(os, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (!compact)
+                generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            writeNode(generator, node);
+        }
+    }
+
+    public void writeSchema(OutputStream os, JsonNode node) throws IOException {
+        writeSchema(os, node, false);
+    }
+
+    /**
+     * Writes the schema to a file. A file that already holds the identical schema is not rewritten.
+     *
+     * @param filePath the file to be written.
+     * @param node JSON schema.
+     * @param compact if true, the schema is written without whitespace, otherwise it's pretty-printed.
+     * @throws IOException when the file cannot be written.
+     */
+    public void writeSchema(String filePath, JsonNode node, boolean compact) throws IOException {
+        writeFile(filePath, os -> writeSchema(os, node, compact));
+    }
+
+    private interface ContentWriter {
+        void write(OutputStream os) throws IOException;
+    }
+
+    private void writeFile(String filePath, ContentWriter writer) throws IOException {
+
+        Path path = Paths.get(filePath).toAbsolutePath();
+        CommonUtils.ensurePathToFolderExist(path.getParent().toFile());
+
+        if (!Files.exists(path)) {
+            try (OutputStream os = Files.newOutputStream(path)) {
+                writer.write(os);
+            }
+            return;
+        }
+
+        // the content is streamed next to the existing file, which is only replaced if the content differs
+        Path tmp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp)) {
+                writer.write(os);
+            }
+            if (!FileUtils.contentEquals(tmp.toFile(), path.toFile())) {
+                // temp files are only readable by the owner, the replaced file keeps the permissions it had
+                if (Files.getFileStore(path).supportsFileAttributeView(PosixFileAttributeView.class))
+                    Files.setPosixFilePermissions(tmp, Files.getPosixFilePermissions(path));
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Writes the pretty-printed schema to a file. A file that already holds the identical schema is not rewritten.
+     *
+     * @param filePath the file to be written.
+     * @param node JSON schema.
+     * @throws IOException when the file cannot be written.
+     */
     public void writeSchema(String filePath, JsonNode node) throws IOException {
+        writeSchema(filePath, node, false);
+    }
+
+    /**
+     * Writes the schema as a binary snapshot: a header made of a magic number, the {@link #SNAPSHOT_VERSION}, the
+     * length and the CRC32 checksum of the content, followed by the schema encoded in Smile with back-references to
+     * repeated names and values. The stream is flushed but not closed.
+     *
+     * @param os the output stream.
+     * @param node JSON schema.
+     * @throws IOException when the snapshot cannot be written.
+     */
+    public void writeSnapshot(OutputStream os, JsonNode node) throws IOException {
 
-        Object json = this.objectMapper.readValue(node.toString(), Object.class);
-        String schemaString = this.objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json);
-        CommonUtils.ensurePathToFolderExist(new File(filePath).getParentFile());
-        try (BufferedWriter writer = new BufferedWriter(
-                new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8))) {
-            writer.write(schemaString);
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (JsonGenerator generator = this.snapshotMapper.getFactory().createGenerator(content)) {
+            writeNode(generator, node);
         }
+        byte[] bytes = content.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes);
+
+        DataOutputStream out = new DataOutputStream(os);
+        out.write(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(bytes.length);
+        out.writeLong(checksum.getValue());
+        out.write(bytes);
+        out.flush();
+    }
+
+    /**
+     * Writes the schema to a file as a binary snapshot. A file that already holds the identical snapshot is not
+     * rewritten.
+     *
+     * @param filePath the file to be written, {@link #SNAPSHOT_EXTENSION} is the conventional extension.
+     * @param node JSON schema.
+     * @throws IOException when the file cannot be written.
+     */
+    public void writeSnapshot(String filePath, JsonNode node) throws IOException {
+        writeFile(filePath, os -> writeSnapshot(os, node));
     }
 
+    /**
+     * Reads a schema in JSON or as a binary snapshot. The stream is closed.
+     *
+     * @param is the input stream.
+     * @return the schema.
+     * @throws IOException when the schema cannot be read, or the snapshot is of another version or corrupted.
+     */
     public JsonNode readSchema(InputStream is) throws IOException {
-        return this.objectMapper.readTree(is);
+
+        InputStream in = is.markSupported() ? is : new BufferedInputStream(is);
+        in.mark(SNAPSHOT_MAGIC.length);
+        byte[] magic = in.readNBytes(SNAPSHOT_MAGIC.length);
+        in.reset();
+        if (Arrays.equals(magic, SNAPSHOT_MAGIC)) {
+            try (InputStream snapshot = in) {
+                return readSnapshot(ByteBuffer.wrap(snapshot.readAllBytes()));
+            }
+        }
+        return this.objectMapper.readTree(in);
+    }
+
+    /**
+     * @param buffer a schema in JSON or as a binary snapshot, from its position to its limit.
+     */
+    private JsonNode readSchema(ByteBuffer buffer) throws IOException {
+
+        if (buffer.remaining() >= SNAPSHOT_MAGIC.length) {
+            byte[] magic = new byte[SNAPSHOT_MAGIC.length];
+            buffer.duplicate().get(magic);
+            if (Arrays.equals(magic, SNAPSHOT_MAGIC))
+                return readSnapshot(buffer);
+        }
+        return readTree(this.objectMapper, buffer);
+    }
+
+    private static JsonNode readTree(ObjectMapper mapper, ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray())
+            return mapper.readTree(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        // Jackson fills its own input buffer straight from the mapping
+        return mapper.readTree(new ByteBufferBackedInputStream(buffer));
+    }
+
+    private JsonNode readSnapshot(ByteBuffer buffer) throws IOException {
+
+        if (buffer.remaining() < SNAPSHOT_HEADER_LENGTH)
+            throw new IOException("Schema snapshot is corrupted: truncated header.");
+        buffer.position(buffer.position() + SNAPSHOT_MAGIC.length);
+        int version = buffer.getInt();
+        if (version != SNAPSHOT_VERSION)
+            throw new IOException("Unsupported schema snapshot version " + version + ", expected "
+                    + SNAPSHOT_VERSION + ".");
+        int length = buffer.getInt();
+        long expected = buffer.getLong();
+        if (length < 0 || length > buffer.remaining())
+            throw new IOException("Schema snapshot is corrupted: truncated content.");
+        ByteBuffer content = buffer.slice();
+        content.limit(length);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(content.duplicate());
+        if (checksum.getValue() != expected)
+            throw new IOException("Schema snapshot is corrupted: checksum mismatch.");
+        return readTree(this.snapshotMapper, content);
+    }
+
+    /**
+     * Reads a local file in a single bulk read into a buffer reused by the current thread, or memory-maps it when
+     * it is large, and parses the bytes without copying them through intermediate streams.
+     */
+    private JsonNode readFile(Path path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("Cannot read schema from " + path + " larger than 2GB.");
+            if (size >= MAPPED_READ_THRESHOLD)
+                return readSchema(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+
+            byte[] bytes = READ_BUFFER.get();
+            if (bytes.length < size) {
+                bytes = new byte[Integer.highestOneBit((int) size) << 1];
+                READ_BUFFER.set(bytes);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, (int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // reads until the end of the file, a single read in practice
+            }
+            buffer.flip();
+            return readSchema(buffer);
+        }
+    }
+
+    private static Path toPath(URI uri) {
+        return Paths.get(uri.getPath() != null ? uri.getPath() : uri.getSchemeSpecificPart());
     }
 
     public JsonNode readSchema(URL schemaUrl) throws IOException {
-        return this.objectMapper.readTree(schemaUrl);
+        if (FILE_SCHEME.equals(schemaUrl.getProtocol()) || isHttp(schemaUrl.getProtocol())) {
+            try {
+                URI uri = schemaUrl.toURI();
+                return isHttp(uri.getScheme()) ? readSchema(uri) : readFile(toPath(uri));
+            } catch (URISyntaxException e) {
+                // not a valid URI, e.g. unescaped spaces, read as a stream
+            }
+        }
+        return readSchema(schemaUrl.openStream());
     }
 
     public JsonNode readSchema(File schemaFile) throws IOException {
-        return this.objectMapper.readTree(schemaFile);
+        return readFile(schemaFile.toPath());
     }
 
     public JsonNode readSchema(String path) throws IOException {
@@ -88,6 +428,8 @@ public class SchemaLoader {
                 if ( !Paths.get(url.getPath()).toFile().exists() )
                     throw new IOException("Cannot read schema from "+path+". File doesn't exist.");
                 return readSchema(url);
+        } else if (path.startsWith(HTTP_SCHEME+":") || path.startsWith(HTTPS_SCHEME+":")) {
+            return readSchema(URI.create(path));
         } else
             throw new IllegalArgumentException("Unsupported resource schema for: " + path);
     }
@@ -101,9 +443,9 @@ public class SchemaLoader {
             File probeFile = new File(schemeSpecificPart);
             URL resourceUrl = SchemaLoader.class.getResource(schemeSpecificPart);
             if (probeFile.exists() && probeFile.isFile()) {
-                is = new FileInputStream(probeFile);
                 if (resourceUrl != null)
                     logger.warn("Schema uri '{}' can be resolved both to a file system path and to a java-packaged resource. Will use the file system one.", uri.getSchemeSpecificPart());
+                return readFile(probeFile.toPath());
             } else if (resourceUrl != null) {
                 is = resourceUrl.openStream();
             } else {
@@ -119,15 +461,39 @@ public class SchemaLoader {
             return readSchema(is);
 
         } else if (uri.getScheme().equals(FILE_SCHEME)) {
-            URL url = uri.toURL();
-            if ( !Paths.get(url.getPath()).toFile().exists() )
+            Path path = toPath(uri);
+            if ( !path.toFile().exists() )
                 throw new IOException("Cannot read schema from "+uri.getSchemeSpecificPart()+". File doesn't exist.");
-            return readSchema(url);
+            return readFile(path);
 
         } else if (uri.getScheme().equals(HTTP_SCHEME) || uri.getScheme().equals(HTTPS_SCHEME)) {
-            throw new UnsupportedOperationException("Please, implement scheme: "+uri.getScheme());
+            return readSchema(ByteBuffer.wrap(getHttpFetcher().fetch(uri)));
 
         } else
             throw new UnsupportedOperationException("Loading URI with scheme: "+uri.getScheme()+" is not supported.");
     }
+
+    /**
+     * Reads several schemas, the HTTP(S) ones are fetched concurrently.
+     *
+     * @param uris locations of the schemas, as accepted by {@link #readSchema(URI)}.
+     * @return the schemas keyed by the given locations, in their order.
+     * @throws IOException when a schema cannot be read.
+     */
+    public Map<URI, JsonNode> readSchemas(Collection<URI> uris) throws IOException {
+
+        List<URI> remote = new ArrayList<>();
+        for (URI uri : uris) {
+            if (isHttp(uri.getScheme()))
+                remote.add(uri);
+        }
+        Map<URI, byte[]> fetched = remote.isEmpty() ? Collections.emptyMap() : getHttpFetcher().fetchAll(remote);
+
+        Map<URI, JsonNode> schemas = new LinkedHashMap<>();
+        for (URI uri : uris) {
+            byte[] bytes = fetched.get(uri);
+            schemas.put(uri, bytes != null ? readSchema(ByteBuffer.wrap(bytes)) : readSchema(uri));
+        }
+        return schemas;
+    }
 }
@@ -9,10 +9,16 @@ import org.rcsb.mojave.tools.jsonschema.traversal.algorithm.JsonSchemaTraversal;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.JsonReference;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.utils.JsonSchemaNodeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -34,6 +40,17 @@ import java.util.Set;
  *   into the original schema.
  * </p>
  *
+ * <p>
+ *   External documents and the fragments referenced within them are memoized in
+ *   a {@link SchemaCache}. A cache can be shared between resolver instances so
+ *   that documents referenced from multiple schemas are only read and parsed once.
+ * </p>
+ *
+ * <p>
+ *   Before references are resolved one by one, the remote (HTTP(S)) documents referenced
+ *   by the schema, and the ones those documents reference in turn, are fetched concurrently.
+ * </p>
+ *
  * Created on 1/12/20.
  *
  * @author Yana Valasatava
@@ -41,8 +58,11 @@ import java.util.Set;
  */
 public class SchemaRefResolver {
 
+    private static final Logger logger = LoggerFactory.getLogger(SchemaRefResolver.class);
+
     private JsonNode currentTree;
     private SchemaLoader loader;
+    private final SchemaCache cache;
 
     /*
      * The set of refs we see during ref resolution, necessary to detect ref
@@ -52,13 +72,21 @@ public class SchemaRefResolver {
     private final Set<JsonReference> refs = new HashSet<>();
 
     public SchemaRefResolver(JsonNode jSchema) {
-        currentTree = jSchema;
-        loader = new SchemaLoader();
+        this(jSchema, new SchemaLoader());
     }
 
     public SchemaRefResolver(JsonNode jSchema, SchemaLoader schemaLoader) {
+        this(jSchema, schemaLoader, new SchemaCache());
+    }
+
+    public SchemaRefResolver(JsonNode jSchema, SchemaLoader schemaLoader, SchemaCache schemaCache) {
         currentTree = jSchema;
         loader = schemaLoader;
+        cache = schemaCache;
+    }
+
+    public SchemaCache getCache() {
+        return cache;
     }
 
     private TraversalContext resolve(JsonNode node, TraversalContext ctx) throws IOException {
@@ -126,15 +154,19 @@ public class SchemaRefResolver {
      */
     public Pair<JsonNode, JsonNode> resolve(JsonReference ref, JsonNode current) {
 
-        // Check whether $ref must be resolved within the current tree
-        if ( ref.getLocator() == null )
-            return Pair.of(current, resolveFragment(ref, current));
+        // Check whether $ref must be resolved within the current tree. Documents other
+        // than the current tree come from the cache and are shared: hand out a copy.
+        if ( ref.getLocator() == null ) {
+            JsonNode fragment = resolveFragment(ref, current);
+            return Pair.of(current, current == currentTree ? fragment : fragment.deepCopy());
+        }
 
         // If not, fetch a new tree
         else {
             try {
-                JsonNode schema = loader.readSchema(ref.getURI());
-                return Pair.of(schema, resolveFragment(ref, schema));
+                JsonNode schema = cache.getDocument(ref.getURI(), loader);
+                JsonNode fragment = cache.getFragment(ref.getURI(), () -> resolveFragment(ref, schema));
+                return Pair.of(schema, fragment.deepCopy());
             } catch (IOException ioe) {
                 throw new IllegalArgumentException("Failed to resolve "+ref.getFragment()+" at "+
                         ref.getLocator()+". Error: " + ioe.getMessage());
@@ -158,7 +190,42 @@ public class SchemaRefResolver {
         }
     }
 
+    /**
+     * Fetches the remote documents the schema depends on into the cache, all the documents referenced from
+     * the documents of the previous round at once.
+     */
+    private void prefetch() throws IOException {
+        Set<URI> seen = new HashSet<>();
+        Collection<JsonNode> documents = Collections.singletonList(currentTree);
+        while (!documents.isEmpty()) {
+            Set<URI> remote = new LinkedHashSet<>();
+            for (JsonNode document : documents)
+                collectRemoteRefs(document, document, remote);
+            remote.removeIf(uri -> !seen.add(uri));
+            if (remote.isEmpty())
+                return;
+            documents = cache.getDocuments(remote, loader).values();
+        }
+    }
+
+    private static boolean isHttp(String location) {
+        return location != null && (location.startsWith("http:") || location.startsWith("https:"));
+    }
+
+    private static void collectRemoteRefs(JsonNode document, JsonNode node, Set<URI> remote) throws IOException {
+        if (JsonSchemaNodeUtils.isRef(node)) {
+            String baseURI = JsonSchemaNodeUtils.getBaseURI(document);
+            // local references are left to the resolution, without looking them up in the file system
+            String value = node.get(MetaSchemaProperty.SCHEMA_REF).asText();
+            if (isHttp(value) || isHttp(baseURI) && !value.startsWith("#") && !SchemaLoader.hasScheme(value))
+                remote.add(JsonSchemaNodeUtils.getRef(baseURI, node).getURI());
+        }
+        for (JsonNode child : node)
+            collectRemoteRefs(document, child, remote);
+    }
+
     public void resolveInline() throws IOException {
+        prefetch();
         JsonSchemaTraversal traversal = new JsonSchemaTraversal();
         traversal.setTraversalStrategy(JsonSchemaTraversal.Strategy.POST_ORDER);
         traversal.traverse(currentTree);
@@ -175,6 +242,8 @@ public class SchemaRefResolver {
                 refs.clear();
             }
         }
+        logger.debug("Resolved $refs. Documents cache: {}, fragments cache: {}",
+                cache.getDocumentStats(), cache.getFragmentStats());
     }
 
 }
@@ -0,0 +1,251 @@
+package org.rcsb.mojave.tools.jsonschema;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
+import org.rcsb.mojave.tools.utils.CommonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ *   Thread-safe, read-only access to a set of schemas that are loaded, optionally resolved, and frozen once, e.g.
+ *   the core schemas shared by the workers of a service. Schemas are looked up by id: the value of {@code $id} when
+ *   the schema declares one, otherwise the name of the file without the {@code .json} extension.
+ * </p>
+ *
+ * <p>
+ *   The schemas of a repository form an immutable {@link Snapshot}. Frozen schemas are regular {@link JsonNode}s
+ *   that throw {@link UnsupportedOperationException} when they are modified, {@link JsonNode#deepCopy()} gives a
+ *   modifiable copy. Reads take no lock. {@link #reload()} loads the schemas again into a new snapshot that replaces
+ *   the current one at once: readers see either the old or the new schemas, never a mix of them. Readers that need
+ *   several schemas of the same version look them up in the snapshot returned by {@link #getSnapshot()}.
+ * </p>
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class SchemaRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaRepository.class);
+
+    private static final String JSON_EXTENSION = ".json";
+
+    private final List<URI> locations;
+    private final List<File> directories;
+    private final boolean resolve;
+    private final SchemaLoader loader;
+
+    private volatile Snapshot snapshot;
+
+    public static class Builder {
+
+        private final List<URI> locations = new ArrayList<>();
+        private final List<File> directories = new ArrayList<>();
+        private boolean resolve = true;
+        private SchemaLoader loader;
+
+        public Builder() {}
+
+        /**
+         * @param location location of a schema, as accepted by {@link SchemaLoader#readSchema(URI)}.
+         */
+        public Builder fromLocation(URI location) {
+            locations.add(location);
+            return this;
+        }
+
+        /**
+         * @param directory directory of schema files, listed again on each reload.
+         */
+        public Builder fromDirectory(File directory) {
+            directories.add(directory);
+            return this;
+        }
+
+        /**
+         * @param flag if true (the default), JSON references are resolved inline before the schemas are frozen.
+         */
+        public Builder withRefResolution(boolean flag) {
+            resolve = flag;
+            return this;
+        }
+
+        public Builder withSchemaLoader(SchemaLoader loader) {
+            this.loader = loader;
+            return this;
+        }
+
+        /**
+         * @return the repository holding the first snapshot of the schemas.
+         * @throws IOException when a schema cannot be read or resolved, or two schemas have the same id.
+         */
+        public SchemaRepository build() throws IOException {
+
+            if (locations.isEmpty() && directories.isEmpty())
+                throw new IllegalStateException("Schema locations MUST be provided to the repository.");
+
+            SchemaRepository repository = new SchemaRepository(locations, directories, resolve,
+                    loader != null ? loader : new SchemaLoader());
+            repository.reload();
+            return repository;
+        }
+    }
+
+    private SchemaRepository(List<URI> locations, List<File> directories, boolean resolve, SchemaLoader loader) {
+        this.locations = new ArrayList<>(locations);
+        this.directories = new ArrayList<>(directories);
+        this.resolve = resolve;
+        this.loader = loader;
+    }
+
+    /**
+     * @return the current schemas.
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @param id id of a schema.
+     * @return the frozen schema in the current snapshot, null when there is none.
+     */
+    public JsonNode getSchema(String id) {
+        return snapshot.getSchema(id);
+    }
+
+    /**
+     * @param id id of a schema.
+     * @param pointer JSON pointer within the schema, e.g. {@code /properties/entry}.
+     * @return the frozen node in the current snapshot, null when there is none.
+     */
+    public JsonNode at(String id, String pointer) {
+        return snapshot.at(id, pointer);
+    }
+
+    /**
+     * Loads the schemas again and replaces the current snapshot. Reloads are serialized, reads are not blocked.
+     *
+     * @return the new snapshot.
+     * @throws IOException when a schema cannot be read or resolved, or two schemas have the same id. The current
+     * snapshot is kept.
+     */
+    public synchronized Snapshot reload() throws IOException {
+
+        List<URI> sources = new ArrayList<>(locations);
+        for (File directory : directories) {
+            for (File f : CommonUtils.listSchemaFiles(directory))
+                sources.add(f.toURI());
+        }
+
+        // fragment files are read again, as they may have changed as well
+        SchemaCache cache = new SchemaCache();
+        Map<String, JsonNode> schemas = new LinkedHashMap<>();
+        for (URI source : sources) {
+            JsonNode schema = loader.readSchema(source);
+            if (resolve)
+                new SchemaRefResolver(schema, loader, cache).resolveInline();
+            String id = getId(schema, source);
+            if (schemas.put(id, freeze(schema)) != null)
+                throw new IOException("Duplicate schema id " + id + " at " + source);
+        }
+
+        Snapshot current = snapshot;
+        Snapshot next = new Snapshot(current == null ? 1 : current.getVersion() + 1, schemas);
+        snapshot = next;
+        logger.info("Loaded {} schemas, version {}", schemas.size(), next.getVersion());
+        return next;
+    }
+
+    private static String getId(JsonNode schema, URI source) {
+        if (schema.hasNonNull(MetaSchemaProperty.SCHEMA_ID))
+            return schema.get(MetaSchemaProperty.SCHEMA_ID).asText();
+        String path = source.getPath() != null ? source.getPath() : source.getSchemeSpecificPart();
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        return name.endsWith(JSON_EXTENSION) ? name.substring(0, name.length() - JSON_EXTENSION.length()) : name;
+    }
+
+    /**
+     * @param node JSON node.
+     * @return a copy of the node where objects and arrays cannot be modified. Value nodes are immutable, they are
+     * shared with the given node.
+     */
+    public static JsonNode freeze(JsonNode node) {
+        if (node.isObject()) {
+            Map<String, JsonNode> children = new LinkedHashMap<>();
+            node.fields().forEachRemaining(e -> children.put(e.getKey(), freeze(e.getValue())));
+            // the mutators of the node write through to the map of its children
+            return new ObjectNode(JsonNodeFactory.instance, Collections.unmodifiableMap(children));
+        }
+        if (node.isArray()) {
+            List<JsonNode> children = new ArrayList<>(node.size());
+            node.forEach(child -> children.add(freeze(child)));
+            return new ArrayNode(JsonNodeFactory.instance, Collections.unmodifiableList(children));
+        }
+        return node;
+    }
+
+    /**
+     * Immutable set of frozen schemas of a repository.
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final Map<String, JsonNode> schemas;
+
+        private Snapshot(long version, Map<String, JsonNode> schemas) {
+            this.version = version;
+            this.schemas = Collections.unmodifiableMap(schemas);
+        }
+
+        /**
+         * @return the number of times the schemas were loaded when the snapshot was taken, starting at 1.
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * @return the ids of the schemas, in the order they were loaded.
+         */
+        public Set<String> getIds() {
+            return schemas.keySet();
+        }
+
+        /**
+         * @param id id of a schema.
+         * @return the frozen schema, null when there is none.
+         */
+        public JsonNode getSchema(String id) {
+            return schemas.get(id);
+        }
+
+        /**
+         * @param id id of a schema.
+         * @param pointer JSON pointer within the schema.
+         * @return the frozen node, null when there is none.
+         * @throws IllegalArgumentException when the pointer is not valid.
+         */
+        public JsonNode at(String id, String pointer) {
+            JsonNode schema = schemas.get(id);
+            if (schema == null)
+                return null;
+            JsonNode node = schema.at(JsonPointer.compile(pointer));
+            return node.isMissingNode() ? null : node;
+        }
+    }
+}
@@ -3,10 +3,15 @@ package org.rcsb.mojave.tools.jsonschema;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Schema stitching is the process of creating a single schema from multiple underlying schemas. This class provides
@@ -31,6 +36,21 @@ public class SchemaStitching {
      * @return targetNode updated with content of updateNode.
      */
     private static ObjectNode mergeObjectNodes(ObjectNode targetNode, ObjectNode updateNode) {
+        return mergeObjectNodes(targetNode, updateNode, Collections.emptySet(), null);
+    }
+
+    /**
+     * Recursively merges two JSON trees and overwrites the input targetNode with a content of merge.
+     *
+     * @param targetNode input JSON object to be updated.
+     * @param updateNode input JSON object to be merged.
+     * @param updateResets container nodes in updateNode that replace the target value instead of being merged with it.
+     * @param resets collects container nodes that replaced a target value of a different type, can be null.
+     *
+     * @return targetNode updated with content of updateNode.
+     */
+    private static ObjectNode mergeObjectNodes(ObjectNode targetNode, ObjectNode updateNode,
+                                               Set<JsonNode> updateResets, Set<JsonNode> resets) {
 
         Iterator<String> fieldNames = updateNode.fieldNames();
 
@@ -41,24 +61,29 @@ public class SchemaStitching {
             JsonNode targetValue = targetNode.get(fieldName);
             JsonNode updateValue = updateNode.get(fieldName);
 
-            if (targetValue == null) {
+            if (targetValue == null || updateResets.contains(updateValue)) {
                 targetNode.set(fieldName, updateValue);
 
             } else if (targetValue.isObject() && updateValue.isObject()) {
-                targetNode.set(fieldName, mergeObjectNodes((ObjectNode) targetValue, (ObjectNode) updateValue));
+                targetNode.set(fieldName, mergeObjectNodes((ObjectNode) targetValue, (ObjectNode) updateValue,
+                        updateResets, resets));
 
             } else if (targetValue.isArray() && updateValue.isArray()) {
 
-                List<JsonNode> existing = Lists.newArrayList(targetValue.elements());
+                // only elements present before the merge are checked, as in a plain list lookup
+                Set<HashedNode> existing = Sets.newHashSetWithExpectedSize(targetValue.size());
+                targetValue.elements().forEachRemaining(n -> existing.add(new HashedNode(n)));
                 ArrayNode updateArr = (ArrayNode) updateValue;
                 for (int i = 0; i < updateArr.size(); i++) {
                     JsonNode node = updateArr.get(i);
-                    if (!existing.contains(node))
+                    if (!existing.contains(new HashedNode(node)))
                         ((ArrayNode) targetValue).add(node);
                 }
 
             } else {
                 targetNode.set(fieldName, updateValue);
+                if (resets != null && updateValue.isContainerNode())
+                    resets.add(updateValue);
             }
         }
 
@@ -89,4 +114,100 @@ public class SchemaStitching {
         }
         return finalSchema;
     }
+
+    /**
+     * Merges schemas as a pairwise tree reduction on the given pool. The result is identical to the
+     * sequential left fold of {@link #mergeSchemas(List)}: later schemas take precedence. Each input
+     * is copied first, so the input schemas are not modified.
+     *
+     * <p>
+     *   Merging is not associative when values of different types are merged, e.g. an object that
+     *   follows a string replaces the target object rather than being merged with it. Partial results
+     *   of the reduction therefore keep track of such values, so that they replace the corresponding
+     *   values of the preceding partial result too.
+     * </p>
+     *
+     * @param instances JSON schemas to be merged, in the order of precedence.
+     * @param pool the pool to run the reduction on.
+     * @return merged schema or null when the list is empty.
+     */
+    public static JsonNode mergeSchemas(List<JsonNode> instances, ForkJoinPool pool) {
+        if (instances.isEmpty())
+            return null;
+        return pool.invoke(new MergeTask(instances, 0, instances.size())).schema;
+    }
+
+    /**
+     * Partial result of the tree reduction, covering a contiguous range of input schemas.
+     */
+    private static final class PartialMerge {
+
+        private final ObjectNode schema;
+        // container nodes that replace rather than merge with the values of preceding schemas
+        private final Set<JsonNode> resets = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private PartialMerge(ObjectNode schema) {
+            this.schema = schema;
+        }
+
+        private PartialMerge combine(PartialMerge update) {
+            mergeObjectNodes(schema, update.schema, update.resets, resets);
+            resets.addAll(update.resets);
+            return this;
+        }
+    }
+
+    private static final class MergeTask extends RecursiveTask<PartialMerge> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<JsonNode> instances;
+        private final int from;
+        private final int to;
+
+        private MergeTask(List<JsonNode> instances, int from, int to) {
+            this.instances = instances;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PartialMerge compute() {
+            if (to - from == 1)
+                return new PartialMerge((ObjectNode) instances.get(from).deepCopy());
+            int middle = (from + to) >>> 1;
+            MergeTask left = new MergeTask(instances, from, middle);
+            left.fork();
+            PartialMerge right = new MergeTask(instances, middle, to).compute();
+            return left.join().combine(right);
+        }
+    }
+
+    /**
+     * Set key for a JSON node. The structural hash of the node is computed once, so that
+     * deep equality checks are only performed for nodes with the same hash.
+     */
+    private static final class HashedNode {
+
+        private final JsonNode node;
+        private final int hash;
+
+        private HashedNode(JsonNode node) {
+            this.node = node;
+            this.hash = node.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof HashedNode)) return false;
+            HashedNode that = (HashedNode) o;
+            return hash == that.hash && node.equals(that.node);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
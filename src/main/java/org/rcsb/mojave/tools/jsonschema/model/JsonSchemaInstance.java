@@ -49,6 +49,7 @@ public class JsonSchemaInstance {
     private Map<String, JsonSchemaInstance> properties;
     private Set<Object> enumProperty;
     private String type;
+    private List<String> types;
     private String format;
     private List<JsonSchemaInstance> allOf;
     private List<JsonSchemaInstance> anyOf;
@@ -253,6 +254,17 @@ public class JsonSchemaInstance {
         this.type = type;
     }
 
+    /**
+     * @return all the types the schema allows, the single {@link #getType()} or the types given as an array.
+     */
+    public List<String> getTypes() {
+        return types;
+    }
+
+    public void setTypes(List<String> types) {
+        this.types = types;
+    }
+
     public String getFormat() {
         return format;
     }
@@ -303,7 +315,7 @@ public class JsonSchemaInstance {
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(minLength).append(pattern).append(description).append(enumProperty).append(title).append(type).append(required).append(exclusiveMaximum).append(allOf).append(oneOf).append(not).append(additionalItems).append(id).append(maxProperties).append(exclusiveMinimum).append(multipleOf).append(maxItems).append(format).append(anyOf).append(minProperties).append(minItems).append(uniqueItems).append(maximum).append(additionalProperties).append(minimum).append(items).append(maxLength).append(properties).toHashCode();
+        return new HashCodeBuilder().append(minLength).append(pattern).append(description).append(enumProperty).append(title).append(type).append(types).append(required).append(exclusiveMaximum).append(allOf).append(oneOf).append(not).append(additionalItems).append(id).append(maxProperties).append(exclusiveMinimum).append(multipleOf).append(maxItems).append(format).append(anyOf).append(minProperties).append(minItems).append(uniqueItems).append(maximum).append(additionalProperties).append(minimum).append(items).append(maxLength).append(properties).toHashCode();
     }
 
     @Override
@@ -315,6 +327,6 @@ public class JsonSchemaInstance {
             return false;
         }
         JsonSchemaInstance rhs = ((JsonSchemaInstance) other);
-        return new EqualsBuilder().append(enumProperty, rhs.enumProperty).append(type, rhs.type).append(required, rhs.required).append(allOf, rhs.allOf).append(oneOf, rhs.oneOf).append(not, rhs.not).append(additionalItems, rhs.additionalItems).append(maxItems, rhs.maxItems).append(format, rhs.format).append(anyOf, rhs.anyOf).append(minProperties, rhs.minProperties).append(minItems, rhs.minItems).append(uniqueItems, rhs.uniqueItems).append(maximum, rhs.maximum).append(additionalProperties, rhs.additionalProperties).append(items, rhs.items).append(properties, rhs.properties).isEquals();
+        return new EqualsBuilder().append(enumProperty, rhs.enumProperty).append(type, rhs.type).append(types, rhs.types).append(required, rhs.required).append(allOf, rhs.allOf).append(oneOf, rhs.oneOf).append(not, rhs.not).append(additionalItems, rhs.additionalItems).append(maxItems, rhs.maxItems).append(format, rhs.format).append(anyOf, rhs.anyOf).append(minProperties, rhs.minProperties).append(minItems, rhs.minItems).append(uniqueItems, rhs.uniqueItems).append(maximum, rhs.maximum).append(additionalProperties, rhs.additionalProperties).append(items, rhs.items).append(properties, rhs.properties).isEquals();
     }
 }
@@ -0,0 +1,191 @@
+package org.rcsb.mojave.tools.jsonschema.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
+import org.rcsb.mojave.tools.jsonschema.utils.JsonSchemaNodeUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Reads a JSON schema into the {@link JsonSchemaInstance} model. The schema must not hold JSON references, they
+ * are expected to be resolved inline beforehand (see {@link org.rcsb.mojave.tools.jsonschema.SchemaRefResolver}).
+ * <p>
+ * Both draft v4 (boolean) and later (numeric) exclusive bounds are read into {@code minimum}/{@code maximum} with
+ * a boolean flag. Equal sub-schemas are read into the same instance, so that consumers can process each of them
+ * once. The keywords can be limited to the vocabulary of a schema version.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class JsonSchemaInstanceReader {
+
+    private final Set<String> vocabulary;
+    private final Map<JsonNode, JsonSchemaInstance> instances = new HashMap<>();
+
+    public JsonSchemaInstanceReader() {
+        this(null);
+    }
+
+    /**
+     * @param vocabulary keywords to be read, other keywords are ignored. Null for all the keywords of the model.
+     */
+    public JsonSchemaInstanceReader(Set<String> vocabulary) {
+        this.vocabulary = vocabulary;
+    }
+
+    private JsonNode get(JsonNode schema, String keyword) {
+        return vocabulary == null || vocabulary.contains(keyword) ? schema.get(keyword) : null;
+    }
+
+    /**
+     * @param schema resolved JSON schema.
+     * @return the model of the schema.
+     * @throws IllegalArgumentException when the schema holds a JSON reference.
+     */
+    public JsonSchemaInstance read(JsonNode schema) {
+
+        JsonSchemaInstance instance = instances.get(schema);
+        if (instance != null)
+            return instance;
+
+        if (JsonSchemaNodeUtils.isRef(schema))
+            throw new IllegalArgumentException("Schema must be resolved inline, found reference "
+                    + schema.get(MetaSchemaProperty.SCHEMA_REF).asText());
+
+        instance = new JsonSchemaInstance();
+        instances.put(schema, instance);
+
+        instance.setId(text(schema.has(MetaSchemaProperty.SCHEMA_ID)
+                ? schema.get(MetaSchemaProperty.SCHEMA_ID) : schema.get(MetaSchemaProperty.ID)));
+        instance.setSchemaVersion(text(get(schema, MetaSchemaProperty.SCHEMA)));
+        instance.setTitle(text(get(schema, MetaSchemaProperty.TITLE)));
+        instance.setDescription(text(get(schema, MetaSchemaProperty.DESCRIPTION)));
+        instance.setFormat(text(get(schema, MetaSchemaProperty.FORMAT)));
+
+        readType(get(schema, MetaSchemaProperty.TYPE), instance);
+
+        JsonNode values = get(schema, MetaSchemaProperty.ENUM);
+        if (values != null && values.isArray()) {
+            Set<Object> e = new LinkedHashSet<>();
+            values.forEach(e::add);
+            instance.setEnum(e);
+        }
+
+        instance.setMultipleOf(number(get(schema, MetaSchemaProperty.MULTIPLE_OF)));
+        instance.setMinimum(number(get(schema, MetaSchemaProperty.MINIMUM)));
+        instance.setMaximum(number(get(schema, MetaSchemaProperty.MAXIMUM)));
+        readExclusiveBounds(schema, instance);
+
+        instance.setMinLength(integer(get(schema, MetaSchemaProperty.MIN_LENGTH)));
+        instance.setMaxLength(integer(get(schema, MetaSchemaProperty.MAX_LENGTH)));
+        String pattern = text(get(schema, MetaSchemaProperty.PATTERN));
+        if (pattern != null)
+            instance.setPattern(Pattern.compile(pattern));
+
+        instance.setMinItems(integer(get(schema, MetaSchemaProperty.MIN_ITEMS)));
+        instance.setMaxItems(integer(get(schema, MetaSchemaProperty.MAX_ITEMS)));
+        instance.setUniqueItems(bool(get(schema, MetaSchemaProperty.UNIQUE_ITEMS)));
+        instance.setAdditionalItems(bool(get(schema, MetaSchemaProperty.ADDITIONAL_ITEMS)));
+        JsonNode items = get(schema, MetaSchemaProperty.ITEMS);
+        if (items != null && items.isObject())
+            instance.setItems(read(items));
+
+        instance.setMinProperties(integer(get(schema, MetaSchemaProperty.MIN_PROPERTIES)));
+        instance.setMaxProperties(integer(get(schema, MetaSchemaProperty.MAX_PROPERTIES)));
+        instance.setAdditionalProperties(bool(get(schema, MetaSchemaProperty.ADDITIONAL_PROPERTIES)));
+
+        JsonNode required = get(schema, MetaSchemaProperty.REQUIRED);
+        if (required != null && required.isArray()) {
+            Set<String> names = new LinkedHashSet<>();
+            required.forEach(n -> names.add(n.asText()));
+            instance.setRequired(names);
+        }
+
+        JsonNode properties = get(schema, MetaSchemaProperty.PROPERTIES);
+        if (properties != null && properties.isObject()) {
+            Map<String, JsonSchemaInstance> map = new LinkedHashMap<>();
+            properties.fields().forEachRemaining(f -> map.put(f.getKey(), read(f.getValue())));
+            instance.setProperties(map);
+        }
+
+        instance.setAllOf(list(get(schema, MetaSchemaProperty.ALL_OF)));
+        instance.setAnyOf(list(get(schema, MetaSchemaProperty.ANY_OF)));
+        instance.setOneOf(list(get(schema, MetaSchemaProperty.ONE_OF)));
+        JsonNode not = get(schema, MetaSchemaProperty.NOT);
+        if (not != null && not.isObject())
+            instance.setNot(read(not));
+
+        return instance;
+    }
+
+    private void readType(JsonNode type, JsonSchemaInstance instance) {
+
+        if (type == null)
+            return;
+
+        List<String> types = new ArrayList<>();
+        if (type.isArray())
+            type.forEach(t -> types.add(t.asText()));
+        else
+            types.add(type.asText());
+
+        instance.setTypes(types);
+        if (types.size() == 1)
+            instance.setType(types.get(0));
+    }
+
+    private void readExclusiveBounds(JsonNode schema, JsonSchemaInstance instance) {
+
+        JsonNode exclusiveMinimum = get(schema, MetaSchemaProperty.EXCLUSIVE_MINIMUM);
+        if (exclusiveMinimum != null && exclusiveMinimum.isNumber()) {
+            if (instance.getMinimum() == null || exclusiveMinimum.doubleValue() >= instance.getMinimum()) {
+                instance.setMinimum(exclusiveMinimum.doubleValue());
+                instance.setExclusiveMinimum(true);
+            }
+        } else {
+            instance.setExclusiveMinimum(bool(exclusiveMinimum));
+        }
+
+        JsonNode exclusiveMaximum = get(schema, MetaSchemaProperty.EXCLUSIVE_MAXIMUM);
+        if (exclusiveMaximum != null && exclusiveMaximum.isNumber()) {
+            if (instance.getMaximum() == null || exclusiveMaximum.doubleValue() <= instance.getMaximum()) {
+                instance.setMaximum(exclusiveMaximum.doubleValue());
+                instance.setExclusiveMaximum(true);
+            }
+        } else {
+            instance.setExclusiveMaximum(bool(exclusiveMaximum));
+        }
+    }
+
+    private List<JsonSchemaInstance> list(JsonNode schemas) {
+        if (schemas == null || !schemas.isArray())
+            return null;
+        List<JsonSchemaInstance> list = new ArrayList<>();
+        schemas.forEach(s -> list.add(read(s)));
+        return list;
+    }
+
+    private static String text(JsonNode node) {
+        return node != null && node.isTextual() ? node.textValue() : null;
+    }
+
+    private static Double number(JsonNode node) {
+        return node != null && node.isNumber() ? node.doubleValue() : null;
+    }
+
+    private static Integer integer(JsonNode node) {
+        return node != null && node.isNumber() ? node.intValue() : null;
+    }
+
+    private static Boolean bool(JsonNode node) {
+        return node != null && node.isBoolean() ? node.booleanValue() : null;
+    }
+}
@@ -5,8 +5,10 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.rcsb.mojave.tools.jsonschema.SchemaRefResolver;
 import org.rcsb.mojave.tools.jsonschema.constants.JsonPointerConstants;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
+import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
 import org.rcsb.mojave.tools.jsonschema.traversal.algorithm.JsonSchemaTraversal;
 import org.rcsb.mojave.tools.jsonschema.traversal.builder.TreeBuilder;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.JsonReference;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
@@ -14,9 +16,13 @@ import org.rcsb.mojave.tools.jsonschema.traversal.visitors.Visitor;
 import org.rcsb.mojave.tools.jsonschema.utils.JsonSchemaNodeUtils;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * JSON schema tree traversal with visitors that can add/modify/remove
@@ -25,6 +31,13 @@ import java.util.Map;
  * Note: the combination of visitors is not necessarily commutative,
  * the visitor dependency should be explicitly resolved.
  *
+ * A node is dispatched only to the visitors that declare its label. The {@link VisitResult}
+ * returned by a visitor applies to that visitor: e.g. after {@link VisitResult#SKIP_SUBTREE}
+ * the visitor doesn't see the nodes below the current one, while the other visitors still do.
+ * The traversal itself is pruned as soon as none of the visitors is interested in the skipped
+ * nodes, and terminates when all the visitors are done. Resolved JSON references are walked
+ * as the subtree of the referring node, using an explicit stack of traversals.
+ *
  * Created on 8/16/19.
  *
  * @author Yana Valasatava
@@ -103,7 +116,7 @@ public class JsonSchemaWalker {
             if (useTitle) {
                 String title = schema.get(MetaSchemaProperty.TITLE).asText();
                 initCtx.setTitleIncluded(true);
-                initCtx.getLineage().add(title);
+                initCtx.appendLineage(title);
             }
 
             if (builder != null)
@@ -132,17 +145,31 @@ public class JsonSchemaWalker {
         this.visitors = visitors;
     }
 
-    private void acceptVisitors(JsonNode node, TraversalContext ctx) {
+    /**
+     * Dispatches a node to the visitors that are interested in it.
+     *
+     * @return how the traversal should continue, the least pruning result that is consistent with
+     * the state of all the visitors.
+     */
+    private VisitResult acceptVisitors(JsonNode node, TraversalContext ctx, int depth, boolean preOrder,
+                                       List<VisitorState> states) {
 
-        if (visitors == null || visitors.isEmpty())
-            return;
+        if (states.isEmpty())
+            return VisitResult.CONTINUE;
 
         VisitableNode vNode = new VisitableNode();
         vNode.setNode(node);
         vNode.setTraversalContext(ctx);
 
-        for (Visitor visitor : visitors)
-            vNode.accept(visitor);
+        VisitResult result = VisitResult.TERMINATE;
+        for (VisitorState state : states) {
+            if (state.isActive(depth) && state.accepts(ctx.getLabel()))
+                state.update(vNode.accept(state.visitor), depth, preOrder);
+            VisitResult allowed = state.allowedPruning(depth);
+            if (allowed.compareTo(result) < 0)
+                result = allowed;
+        }
+        return result;
     }
 
     /**
@@ -167,26 +194,104 @@ public class JsonSchemaWalker {
         return resolvedNode;
     }
 
-    private void walk(JsonSchemaTraversal traversal) throws IOException {
-        while (traversal.hasNext()) {
+    private JsonSchemaTraversal traversal(JsonNode node, TraversalContext ctx) {
+        JsonSchemaTraversal traversal = new JsonSchemaTraversal();
+        traversal.setTraversalStrategy(strategy);
+        traversal.traverse(node, ctx);
+        return traversal;
+    }
+
+    public void walk() throws IOException {
+
+        List<VisitorState> states = new ArrayList<>();
+        if (visitors != null)
+            visitors.forEach(v -> states.add(new VisitorState(v)));
+
+        // traversals of the schema and of the resolved references, paired with the depth of their roots
+        Deque<Pair<JsonSchemaTraversal, Integer>> traversals = new ArrayDeque<>();
+        traversals.push(Pair.of(traversal(initCtx.getSchema(), initCtx), 0));
+
+        while (!traversals.isEmpty()) {
+
+            JsonSchemaTraversal traversal = traversals.peek().getLeft();
+            if (!traversal.hasNext()) {
+                traversals.pop();
+                continue;
+            }
+
             Pair<JsonNode, TraversalContext> item = traversal.next();
-            acceptVisitors(item.getLeft(), item.getRight());
+            int depth = traversals.peek().getRight() + traversal.getDepth();
+            boolean preOrder = traversal.getTraversalStrategy() == JsonSchemaTraversal.Strategy.PRE_ORDER;
+
+            VisitResult result = acceptVisitors(item.getLeft(), item.getRight(), depth, preOrder, states);
+            if (result == VisitResult.TERMINATE)
+                return;
+            if (result != VisitResult.CONTINUE) {
+                traversal.skip(result);
+                continue;
+            }
+
             if (JsonSchemaNodeUtils.isRef(item.getLeft()) && resolveRef) {
                 JsonNode refSchema = dereference(item.getLeft(), item.getRight());
-                if (refSchema != null) {
-                    JsonSchemaTraversal refTraversal = new JsonSchemaTraversal();
-                    refTraversal.setTraversalStrategy(traversal.getTraversalStrategy());
-                    refTraversal.traverse(refSchema, item.getRight());
-                    walk(refTraversal);
-                }
+                if (refSchema != null)
+                    traversals.push(Pair.of(traversal(refSchema, item.getRight()), depth + 1));
             }
         }
     }
 
-    public void walk() throws IOException {
-        JsonSchemaTraversal traversal = new JsonSchemaTraversal();
-        traversal.setTraversalStrategy(strategy);
-        traversal.traverse(initCtx.getSchema(), initCtx);
-        walk(traversal);
+    /**
+     * Tracks the part of the tree a visitor has opted out of. The visitor doesn't see the nodes
+     * deeper than the limit until the traversal gets back to the limit depth.
+     */
+    private static final class VisitorState {
+
+        private static final int NO_LIMIT = Integer.MAX_VALUE;
+
+        private final Visitor visitor;
+        private final Set<TraversalLabel> labels;
+        private int limit = NO_LIMIT;
+        private boolean terminated;
+
+        private VisitorState(Visitor visitor) {
+            this.visitor = visitor;
+            this.labels = visitor.getLabels();
+        }
+
+        private boolean isActive(int depth) {
+            if (depth <= limit)
+                limit = NO_LIMIT;
+            return !terminated && limit == NO_LIMIT;
+        }
+
+        private boolean accepts(TraversalLabel label) {
+            return label == null || labels.contains(label);
+        }
+
+        private void update(VisitResult result, int depth, boolean preOrder) {
+            switch (result) {
+                case SKIP_SUBTREE:
+                    // in post-order the subtree has been visited already
+                    if (preOrder)
+                        limit = depth;
+                    break;
+                case SKIP_SIBLINGS:
+                    limit = Math.max(depth - 1, 0);
+                    break;
+                case TERMINATE:
+                    terminated = true;
+                    break;
+                default:
+            }
+        }
+
+        private VisitResult allowedPruning(int depth) {
+            if (terminated)
+                return VisitResult.TERMINATE;
+            if (limit <= Math.max(depth - 1, 0))
+                return VisitResult.SKIP_SIBLINGS;
+            if (limit <= depth)
+                return VisitResult.SKIP_SUBTREE;
+            return VisitResult.CONTINUE;
+        }
     }
 }
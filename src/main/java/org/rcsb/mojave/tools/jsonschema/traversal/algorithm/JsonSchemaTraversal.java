@@ -6,11 +6,16 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.rcsb.mojave.tools.jsonschema.constants.JsonPointerConstants;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.utils.JsonSchemaNodeUtils;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * JSON schema tree traversal supports the following strategies:
@@ -38,6 +43,18 @@ import java.util.LinkedList;
  *
  * will happen in the following order: 6 5 4 3 2 1 (post-order right-to-left traversal)
  *
+ * By default nodes are produced lazily: an explicit stack holds the nodes scheduled
+ * for visiting and the children of a node are expanded only when the node is reached
+ * (when it is returned for {@link Strategy#PRE_ORDER}, when it is descended into for
+ * {@link Strategy#POST_ORDER}). Peak memory is therefore proportional to the depth of
+ * the schema times its fan-out rather than to the size of the whole tree. The visiting
+ * order is the same as when the whole tree is materialized up front, which can still be
+ * requested with {@link #setLazy(boolean)}.
+ *
+ * The nodes that follow the most recently returned one can be pruned with {@link #skip(VisitResult)}.
+ * The nodes holding "properties" and combined schemas are at the same depth as the schemas they hold,
+ * i.e. these schemas are siblings of the keyword node rather than its subtree.
+ *
  * Created on 1/12/20.
  *
  * @author Yana Valasatava
@@ -46,10 +63,22 @@ import java.util.LinkedList;
 public class JsonSchemaTraversal implements Iterator<Pair<JsonNode, TraversalContext>> {
 
     private Strategy strategy = Strategy.POST_ORDER; // default traversal strategy
-    private LinkedList<Pair<JsonNode, TraversalContext>> queue;
+    private boolean lazy = true;
+
+    // materialized mode: all the nodes in pre-order
+    private final Deque<Entry> queue;
+
+    // lazy mode: nodes scheduled for visiting and pre-order roots waiting for the stack to drain
+    private final Deque<Entry> stack;
+    private final Deque<Entry> roots;
+
+    // the most recently returned node
+    private Entry current;
 
     public JsonSchemaTraversal() {
-        queue = new LinkedList<>();
+        queue = new ArrayDeque<>();
+        stack = new ArrayDeque<>();
+        roots = new ArrayDeque<>();
     }
 
     public void setTraversalStrategy(Strategy strategy) {
@@ -61,7 +90,30 @@ public class JsonSchemaTraversal implements Iterator<Pair<JsonNode, TraversalCon
         return this.strategy;
     }
 
+    /**
+     * When set to false, the whole tree is traversed and kept in memory as soon as
+     * {@link #traverse(JsonNode, TraversalContext)} is called. Should be configured
+     * before the traversal starts.
+     *
+     * @param lazy true (default) to produce nodes on demand.
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Labels the context with the type of a given node. Elements of an array node share
+     * the traversal context of the array, the label of such a context is the label of
+     * the last element (the innermost one for nested arrays).
+     */
     private void setLabel(JsonNode node, TraversalContext ctx) {
+        while (node.isArray() && node.size() > 0)
+            node = node.get(node.size() - 1);
+
         if (JsonSchemaNodeUtils.isObject(node))
             ctx.setLabel(TraversalLabel.OBJECT);
         else if (JsonSchemaNodeUtils.isArray(node))
@@ -79,18 +131,20 @@ public class JsonSchemaTraversal implements Iterator<Pair<JsonNode, TraversalCon
             ctxCopy.setLabel(null);
         } else {
             ctxCopy.setRef(false);
-            ctxCopy.setJsonPointer(ctx.getJsonPointer()
-                    .append(JsonPointer.compile(JsonPointer.SEPARATOR+name)));
-            ctxCopy.getLineage().add(name);
+            ctxCopy.appendJsonPointer(JsonPointer.SEPARATOR+name);
+            ctxCopy.appendLineage(name);
         }
 
         return ctxCopy;
     }
 
-    private void traverseProperty(String name, JsonNode node, TraversalContext ctx) {
+    private void traversePropertiesSchema(JsonNode node, TraversalContext ctx, int depth, List<Entry> children) {
 
-        TraversalContext ctxAttr = buildPropertySchemaCxt(name, node, ctx);
-        traverse(node, ctxAttr);
+        TraversalContext ctxCopy = buildPropertiesSchemaCxt(ctx);
+        JsonNode properties = node.get(MetaSchemaProperty.PROPERTIES);
+        children.add(Entry.visit(properties, ctxCopy, depth));
+        properties.fields().forEachRemaining(f -> children.add(
+                traversal(f.getValue(), buildPropertySchemaCxt(f.getKey(), f.getValue(), ctxCopy), depth)));
     }
 
     private TraversalContext buildPropertiesSchemaCxt(TraversalContext ctx) {
@@ -98,34 +152,25 @@ public class JsonSchemaTraversal implements Iterator<Pair<JsonNode, TraversalCon
         TraversalContext ctxCopy = ctx.deepCopy();
         ctxCopy.setRef(false);
         ctxCopy.setLabel(TraversalLabel.PROPERTIES);
-        ctxCopy.setJsonPointer(ctx.getJsonPointer()
-                .append(JsonPointer.compile(JsonPointer.SEPARATOR+MetaSchemaProperty.PROPERTIES)));
+        ctxCopy.appendJsonPointer(JsonPointerConstants.PROPERTIES);
 
         return ctxCopy;
     }
 
-    private void traversePropertiesSchema(JsonNode node, TraversalContext ctx) {
-
-        TraversalContext ctxCopy = buildPropertiesSchemaCxt(ctx);
-        JsonNode properties = node.get(MetaSchemaProperty.PROPERTIES);
-        queue.add(Pair.of(properties, ctxCopy));
-        properties.fieldNames().forEachRemaining(name -> traverseProperty(name, properties.get(name), ctxCopy));
-    }
-
     private TraversalContext buildArraySchemaCtx(TraversalContext ctx) {
 
         TraversalContext ctxCopy = ctx.deepCopy();
         ctxCopy.setRef(false);
-        ctxCopy.setJsonPointer(ctx.getJsonPointer().append(JsonPointerConstants.ARRAY));
+        ctxCopy.appendJsonPointer(JsonPointerConstants.ARRAY);
 
         return ctxCopy;
     }
 
-    private void traverseArraySchema(JsonNode node, TraversalContext ctx) {
+    private void traverseArraySchema(JsonNode node, TraversalContext ctx, int depth, List<Entry> children) {
 
         JsonNode array = node.get(MetaSchemaProperty.ITEMS);
         TraversalContext ctxCopy = buildArraySchemaCtx(ctx);
-        traverse(array, ctxCopy);
+        children.add(traversal(array, ctxCopy, depth));
     }
 
     private TraversalContext buildCombinedSchemaCtx(String keyword, TraversalContext ctx) {
@@ -133,12 +178,11 @@ public class JsonSchemaTraversal implements Iterator<Pair<JsonNode, TraversalCon
         TraversalContext ctxCopy = ctx.deepCopy();
         ctxCopy.setRef(false);
         ctxCopy.setLabel(TraversalLabel.COMBINED);
-        ctxCopy.setJsonPointer(ctx.getJsonPointer()
-                .append(JsonPointer.compile(JsonPointer.SEPARATOR+keyword)));
+        ctxCopy.appendJsonPointer(JsonPointer.SEPARATOR+keyword);
         return ctxCopy;
     }
 
-    private void traverseCombinedSchema(JsonNode node, TraversalContext ctx) {
+    private void traverseCombinedSchema(JsonNode node, TraversalContext ctx, int depth, List<Entry> children) {
 
         String keyword;
         if (node.has(MetaSchemaProperty.ANY_OF))
@@ -151,68 +195,236 @@ public class JsonSchemaTraversal implements Iterator<Pair<JsonNode, TraversalCon
         node = node.get(keyword);
         TraversalContext ctxCopy = buildCombinedSchemaCtx(keyword, ctx);
 
-        queue.add(Pair.of(node, ctxCopy));
-        traverse(node, ctxCopy);
+        children.add(Entry.visit(node, ctxCopy, depth));
+        children.add(traversal(node, ctxCopy, depth));
     }
 
-    public void traverse(JsonNode node) {
-
-        TraversalContext initCtx = new TraversalContext();
-        initCtx.setSchema(node);
-        initCtx.setJsonPointer(JsonPointerConstants.ROOT);
-
-        traverse(node, initCtx);
+    private Entry traversal(JsonNode node, TraversalContext ctx, int depth) {
+        setLabel(node, ctx);
+        return Entry.descend(node, ctx, depth);
     }
 
     /**
-     * Recursively traverses through JSON schema tree, visiting each and every
-     * existing node, without revisiting a node that has already been traversed.
-     *
-     * Note: {@link JsonNode} is mutable, this method modifies schema in place.
+     * Lists the entries that follow a given node in pre-order, i.e. the node's
+     * children (and the keyword nodes holding them) in the order they are visited.
      */
-    public void traverse(JsonNode node, TraversalContext ctx) {
+    private List<Entry> expand(Entry entry) {
 
-        setLabel(node, ctx);
-        queue.add(Pair.of(node, ctx));
+        List<Entry> children = new ArrayList<>();
+        JsonNode node = entry.node;
+        int depth = entry.depth + 1;
 
         if (node.isArray()) {
+            // array elements share the context of the array, which is already labeled
             for (JsonNode aNode : node)
-                traverse(aNode, ctx);
+                children.add(Entry.descend(aNode, entry.ctx, depth));
         } else if (node.isObject()) {
             if (node.has(MetaSchemaProperty.PROPERTIES))
-                traversePropertiesSchema(node, ctx);
+                traversePropertiesSchema(node, entry.ctx, depth, children);
             else if (JsonSchemaNodeUtils.isArray(node))
-                traverseArraySchema(node, ctx);
+                traverseArraySchema(node, entry.ctx, depth, children);
             else if (JsonSchemaNodeUtils.isComposite(node))
-                traverseCombinedSchema(node, ctx);
+                traverseCombinedSchema(node, entry.ctx, depth, children);
             else if (JsonSchemaNodeUtils.isMultiType(node)) {
                 // TODO: handle multiple types declared through the "type" keyword
             }
         } else if (node.isBoolean()) {
             //TODO: handle boolean node
         }
+        return children;
+    }
+
+    private void materialize(Entry root) {
+        Deque<Entry> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Entry entry = pending.pop();
+            queue.add(entry);
+            if (entry.descend) {
+                List<Entry> children = expand(entry);
+                for (int i = children.size() - 1; i >= 0; i--)
+                    pending.push(children.get(i));
+            }
+        }
+    }
+
+    public void traverse(JsonNode node) {
+
+        TraversalContext initCtx = new TraversalContext();
+        initCtx.setSchema(node);
+        initCtx.setJsonPointer(JsonPointerConstants.ROOT);
+
+        traverse(node, initCtx);
+    }
+
+    /**
+     * Traverses through JSON schema tree, visiting each and every existing node,
+     * without revisiting a node that has already been traversed. Can be called
+     * while iterating: the nodes of a given tree are visited next for
+     * {@link Strategy#POST_ORDER} and after all the scheduled nodes for
+     * {@link Strategy#PRE_ORDER}.
+     *
+     * Note: {@link JsonNode} is mutable, this method modifies schema in place.
+     */
+    public void traverse(JsonNode node, TraversalContext ctx) {
+
+        Entry root = traversal(node, ctx, 0);
+
+        if (!lazy)
+            materialize(root);
+        else if (strategy == Strategy.PRE_ORDER)
+            roots.addLast(root);
+        else
+            stack.push(root);
     }
 
     @Override
     public boolean hasNext() {
-        return !queue.isEmpty();
+        if (!lazy)
+            return !queue.isEmpty();
+        return !stack.isEmpty() || !roots.isEmpty();
+    }
+
+    private Entry nextPreOrder() {
+
+        if (stack.isEmpty())
+            stack.push(roots.pollFirst());
+
+        Entry entry = stack.pop();
+        if (entry.descend) {
+            List<Entry> children = expand(entry);
+            for (int i = children.size() - 1; i >= 0; i--)
+                stack.push(children.get(i));
+        }
+        return entry;
+    }
+
+    private Entry nextPostOrder() {
+
+        while (true) {
+            Entry entry = stack.peek();
+            if (!entry.descend || entry.expanded) {
+                stack.pop();
+                return entry;
+            }
+            // children are pushed in pre-order, the last one is visited first
+            entry.expanded = true;
+            for (Entry child : expand(entry))
+                stack.push(child);
+        }
     }
 
     @Override
     public Pair<JsonNode, TraversalContext> next() {
 
+        if (!hasNext())
+            throw new NoSuchElementException("There are no more nodes to visit.");
+
         switch (strategy) {
             case PRE_ORDER:
-                return queue.pollFirst();
+                current = lazy ? nextPreOrder() : queue.pollFirst();
+                break;
             case POST_ORDER:
-                return queue.pollLast();
+                current = lazy ? nextPostOrder() : queue.pollLast();
+                break;
             default:
                 throw new UnsupportedOperationException("Unsupported traversal order: "+strategy.name());
         }
+        return current.asPair();
+    }
+
+    /**
+     * @return depth of the most recently returned node relative to the root of its tree.
+     */
+    public int getDepth() {
+        if (current == null)
+            throw new IllegalStateException("No node has been visited yet.");
+        return current.depth;
+    }
+
+    /**
+     * Removes the upcoming nodes that are deeper than a given depth. These are the nodes that
+     * follow the most recently returned node in the traversal order until the first node at the
+     * given depth or above.
+     */
+    private void prune(int depth) {
+        if (!lazy) {
+            if (strategy == Strategy.PRE_ORDER)
+                while (!queue.isEmpty() && queue.peekFirst().depth > depth)
+                    queue.pollFirst();
+            else
+                while (!queue.isEmpty() && queue.peekLast().depth > depth)
+                    queue.pollLast();
+        } else {
+            // the stack holds the pending nodes of the current tree only, other roots are never pruned
+            while (!stack.isEmpty() && stack.peek().depth > depth)
+                stack.pop();
+        }
+    }
+
+    /**
+     * Prunes the traversal according to the result of visiting the most recently returned node.
+     *
+     * @param result {@link VisitResult#SKIP_SUBTREE} skips the nodes below the current one (pre-order only),
+     *               {@link VisitResult#SKIP_SIBLINGS} skips the remaining siblings of the current node,
+     *               {@link VisitResult#TERMINATE} ends the traversal.
+     */
+    public void skip(VisitResult result) {
+
+        int depth = getDepth();
+
+        switch (result) {
+            case SKIP_SUBTREE:
+                if (strategy == Strategy.PRE_ORDER)
+                    prune(depth);
+                break;
+            case SKIP_SIBLINGS:
+                // roots of the trees have no siblings
+                prune(Math.max(depth - 1, 0));
+                break;
+            case TERMINATE:
+                queue.clear();
+                stack.clear();
+                roots.clear();
+                break;
+            default:
+        }
     }
 
     public enum Strategy {
         PRE_ORDER,
         POST_ORDER
     }
+
+    /**
+     * A node scheduled for visiting. Nodes reached through {@link #traverse(JsonNode, TraversalContext)}
+     * are descended into; the nodes holding "properties" and combined schemas are only visited.
+     */
+    private static final class Entry {
+
+        private final JsonNode node;
+        private final TraversalContext ctx;
+        private final int depth;
+        private final boolean descend;
+        private boolean expanded;
+
+        private Entry(JsonNode node, TraversalContext ctx, int depth, boolean descend) {
+            this.node = node;
+            this.ctx = ctx;
+            this.depth = depth;
+            this.descend = descend;
+        }
+
+        static Entry descend(JsonNode node, TraversalContext ctx, int depth) {
+            return new Entry(node, ctx, depth, true);
+        }
+
+        static Entry visit(JsonNode node, TraversalContext ctx, int depth) {
+            return new Entry(node, ctx, depth, false);
+        }
+
+        Pair<JsonNode, TraversalContext> asPair() {
+            return Pair.of(node, ctx);
+        }
+    }
 }
@@ -3,18 +3,26 @@ package org.rcsb.mojave.tools.jsonschema.traversal.builder;
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import org.apache.commons.lang3.tuple.Pair;
 import org.rcsb.mojave.tools.jsonschema.SchemaStitching;
-import org.rcsb.mojave.tools.jsonschema.constants.JsonPointerConstants;
 import org.rcsb.mojave.tools.utils.ConfigurableMapper;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
 
 /**
+ * Builds a JSON tree from nodes added at JSON pointer locations. Nodes are merged into the tree level by level
+ * (the shorter the pointer - the closer the node is located to the root), nodes of the same level in the order
+ * they were added. A node that is equal to one already added at the same location is ignored.
+ * <p>
+ * Pointers are interned in a trie of their segments. Each trie node caches the tree node it was resolved to:
+ * merging a node only replaces nodes below its own location, which aren't resolved yet when the tree is built
+ * level by level.
+ *
  * Created on 1/2/20.
  *
  * @author Yana Valasatava
@@ -22,64 +30,136 @@ import java.util.regex.Pattern;
  */
 public class JsonSchemaBuilder implements TreeBuilder {
 
-    private List<Pair<JsonPointer, JsonNode>> nodes = new ArrayList<>();
+    private final Segment root = new Segment(null, null, -1);
+
+    private final List<Entry> nodes = new ArrayList<>();
+    private final Set<Entry> index = new HashSet<>();
+
+    private int maxDepth;
 
     @Override
     public void add(JsonPointer path, JsonNode node) {
 
-        if (!nodes.contains(Pair.of(path, node)))
-            nodes.add(Pair.of(path, node));
-    }
+        Segment segment = root;
+        for (JsonPointer p = path; !p.matches(); p = p.tail())
+            segment = segment.child(p.getMatchingProperty(), p.getMatchingIndex());
 
-    private int countLevels(String line) {
-        return line.length() - line.replace("/", "").length();
+        Entry entry = new Entry(segment, node);
+        if (index.add(entry)) {
+            nodes.add(entry);
+            maxDepth = Math.max(maxDepth, segment.depth);
+        }
     }
 
-    private void addMissingNode(ObjectNode tree, JsonPointer missingPath) {
-
-        String[] tokens = missingPath.toString().split(Pattern.quote("/"));
-
-        for (String t : tokens) {
-            if (t.isEmpty())
-                continue;
-            JsonPointer path = JsonPointer.compile(String.format("/%s", t));
-            if (tree.at(path).isMissingNode()) {
-                ObjectNode missingNode = ConfigurableMapper.getMapper().createObjectNode();
-                tree.set(t, missingNode);
-                tree = missingNode;
-            } else
-                tree = (ObjectNode) tree.at(path);
+    /**
+     * Locates the tree node of a given segment, creating missing object nodes along the way.
+     */
+    private JsonNode resolve(Segment segment, ObjectNode tree) throws IOException {
+
+        if (segment == root)
+            return tree;
+        if (segment.resolved != null)
+            return segment.resolved;
+
+        JsonNode parent = resolve(segment.parent, tree);
+        JsonNode node = parent.isArray() ? parent.get(segment.index) : parent.get(segment.name);
+        if (node == null) {
+            if (!parent.isObject())
+                throw new IOException("Cannot build JsonNode tree. Node at " + segment.parent + " is not an object.");
+            node = ((ObjectNode) parent).putObject(segment.name);
         }
+        segment.resolved = node;
+        return node;
     }
 
     @Override
     public JsonNode buildTree() throws IOException {
 
-        // sort by the number of levels in the pointer (the shorter the pointer - the closer this node
-        // is located to the root)
-        nodes.sort(Comparator.comparingInt(o -> countLevels(o.getLeft().toString())));
+        // single pass over the nodes ordered by the number of levels in the pointer, stable within a level
+        List<List<Entry>> levels = new ArrayList<>(maxDepth + 1);
+        for (int i = 0; i <= maxDepth; i++)
+            levels.add(new ArrayList<>());
+        for (Entry entry : nodes)
+            levels.get(entry.segment.depth).add(entry);
 
         ObjectNode tree = ConfigurableMapper.getMapper().createObjectNode();
 
-        for (Pair<JsonPointer, JsonNode> pair : nodes) {
+        clearResolved(root);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            for (Entry entry : levels.get(depth)) {
+                JsonNode locatedNode = resolve(entry.segment, tree);
+                try {
+                    SchemaStitching.mergeSchemas(locatedNode, entry.node);
+                } catch (Exception e) {
+                    String contextMessage = "Cannot build JsonNode tree.";
+                    throw new IOException(contextMessage, e);
+                }
+            }
+        }
+        return tree;
+    }
 
-            if (pair.getLeft().equals(JsonPointerConstants.ROOT))
-                continue;
+    private static void clearResolved(Segment segment) {
+        segment.resolved = null;
+        segment.children.values().forEach(JsonSchemaBuilder::clearResolved);
+    }
 
-            JsonPointer p = pair.getLeft();
-            JsonNode n = pair.getRight();
+    /**
+     * Segment of a JSON pointer in the trie of the added pointers.
+     */
+    private static final class Segment {
 
-            if (tree.at(p).isMissingNode())
-                addMissingNode(tree, p);
+        private final Segment parent;
+        private final String name;
+        private final int index;
+        private final int depth;
+        private final Map<String, Segment> children = new HashMap<>();
 
-            JsonNode locatedNode = tree.at(p);
-            try {
-                SchemaStitching.mergeSchemas(locatedNode, n);
-            } catch (Exception e) {
-                String contextMessage = "Cannot build JsonNode tree.";
-                throw new IOException(contextMessage, e);
-            }
+        private JsonNode resolved;
+
+        private Segment(Segment parent, String name, int index) {
+            this.parent = parent;
+            this.name = name;
+            this.index = index;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+        private Segment child(String name, int index) {
+            return children.computeIfAbsent(name, n -> new Segment(this, n, index));
+        }
+
+        @Override
+        public String toString() {
+            return parent == null ? "" : parent + "/" + name;
+        }
+    }
+
+    /**
+     * A node added at a location. The structural hash of the node is computed once.
+     */
+    private static final class Entry {
+
+        private final Segment segment;
+        private final JsonNode node;
+        private final int hash;
+
+        private Entry(Segment segment, JsonNode node) {
+            this.segment = segment;
+            this.node = node;
+            this.hash = 31 * System.identityHashCode(segment) + node.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry)) return false;
+            Entry that = (Entry) o;
+            return segment == that.segment && hash == that.hash && node.equals(that.node);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
         }
-        return tree;
     }
 }
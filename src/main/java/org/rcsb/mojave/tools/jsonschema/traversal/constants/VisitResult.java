@@ -0,0 +1,26 @@
+package org.rcsb.mojave.tools.jsonschema.traversal.constants;
+
+/**
+ * Result of a visit that tells the traversal how to continue. The constants are ordered from the least to
+ * the most pruning, when several visitors see the same node the traversal prunes as little as any of them.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public enum VisitResult {
+
+    // Continue with the next node.
+    CONTINUE,
+
+    // Don't visit the nodes below the current one. Has no effect for post-order traversal
+    // where the nodes below are visited first.
+    SKIP_SUBTREE,
+
+    // Don't visit the remaining siblings of the current node (and the nodes below them).
+    // For pre-order traversal the nodes below the current one are skipped too.
+    SKIP_SIBLINGS,
+
+    // Stop visiting.
+    TERMINATE
+}
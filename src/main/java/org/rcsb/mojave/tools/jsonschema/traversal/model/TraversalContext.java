@@ -6,10 +6,17 @@ import org.rcsb.mojave.tools.jsonschema.constants.JsonPointerConstants;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
 import org.rcsb.mojave.tools.jsonschema.traversal.builder.TreeBuilder;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Traversal context is persistent: the field lineage and the JSON pointer are stored as
+ * parent-linked frames, where each frame holds only its own segment. Copies share the
+ * frames of the original context, so {@link #deepCopy()} is a constant time operation.
+ * Lineage lists, fully qualified names and JSON pointers are built lazily, only when
+ * requested.
+ *
  * Created on 8/16/19.
  *
  * @author Yana Valasatava
@@ -20,21 +27,23 @@ public class TraversalContext {
     private TreeBuilder builder;
 
     private JsonNode schema;                // the schema passed to traversal algorithm
-    private JsonPointer jsonPointer;        // from the root of the schema to the current schema node
+    private PointerFrame jsonPointer;       // from the root of the schema to the current schema node
 
     private boolean isRef;                  // is true when the current schema node is a resolved $ref pointer
 
     private TraversalLabel label;
 
     private boolean titleIncluded;
-    private List<String> lineage;           // full field lineage for the current schema node
+    private LineageFrame lineage;           // full field lineage for the current schema node
 
-    public TraversalContext() {
-        lineage = new ArrayList<>();
-    }
+    // lineage materialized for the current lineage frame
+    private LineageFrame materializedFrame;
+    private String[] materializedLineage;
+
+    public TraversalContext() {}
 
     public boolean isProperty() {
-        return jsonPointer.head().getMatchingProperty()
+        return getJsonPointer().head().getMatchingProperty()
                 .equals(JsonPointerConstants.PROPERTIES.getMatchingProperty());
     }
 
@@ -47,11 +56,26 @@ public class TraversalContext {
     }
 
     public JsonPointer getJsonPointer() {
-        return jsonPointer;
+        return jsonPointer == null ? null : jsonPointer.resolve();
     }
 
     public void setJsonPointer(JsonPointer jsonPointer) {
-        this.jsonPointer = jsonPointer;
+        this.jsonPointer = jsonPointer == null ? null : new PointerFrame(jsonPointer);
+    }
+
+    /**
+     * Appends a tail to the pointer of the current schema node. The resulting pointer
+     * is the same as the one obtained with {@link JsonPointer#append(JsonPointer)},
+     * but it's only computed when requested.
+     *
+     * @param tail pointer expression to be appended, e.g. "/properties".
+     */
+    public void appendJsonPointer(String tail) {
+        jsonPointer = new PointerFrame(jsonPointer, tail, null);
+    }
+
+    public void appendJsonPointer(JsonPointer tail) {
+        jsonPointer = new PointerFrame(jsonPointer, null, tail);
     }
 
     /**
@@ -60,7 +84,7 @@ public class TraversalContext {
      * @return pointer to the parent node.
      */
     public JsonPointer getParentJsonPointer() {
-        return jsonPointer.head();
+        return getJsonPointer().head();
     }
 
     /**
@@ -72,7 +96,12 @@ public class TraversalContext {
         int index = 1;
         if (isTitleIncluded())
             index = 2;
-        return lineage.size() <= index ? null : lineage.get(lineage.size()-(index+1));
+        if (lineage == null || lineage.size <= index)
+            return null;
+        LineageFrame frame = lineage;
+        for (int i = 0; i < index; i++)
+            frame = frame.parent;
+        return frame.name;
     }
 
     /**
@@ -81,7 +110,7 @@ public class TraversalContext {
      * @return property name
      */
     public String getCurrentFieldName() {
-        return lineage.isEmpty() ? null : lineage.get(lineage.size()-1);
+        return lineage == null ? null : lineage.name;
     }
 
     public void setRef(boolean f) {
@@ -100,19 +129,51 @@ public class TraversalContext {
         this.titleIncluded = titleIncluded;
     }
 
+    /**
+     * The field lineage of the current schema node. The returned list is a mutable view
+     * backed by this context: changes of the list change the lineage and vice versa.
+     * Appending is cheap, other changes rebuild the lineage of this context only.
+     *
+     * @return field names from the root of the schema to the current schema node.
+     */
     public List<String> getLineage() {
-        return lineage;
+        return new LineageView();
+    }
+
+    /**
+     * Appends a field name to the lineage of the current schema node. Copies of
+     * this context made earlier are not affected.
+     *
+     * @param name field name
+     */
+    public void appendLineage(String name) {
+        lineage = new LineageFrame(lineage, name);
     }
 
     public String getFullyQualifiedName() {
         int index = 0;
         if (isTitleIncluded())
             index = 1;
-        return String.join(".", getLineage().subList(index, getLineage().size()));
+        String[] names = materializeLineage();
+        StringBuilder sb = new StringBuilder();
+        for (int i = index; i < names.length; i++) {
+            if (i > index)
+                sb.append('.');
+            sb.append(names[i]);
+        }
+        return sb.toString();
     }
 
+    /**
+     * Replaces the lineage of the current schema node with the names of the given list.
+     * The list is copied, later changes of it do not affect this context.
+     *
+     * @param lineage field names from the root of the schema to the current schema node
+     */
     public void setLineage(List<String> lineage) {
-        this.lineage = lineage;
+        this.lineage = null;
+        for (String name : lineage)
+            appendLineage(name);
     }
 
     public TreeBuilder getBuilder() {
@@ -131,6 +192,17 @@ public class TraversalContext {
         this.label = label;
     }
 
+    private String[] materializeLineage() {
+        if (materializedLineage == null || materializedFrame != lineage) {
+            String[] names = new String[lineage == null ? 0 : lineage.size];
+            for (LineageFrame frame = lineage; frame != null; frame = frame.parent)
+                names[frame.size - 1] = frame.name;
+            materializedLineage = names;
+            materializedFrame = lineage;
+        }
+        return materializedLineage;
+    }
+
     public TraversalContext deepCopy() {
 
         TraversalContext ctxClone = new TraversalContext();
@@ -140,14 +212,108 @@ public class TraversalContext {
         // we want to pass around the builder object
         ctxClone.setBuilder(this.builder);
 
-        ctxClone.setJsonPointer(this.getJsonPointer()!=null?
-                JsonPointer.compile(this.getJsonPointer().toString()):null);
+        // frames are immutable and shared between copies
+        ctxClone.jsonPointer = this.jsonPointer;
 
         ctxClone.setRef(this.isRef);
 
         ctxClone.setLabel(this.getLabel());
-        ctxClone.setLineage(new ArrayList<>(this.getLineage()));
+        ctxClone.lineage = this.lineage;
 
         return ctxClone;
     }
+
+    /**
+     * Immutable element of a field lineage linked to the lineage of the parent node.
+     */
+    private static final class LineageFrame {
+
+        private final LineageFrame parent;
+        private final String name;
+        private final int size;
+
+        private LineageFrame(LineageFrame parent, String name) {
+            this.parent = parent;
+            this.name = name;
+            this.size = parent == null ? 1 : parent.size + 1;
+        }
+    }
+
+    /**
+     * Segment of a JSON pointer linked to the pointer of the parent node. The
+     * pointer is resolved on first request and cached.
+     */
+    private static final class PointerFrame {
+
+        private final PointerFrame parent;
+        private final String tailExpression;
+        private final JsonPointer tail;
+        private JsonPointer pointer;
+
+        private PointerFrame(JsonPointer pointer) {
+            this(null, null, null);
+            this.pointer = pointer;
+        }
+
+        private PointerFrame(PointerFrame parent, String tailExpression, JsonPointer tail) {
+            this.parent = parent;
+            this.tailExpression = tailExpression;
+            this.tail = tail;
+        }
+
+        private JsonPointer resolve() {
+            if (pointer == null) {
+                if (parent == null || parent.resolve() == null)
+                    throw new IllegalStateException("JSON pointer is appended to an undefined pointer.");
+                JsonPointer t = tail != null ? tail : JsonPointer.compile(tailExpression);
+                pointer = parent.resolve().append(t);
+            }
+            return pointer;
+        }
+    }
+
+    /**
+     * View of the lineage of the backing context.
+     */
+    private final class LineageView extends AbstractList<String> {
+
+        @Override
+        public String get(int index) {
+            return materializeLineage()[index];
+        }
+
+        @Override
+        public int size() {
+            return lineage == null ? 0 : lineage.size;
+        }
+
+        @Override
+        public boolean add(String name) {
+            appendLineage(name);
+            return true;
+        }
+
+        @Override
+        public void add(int index, String name) {
+            List<String> names = new ArrayList<>(this);
+            names.add(index, name);
+            setLineage(names);
+        }
+
+        @Override
+        public String set(int index, String name) {
+            List<String> names = new ArrayList<>(this);
+            String previous = names.set(index, name);
+            setLineage(names);
+            return previous;
+        }
+
+        @Override
+        public String remove(int index) {
+            List<String> names = new ArrayList<>(this);
+            String removed = names.remove(index);
+            setLineage(names);
+            return removed;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package org.rcsb.mojave.tools.jsonschema.traversal.visitables;
 
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.Visitor;
 
 /**
@@ -16,6 +17,7 @@ public interface Visitable {
      * Allows the visitor access to an instance of {@link Visitable}.
      *
      * @param visitor an instance of {@link Visitor}
+     * @return result of the visit.
      */
-    void accept(Visitor visitor);
+    VisitResult accept(Visitor visitor);
 }
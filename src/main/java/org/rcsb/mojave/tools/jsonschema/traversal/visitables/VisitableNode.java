@@ -1,6 +1,7 @@
 package org.rcsb.mojave.tools.jsonschema.traversal.visitables;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.Visitor;
 
@@ -43,7 +44,7 @@ public class VisitableNode implements Visitable {
     }
 
     @Override
-    public void accept(Visitor visitor) {
-        visitor.visit(this);
+    public VisitResult accept(Visitor visitor) {
+        return visitor.visit(this);
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaModifier;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaType;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
@@ -41,7 +42,7 @@ public class BsonTypeAliasConverter implements Visitor {
     }
 
     @Override
-    public void visit(Visitable visitableNode) {
+    public VisitResult visit(Visitable visitableNode) {
 
         // An extension property 'bsonType' that applies to schema and allows specifying a type
         // for document validation in MongoDB.
@@ -70,5 +71,7 @@ public class BsonTypeAliasConverter implements Visitor {
             // therefore removing 'type' node.
             updatedNode.remove(MetaSchemaProperty.TYPE);
         }
+
+        return VisitResult.CONTINUE;
     }
 }
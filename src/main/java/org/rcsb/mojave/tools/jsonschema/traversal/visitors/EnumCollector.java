@@ -3,11 +3,13 @@ package org.rcsb.mojave.tools.jsonschema.traversal.visitors;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
 import org.rcsb.mojave.tools.jsonschema.traversal.JsonSchemaWalker;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
 import org.rcsb.mojave.tools.jsonschema.utils.JsonSchemaNodeUtils;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -24,13 +26,18 @@ public class EnumCollector implements Visitor {
 
     private Set<JsonNode> selected = new HashSet<>();
 
+    @Override
+    public Set<TraversalLabel> getLabels() {
+        return EnumSet.of(TraversalLabel.ATTRIBUTE, TraversalLabel.ITEMS);
+    }
+
     /**
      * This operation picks enum descriptions, if present in a given node of JSON schema.
      *
      * @param visitableNode the visitable node (wrapper around concrete JSON schema node implementation).
      */
     @Override
-    public void visit(Visitable visitableNode) {
+    public VisitResult visit(Visitable visitableNode) {
 
         if ( !(visitableNode instanceof VisitableNode) )
             throw new IllegalArgumentException("Node object MUST be an instance of VisitableNode.");
@@ -43,6 +50,8 @@ public class EnumCollector implements Visitor {
                     || ctx.getLabel().equals(TraversalLabel.ITEMS))
                 && JsonSchemaNodeUtils.isEnum(node))
             selected.add(node);
+
+        return VisitResult.CONTINUE;
     }
 
     public Set<JsonNode> getSelectedNodes() {
@@ -6,12 +6,16 @@ import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaModifier;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
 import org.rcsb.mojave.tools.jsonschema.traversal.JsonSchemaWalker;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
 import org.rcsb.mojave.tools.jsonschema.utils.JsonSchemaNodeUtils;
 import org.rcsb.mojave.tools.jsonschema2pojo.annotations.CustomAnnotator;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Transforms "enum" keyword to "allowableValues" preserving control vocabulary.
  *
@@ -25,6 +29,11 @@ import org.rcsb.mojave.tools.jsonschema2pojo.annotations.CustomAnnotator;
  */
 public class EnumTransformer implements Visitor {
 
+    @Override
+    public Set<TraversalLabel> getLabels() {
+        return EnumSet.of(TraversalLabel.ATTRIBUTE);
+    }
+
     /**
      * This operation renames enum description, if present in a given node of JSON schema, to 'allowableValues'
      * so it can be picked up by {@link CustomAnnotator} but not by jsonschema2pojo tool during POJO generation.
@@ -32,7 +41,7 @@ public class EnumTransformer implements Visitor {
      * @param visitableNode the visitable node is a wrapper around concrete JSON schema node implementation.
      */
     @Override
-    public void visit(Visitable visitableNode) {
+    public VisitResult visit(Visitable visitableNode) {
 
         if ( !(visitableNode instanceof VisitableNode) )
             throw new IllegalArgumentException("Node object MUST be an instance of VisitableNode.");
@@ -53,5 +62,7 @@ public class EnumTransformer implements Visitor {
             ((ObjectNode) node).set(MetaSchemaModifier.ALLOWABLE_VALUES, node.get(MetaSchemaProperty.ENUM));
             ((ObjectNode) node).remove(MetaSchemaProperty.ENUM);
         }
+
+        return VisitResult.CONTINUE;
     }
 }
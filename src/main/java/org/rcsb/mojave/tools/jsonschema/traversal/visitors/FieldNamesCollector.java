@@ -2,10 +2,12 @@ package org.rcsb.mojave.tools.jsonschema.traversal.visitors;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -26,7 +28,12 @@ public class FieldNamesCollector implements Visitor {
     }
 
     @Override
-    public void visit(Visitable visitableNode) {
+    public Set<TraversalLabel> getLabels() {
+        return EnumSet.of(TraversalLabel.PROPERTIES);
+    }
+
+    @Override
+    public VisitResult visit(Visitable visitableNode) {
 
         if ( !(visitableNode instanceof VisitableNode) )
             throw new IllegalArgumentException("Node object MUST be an instance of VisitableNode.");
@@ -36,5 +43,7 @@ public class FieldNamesCollector implements Visitor {
 
         if (!ctx.isRef() && ctx.getLabel().equals(TraversalLabel.PROPERTIES))
             node.fieldNames().forEachRemaining(name -> names.add(name));
+
+        return VisitResult.CONTINUE;
     }
 }
@@ -6,6 +6,7 @@ import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaModifier;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaType;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
@@ -76,17 +77,17 @@ public class JavaTypeAnnotator implements Visitor {
      * @see <a href="https://github.com/joelittlejohn/jsonschema2pojo">org.rcsb.mojave.tools.jsonschema2pojo</a> tool.
      */
     @Override
-    public void visit(Visitable visitableNode) {
+    public VisitResult visit(Visitable visitableNode) {
 
         if (!(visitableNode instanceof VisitableNode))
             throw new IllegalArgumentException("Node object MUST be an instance of VisitableNode.");
 
         JsonNode node = ((VisitableNode) visitableNode).getNode();
         // Do not override existing (manually added) javaType annotations
-        if (node.has(MetaSchemaModifier.JAVA_TYPE)) return;
+        if (node.has(MetaSchemaModifier.JAVA_TYPE)) return VisitResult.CONTINUE;
 
         TraversalContext ctx = ((VisitableNode) visitableNode).getTraversalContext();
-        if (ctx.isRef() || (ctx.getLineage().size() == 0)) return;
+        if (ctx.isRef() || (ctx.getLineage().size() == 0)) return VisitResult.CONTINUE;
 
         // coerce date format
         if (JsonSchemaNodeUtils.isDate(node))
@@ -127,5 +128,7 @@ public class JavaTypeAnnotator implements Visitor {
             String fqn = String.join(".", targetPackage, className);
             ((ObjectNode) node).put(MetaSchemaModifier.JAVA_TYPE, fqn);
         }
+
+        return VisitResult.CONTINUE;
     }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
@@ -46,7 +47,7 @@ public class KeywordsSyntaxChecker implements Visitor {
      * @param visitableNode the visitable node.
      */
     @Override
-    public void visit(Visitable visitableNode) {
+    public VisitResult visit(Visitable visitableNode) {
 
         if ( !(visitableNode instanceof VisitableNode) )
             throw new IllegalArgumentException("Node object MUST be an instance of VisitableNode.");
@@ -66,5 +67,7 @@ public class KeywordsSyntaxChecker implements Visitor {
                 newNode.remove(keyword);
             }
         }
+
+        return VisitResult.CONTINUE;
     }
 }
@@ -6,10 +6,14 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Modifies field names and members of 'required' field by appending specified prefix or suffix.
  *
@@ -70,7 +74,12 @@ public class NamespaceVisitor implements Visitor {
     }
 
     @Override
-    public void visit(Visitable visitableNode) {
+    public Set<TraversalLabel> getLabels() {
+        return EnumSet.of(TraversalLabel.OBJECT, TraversalLabel.PROPERTIES);
+    }
+
+    @Override
+    public VisitResult visit(Visitable visitableNode) {
 
         if (!(visitableNode instanceof VisitableNode))
             throw new IllegalArgumentException("Node object MUST be an instance of VisitableNode.");
@@ -79,7 +88,11 @@ public class NamespaceVisitor implements Visitor {
         TraversalContext ctx = ((VisitableNode) visitableNode).getTraversalContext();
 
         if (ctx.isRef())
-            return;
+            return VisitResult.CONTINUE;
+
+        // nothing below the root level is modified
+        if (level == Level.ROOT && ctx.getLineage().size() > 0)
+            return VisitResult.SKIP_SUBTREE;
 
         if ((ctx.getLabel().equals(TraversalLabel.OBJECT) && node.has(MetaSchemaProperty.REQUIRED))
                 || ctx.getLabel().equals(TraversalLabel.PROPERTIES)) {
@@ -94,6 +107,8 @@ public class NamespaceVisitor implements Visitor {
                     modifyNode(node);
             }
         }
+
+        return VisitResult.CONTINUE;
     }
 
     public enum Level {
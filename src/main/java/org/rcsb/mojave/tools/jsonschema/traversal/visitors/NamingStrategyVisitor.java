@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.CaseFormat;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
@@ -31,7 +32,7 @@ public class NamingStrategyVisitor implements Visitor {
     }
 
     @Override
-    public void visit(Visitable visitableNode) {
+    public VisitResult visit(Visitable visitableNode) {
 
         if ( !(visitableNode instanceof VisitableNode) )
             throw new IllegalArgumentException("Node object MUST be an instance of VisitableNode.");
@@ -40,7 +41,7 @@ public class NamingStrategyVisitor implements Visitor {
         TraversalContext ctx = ((VisitableNode) visitableNode).getTraversalContext();
 
         if (ctx.isRef())
-            return;
+            return VisitResult.CONTINUE;
 
         if (ctx.getLabel().equals(TraversalLabel.PROPERTIES)) {
 
@@ -60,5 +61,7 @@ public class NamingStrategyVisitor implements Visitor {
                     .forEach(el -> requiredFields.add(fromNamingFormat.to(toNamingFormat, el.textValue())));
             ((ObjectNode) node).set(MetaSchemaProperty.REQUIRED, requiredFields);
         }
+
+        return VisitResult.CONTINUE;
     }
 }
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
@@ -28,7 +29,7 @@ public class PropertiesFilterVisitor implements Visitor {
     }
 
     @Override
-    public void visit(Visitable visitableNode) {
+    public VisitResult visit(Visitable visitableNode) {
 
         if (!(visitableNode instanceof VisitableNode))
             throw new IllegalArgumentException("Node object MUST be an instance of VisitableNode.");
@@ -37,7 +38,7 @@ public class PropertiesFilterVisitor implements Visitor {
         TraversalContext ctx = ((VisitableNode) visitableNode).getTraversalContext();
 
         if (ctx.isRef())
-            return;
+            return VisitResult.CONTINUE;
 
         int i = ctx.isTitleIncluded() ? 1 : 0;
         if (ctx.getLabel().equals(TraversalLabel.PROPERTIES) && ctx.getLineage().size() == i)
@@ -58,5 +59,11 @@ public class PropertiesFilterVisitor implements Visitor {
             if (hasRequired.get())
                 ((ObjectNode) node).set(MetaSchemaProperty.REQUIRED, requiredFields);
         }
+
+        // the schema of a property that is filtered out is detached from the tree
+        if (ctx.getLineage().size() == i + 1 && !propertiesFilter.contains(ctx.getLineage().get(i)))
+            return VisitResult.SKIP_SUBTREE;
+
+        return VisitResult.CONTINUE;
     }
 }
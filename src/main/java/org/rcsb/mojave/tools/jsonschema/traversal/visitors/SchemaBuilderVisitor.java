@@ -3,6 +3,7 @@ package org.rcsb.mojave.tools.jsonschema.traversal.visitors;
 import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.VisitableNode;
@@ -30,7 +31,7 @@ public class SchemaBuilderVisitor implements Visitor {
     }
 
     @Override
-    public void visit(Visitable visitableNode) {
+    public VisitResult visit(Visitable visitableNode) {
 
         JsonNode node = ((VisitableNode) visitableNode).getNode();
         TraversalContext ctx = ((VisitableNode) visitableNode).getTraversalContext();
@@ -38,5 +39,7 @@ public class SchemaBuilderVisitor implements Visitor {
         JsonNode nodeCopy = removeRef(node);
         JsonPointer path = ctx.getJsonPointer();
         ctx.getBuilder().add(path, nodeCopy);
+
+        return VisitResult.CONTINUE;
     }
 }
@@ -1,7 +1,12 @@
 package org.rcsb.mojave.tools.jsonschema.traversal.visitors;
 
+import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Allows for an operation to be applied to a set of objects at runtime,
  * decoupling the operations from the object structure.
@@ -19,6 +24,17 @@ public interface Visitor {
      * Defines a visit operation for each type of {@link Visitable} in the object structure.
      *
      * @param visitableNode the visitable node
+     * @return how the traversal should continue for this visitor.
+     */
+    VisitResult visit(Visitable visitableNode);
+
+    /**
+     * Declares the labels of the nodes this visitor operates on. Nodes with other labels are not dispatched
+     * to the visitor.
+     *
+     * @return labels of the nodes to be visited, all labels by default.
      */
-    void visit(Visitable visitableNode);
-}
\ No newline at end of file
+    default Set<TraversalLabel> getLabels() {
+        return EnumSet.allOf(TraversalLabel.class);
+    }
+}
@@ -7,6 +7,7 @@ import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaType;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.JsonReference;
 
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Paths;
 
 /**
@@ -89,6 +90,9 @@ public class JsonSchemaNodeUtils {
 
         if (baseURI == null || refValue.startsWith("#") || SchemaLoader.hasScheme(refValue))
             refPath = refValue;
+        else if (baseURI.startsWith("http:") || baseURI.startsWith("https:"))
+            // relative to the remote location, not to the file system
+            refPath = URI.create(baseURI + "/").resolve(refValue).toString();
         else
             refPath = Paths.get(baseURI, refValue).toFile().getCanonicalPath();
         return new JsonReference(refPath);
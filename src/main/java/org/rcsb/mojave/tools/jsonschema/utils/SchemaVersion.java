@@ -2,11 +2,15 @@ package org.rcsb.mojave.tools.jsonschema.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Loads a JSON representation of JSON Schema meta-schemas (or drafts).
@@ -36,12 +40,16 @@ public enum SchemaVersion {
 
     private final URI location;
     private final JsonNode schema;
+    private final Set<String> keywords;
 
     SchemaVersion(final String uri) {
         try {
             location = new URI(uri);
             SchemaLoader loader = new SchemaLoader();
             schema = loader.readSchema(location);
+            Set<String> names = new HashSet<>();
+            schema.get(MetaSchemaProperty.PROPERTIES).fieldNames().forEachRemaining(names::add);
+            keywords = Collections.unmodifiableSet(names);
         } catch (IOException e) {
             throw new ExceptionInInitializerError(e);
         } catch (URISyntaxException e) {
@@ -69,4 +77,37 @@ public enum SchemaVersion {
     public JsonNode getSchema() {
         return schema.deepCopy();
     }
+
+    /**
+     * @return the keywords defined by the meta schema.
+     */
+    public Set<String> getKeywords() {
+        return keywords;
+    }
+
+    private String getSchemaId() {
+        JsonNode id = schema.has(MetaSchemaProperty.SCHEMA_ID)
+                ? schema.get(MetaSchemaProperty.SCHEMA_ID)
+                : schema.get(MetaSchemaProperty.ID);
+        return id.asText();
+    }
+
+    private static String normalize(String id) {
+        return id.replaceFirst("^https:", "http:").replaceFirst("#$", "");
+    }
+
+    /**
+     * @param schema a JSON schema.
+     * @return the version declared by {@code $schema}, {@link #DRAFTV4} when not declared or not known.
+     */
+    public static SchemaVersion of(JsonNode schema) {
+        JsonNode declared = schema.get(MetaSchemaProperty.SCHEMA);
+        if (declared != null && declared.isTextual()) {
+            String id = normalize(declared.asText());
+            for (SchemaVersion version : values())
+                if (normalize(version.getSchemaId()).equals(id))
+                    return version;
+        }
+        return DRAFTV4;
+    }
 }
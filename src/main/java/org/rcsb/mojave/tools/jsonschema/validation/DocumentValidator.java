@@ -0,0 +1,54 @@
+package org.rcsb.mojave.tools.jsonschema.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validates JSON documents against a schema that is known upfront.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public interface DocumentValidator {
+
+    /**
+     * Validates a document.
+     *
+     * @param document the document to be validated.
+     * @param violations the list the violations found are added to.
+     */
+    void validate(JsonNode document, List<Violation> violations);
+
+    /**
+     * Validates the next document of a parser. The parser is left at the last token of the document.
+     * The default implementation reads the document into a tree.
+     *
+     * @param parser the parser positioned before or at the first token of the document.
+     * @param violations the list the violations found are added to.
+     * @throws IOException when the document cannot be read.
+     */
+    default void validate(JsonParser parser, List<Violation> violations) throws IOException {
+        if (parser.currentToken() == null && parser.nextToken() == null)
+            throw new IOException("No document to validate.");
+        JsonNode document = parser.getCodec() != null
+                ? parser.readValueAsTree()
+                : ConfigurableMapper.getMapper().readTree(parser);
+        validate(document, violations);
+    }
+
+    /**
+     * @param document the document to be validated.
+     * @return the violations found, empty when the document is valid.
+     */
+    default List<Violation> validate(JsonNode document) {
+        List<Violation> violations = new ArrayList<>();
+        validate(document, violations);
+        return violations;
+    }
+}
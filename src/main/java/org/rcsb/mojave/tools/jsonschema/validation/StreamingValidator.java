@@ -0,0 +1,505 @@
+package org.rcsb.mojave.tools.jsonschema.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.rcsb.mojave.tools.jsonschema.SchemaCache;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.SchemaRefResolver;
+import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
+import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaType;
+import org.rcsb.mojave.tools.jsonschema.model.JsonSchemaInstance;
+import org.rcsb.mojave.tools.jsonschema.model.JsonSchemaInstanceReader;
+import org.rcsb.mojave.tools.jsonschema.utils.SchemaVersion;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Validates documents against a schema while they are being parsed, without reading them into a tree. The schema
+ * is resolved inline and compiled once, the keywords are limited to the vocabulary of the schema version declared
+ * by {@code $schema}. Validation state is kept per nesting level of the document, so that the memory needed does
+ * not depend on the size of the document. Values that no keyword applies to are skipped.
+ * <p>
+ * Supports the same keywords as the validators compiled by
+ * {@link org.rcsb.mojave.tools.core.GenerateSchemaValidators}. Instances are thread-safe.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class StreamingValidator implements DocumentValidator {
+
+    private static final int STRING = 1;
+    private static final int INTEGER = 1 << 1;
+    private static final int NUMBER = 1 << 2;
+    private static final int BOOLEAN = 1 << 3;
+    private static final int NULL = 1 << 4;
+    private static final int OBJECT = 1 << 5;
+    private static final int ARRAY = 1 << 6;
+
+    private static final Map<String, Integer> TYPES = new HashMap<>();
+    static {
+        TYPES.put(MetaSchemaType.STRING, STRING);
+        TYPES.put(MetaSchemaType.DATE, STRING);
+        TYPES.put(MetaSchemaType.DATE_TIME, STRING);
+        TYPES.put(MetaSchemaType.TIME, STRING);
+        TYPES.put(MetaSchemaType.INTEGER, INTEGER);
+        TYPES.put(MetaSchemaType.NUMBER, NUMBER);
+        TYPES.put(MetaSchemaType.BOOLEAN, BOOLEAN);
+        TYPES.put(MetaSchemaType.NULL, NULL);
+        TYPES.put(MetaSchemaType.OBJECT, OBJECT);
+        TYPES.put(MetaSchemaType.ARRAY, ARRAY);
+    }
+
+    private final SchemaVersion version;
+    private final Node root;
+
+    /**
+     * @param schema the schema documents are validated against.
+     * @throws IOException when a JSON reference of the schema cannot be resolved.
+     */
+    public StreamingValidator(JsonNode schema) throws IOException {
+        this(schema, new SchemaLoader(), new SchemaCache());
+    }
+
+    /**
+     * @param schema the schema documents are validated against, it is not modified.
+     * @param loader loader of the referenced schemas.
+     * @param cache cache of the referenced schemas, can be shared between validators.
+     * @throws IOException when a JSON reference of the schema cannot be resolved.
+     */
+    public StreamingValidator(JsonNode schema, SchemaLoader loader, SchemaCache cache) throws IOException {
+        JsonNode resolved = schema.deepCopy();
+        new SchemaRefResolver(resolved, loader, cache).resolveInline();
+        version = SchemaVersion.of(resolved);
+        JsonSchemaInstance instance = new JsonSchemaInstanceReader(version.getKeywords()).read(resolved);
+        root = compile(instance, new IdentityHashMap<>());
+    }
+
+    /**
+     * @return the version of the schema, its vocabulary is used for validation.
+     */
+    public SchemaVersion getSchemaVersion() {
+        return version;
+    }
+
+    @Override
+    public void validate(JsonNode document, List<Violation> violations) {
+        try (JsonParser parser = document.traverse(ConfigurableMapper.getMapper())) {
+            parser.nextToken();
+            new Walk(parser, violations, new String[0], new int[0], 0).run(root, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Validates the next document of a parser token by token. The parser is left at the last token of the document.
+     *
+     * @param parser the parser positioned before or at the first token of the document.
+     * @param violations the list the violations found are added to.
+     * @throws IOException when the document cannot be read.
+     */
+    @Override
+    public void validate(JsonParser parser, List<Violation> violations) throws IOException {
+        if (parser.currentToken() == null && parser.nextToken() == null)
+            throw new IOException("No document to validate.");
+        new Walk(parser, violations, new String[0], new int[0], 0).run(root, false);
+    }
+
+    private static Node compile(JsonSchemaInstance s, Map<JsonSchemaInstance, Node> compiled) {
+
+        Node node = compiled.get(s);
+        if (node != null)
+            return node;
+
+        node = new Node();
+        compiled.put(s, node);
+
+        if (s.getTypes() != null && !s.getTypes().isEmpty() && TYPES.keySet().containsAll(s.getTypes())) {
+            for (String type : s.getTypes())
+                node.types |= TYPES.get(type);
+            node.typeMessage = "expected " + String.join(" or ", s.getTypes());
+        }
+        if (s.getEnum() != null)
+            node.enumKeys = ValidatorSupport.enumSet(s.getEnum());
+
+        if (s.getMinimum() != null) {
+            node.minimum = s.getMinimum();
+            node.exclusiveMinimum = Boolean.TRUE.equals(s.getExclusiveMinimum());
+            node.minimumMessage = "must be " + (node.exclusiveMinimum ? "> " : ">= ") + format(s.getMinimum());
+        }
+        if (s.getMaximum() != null) {
+            node.maximum = s.getMaximum();
+            node.exclusiveMaximum = Boolean.TRUE.equals(s.getExclusiveMaximum());
+            node.maximumMessage = "must be " + (node.exclusiveMaximum ? "< " : "<= ") + format(s.getMaximum());
+        }
+        node.minLength = s.getMinLength();
+        node.maxLength = s.getMaxLength();
+        node.pattern = s.getPattern();
+
+        node.minItems = s.getMinItems();
+        node.maxItems = s.getMaxItems();
+        if (s.getItems() != null)
+            node.items = compile(s.getItems(), compiled);
+
+        node.minProperties = s.getMinProperties();
+        node.maxProperties = s.getMaxProperties();
+        node.closed = Boolean.FALSE.equals(s.getAdditionalProperties());
+        if (s.getProperties() != null) {
+            node.properties = new HashMap<>();
+            for (Map.Entry<String, JsonSchemaInstance> property : s.getProperties().entrySet())
+                node.properties.put(property.getKey(), new Property(compile(property.getValue(), compiled)));
+        }
+        if (s.getRequired() != null && !s.getRequired().isEmpty()) {
+            if (node.properties == null)
+                node.properties = new HashMap<>();
+            node.required = s.getRequired().toArray(new String[0]);
+            for (int i = 0; i < node.required.length; i++)
+                node.properties.computeIfAbsent(node.required[i], name -> new Property(null)).required = i;
+        }
+
+        node.array = node.minItems != null || node.maxItems != null || node.items != null && node.items.constrained;
+        node.object = node.closed || node.required != null
+                || node.minProperties != null || node.maxProperties != null
+                || node.properties != null && node.properties.values().stream()
+                        .anyMatch(p -> p.node != null && p.node.constrained);
+        node.constrained = node.types != 0 || node.enumKeys != null
+                || node.minimum != null || node.maximum != null
+                || node.minLength != null || node.maxLength != null || node.pattern != null
+                || node.array || node.object;
+        return node;
+    }
+
+    private static String format(Double bound) {
+        return bound == Math.rint(bound) && !Double.isInfinite(bound)
+                ? String.valueOf(bound.longValue()) : String.valueOf(bound);
+    }
+
+    /**
+     * Compiled schema. Nodes of a cyclic schema are compiled before their children and count as constrained
+     * until then.
+     */
+    private static final class Node {
+        boolean constrained = true;
+        int types;
+        String typeMessage;
+        Set<Object> enumKeys;
+        Double minimum;
+        Double maximum;
+        boolean exclusiveMinimum;
+        boolean exclusiveMaximum;
+        String minimumMessage;
+        String maximumMessage;
+        Integer minLength;
+        Integer maxLength;
+        Pattern pattern;
+        boolean array;
+        Integer minItems;
+        Integer maxItems;
+        Node items;
+        boolean object;
+        Integer minProperties;
+        Integer maxProperties;
+        boolean closed;
+        Map<String, Property> properties;
+        String[] required;
+    }
+
+    /**
+     * Property of a compiled object schema: its schema, null when only required, and its index in the required
+     * properties, -1 when optional.
+     */
+    private static final class Property {
+        final Node node;
+        final boolean declared;
+        int required = -1;
+
+        Property(Node node) {
+            this.node = node;
+            this.declared = node != null;
+        }
+    }
+
+    /**
+     * State of the validation of a single document. Level {@code d} holds the container being read at depth
+     * {@code d} and the name or index of its current value in the document.
+     */
+    private static final class Walk {
+
+        private final JsonParser parser;
+        private final List<Violation> violations;
+
+        private String[] names;
+        private int[] indices;
+        private Node[] nodes;
+        private int[] counts;
+        private BitSet[] seen;
+        private int depth;
+
+        Walk(JsonParser parser, List<Violation> violations, String[] names, int[] indices, int depth) {
+            int capacity = Math.max(16, depth * 2);
+            this.parser = parser;
+            this.violations = violations;
+            this.names = Arrays.copyOf(names, capacity);
+            this.indices = Arrays.copyOf(indices, capacity);
+            this.nodes = new Node[capacity];
+            this.counts = new int[capacity];
+            this.seen = new BitSet[capacity];
+            this.depth = depth;
+        }
+
+        /**
+         * Validates the value at the current token, leaves the parser at its last token.
+         */
+        void run(Node node, boolean enumChecked) throws IOException {
+
+            int base = depth;
+            enter(node, enumChecked);
+            while (depth > base) {
+                JsonToken token = parser.nextToken();
+                if (token == null)
+                    throw new IOException("Unexpected end of document.");
+
+                int level = depth - 1;
+                Node container = nodes[level];
+                if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    close(level, container);
+                    depth--;
+                    continue;
+                }
+
+                Node child;
+                if (token == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    names[level] = name;
+                    counts[level]++;
+                    Property property = container.properties != null ? container.properties.get(name) : null;
+                    if (property != null && property.required >= 0)
+                        seen[level].set(property.required);
+                    if (container.closed && (property == null || !property.declared))
+                        report(level + 1, MetaSchemaProperty.ADDITIONAL_PROPERTIES, "property is not allowed");
+                    child = property != null ? property.node : null;
+                    parser.nextToken();
+                } else {
+                    names[level] = null;
+                    indices[level] = counts[level]++;
+                    child = container.items;
+                }
+                enter(child, false);
+            }
+        }
+
+        private void enter(Node node, boolean enumChecked) throws IOException {
+
+            if (node == null || !node.constrained) {
+                parser.skipChildren();
+                return;
+            }
+
+            JsonToken token = parser.currentToken();
+            if (node.types != 0 && !matches(node.types, token)) {
+                report(depth, MetaSchemaProperty.TYPE, node.typeMessage);
+                parser.skipChildren();
+                return;
+            }
+
+            if (node.enumKeys != null && !enumChecked) {
+                if (token.isStructStart()) {
+                    JsonNode value = ConfigurableMapper.getMapper().readTree(parser);
+                    if (!node.enumKeys.contains(ValidatorSupport.enumKey(value)))
+                        report(depth, MetaSchemaProperty.ENUM, "value is not one of the allowed values");
+                    try (JsonParser nested = value.traverse(ConfigurableMapper.getMapper())) {
+                        nested.nextToken();
+                        new Walk(nested, violations, names, indices, depth).run(node, true);
+                    }
+                    return;
+                }
+                if (!node.enumKeys.contains(scalarKey(token)))
+                    report(depth, MetaSchemaProperty.ENUM, "value is not one of the allowed values");
+            }
+
+            switch (token) {
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    checkNumber(node);
+                    return;
+                case VALUE_STRING:
+                    checkString(node);
+                    return;
+                case START_OBJECT:
+                    if (node.object)
+                        push(node);
+                    else
+                        parser.skipChildren();
+                    return;
+                case START_ARRAY:
+                    if (node.array)
+                        push(node);
+                    else
+                        parser.skipChildren();
+                    return;
+                default:
+            }
+        }
+
+        private boolean matches(int types, JsonToken token) throws IOException {
+            switch (token) {
+                case VALUE_STRING:
+                    return (types & STRING) != 0;
+                case VALUE_NUMBER_INT:
+                    return (types & (INTEGER | NUMBER)) != 0;
+                case VALUE_NUMBER_FLOAT:
+                    if ((types & NUMBER) != 0)
+                        return true;
+                    return (types & INTEGER) != 0 && Double.isFinite(parser.getDoubleValue())
+                            && parser.getDecimalValue().stripTrailingZeros().scale() <= 0;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    return (types & BOOLEAN) != 0;
+                case VALUE_NULL:
+                    return (types & NULL) != 0;
+                case START_OBJECT:
+                    return (types & OBJECT) != 0;
+                case START_ARRAY:
+                    return (types & ARRAY) != 0;
+                default:
+                    return false;
+            }
+        }
+
+        private Object scalarKey(JsonToken token) throws IOException {
+            switch (token) {
+                case VALUE_STRING:
+                    return parser.getText();
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    return ValidatorSupport.enumKey(parser.getNumberValue());
+                case VALUE_TRUE:
+                    return Boolean.TRUE;
+                case VALUE_FALSE:
+                    return Boolean.FALSE;
+                default:
+                    return NullNode.getInstance();
+            }
+        }
+
+        private void checkNumber(Node node) throws IOException {
+            if (node.minimum == null && node.maximum == null)
+                return;
+            if (node.minimum != null) {
+                int c = compare(node.minimum);
+                if (node.exclusiveMinimum ? c <= 0 : c < 0)
+                    report(depth, MetaSchemaProperty.MINIMUM, node.minimumMessage);
+            }
+            if (node.maximum != null) {
+                int c = compare(node.maximum);
+                if (node.exclusiveMaximum ? c >= 0 : c > 0)
+                    report(depth, MetaSchemaProperty.MAXIMUM, node.maximumMessage);
+            }
+        }
+
+        /**
+         * Compares the current number with a bound, the exact value is only read when its double value equals
+         * the bound.
+         */
+        private int compare(double bound) throws IOException {
+            double value = parser.getDoubleValue();
+            if (value != bound)
+                return value < bound ? -1 : 1;
+            return ValidatorSupport.compare(parser.currentToken() == JsonToken.VALUE_NUMBER_FLOAT
+                    ? parser.getDecimalValue() : parser.getNumberValue(), bound);
+        }
+
+        private void checkString(Node node) throws IOException {
+            if (node.minLength == null && node.maxLength == null && node.pattern == null)
+                return;
+            String text = parser.getText();
+            if (node.minLength != null || node.maxLength != null) {
+                int length = ValidatorSupport.length(text);
+                if (node.minLength != null && length < node.minLength)
+                    report(depth, MetaSchemaProperty.MIN_LENGTH,
+                            "must be at least " + node.minLength + " characters long");
+                if (node.maxLength != null && length > node.maxLength)
+                    report(depth, MetaSchemaProperty.MAX_LENGTH,
+                            "must be at most " + node.maxLength + " characters long");
+            }
+            if (node.pattern != null && !node.pattern.matcher(text).find())
+                report(depth, MetaSchemaProperty.PATTERN, "must match " + node.pattern.pattern());
+        }
+
+        private void push(Node node) {
+            if (depth == nodes.length) {
+                int capacity = nodes.length * 2;
+                names = Arrays.copyOf(names, capacity);
+                indices = Arrays.copyOf(indices, capacity);
+                nodes = Arrays.copyOf(nodes, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                seen = Arrays.copyOf(seen, capacity);
+            }
+            nodes[depth] = node;
+            counts[depth] = 0;
+            if (node.required != null) {
+                if (seen[depth] == null)
+                    seen[depth] = new BitSet(node.required.length);
+                else
+                    seen[depth].clear();
+            }
+            depth++;
+        }
+
+        private void close(int level, Node node) {
+            int count = counts[level];
+            if (parser.currentToken() == JsonToken.END_ARRAY) {
+                if (node.minItems != null && count < node.minItems)
+                    report(level, MetaSchemaProperty.MIN_ITEMS, "must have at least " + node.minItems + " items");
+                if (node.maxItems != null && count > node.maxItems)
+                    report(level, MetaSchemaProperty.MAX_ITEMS, "must have at most " + node.maxItems + " items");
+                return;
+            }
+            if (node.required != null) {
+                BitSet present = seen[level];
+                for (int i = present.nextClearBit(0); i < node.required.length; i = present.nextClearBit(i + 1))
+                    report(level, MetaSchemaProperty.REQUIRED, "missing property '" + node.required[i] + "'");
+            }
+            if (node.minProperties != null && count < node.minProperties)
+                report(level, MetaSchemaProperty.MIN_PROPERTIES,
+                        "must have at least " + node.minProperties + " properties");
+            if (node.maxProperties != null && count > node.maxProperties)
+                report(level, MetaSchemaProperty.MAX_PROPERTIES,
+                        "must have at most " + node.maxProperties + " properties");
+        }
+
+        /**
+         * @param length number of levels of the path that point to the invalid value.
+         */
+        private void report(int length, String keyword, String message) {
+            StringBuilder pointer = new StringBuilder();
+            StringBuilder field = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                pointer.append('/');
+                field.append('/');
+                if (names[i] != null) {
+                    String name = ValidatorSupport.escape(names[i]);
+                    pointer.append(name);
+                    field.append(name);
+                } else {
+                    pointer.append(indices[i]);
+                    field.append('*');
+                }
+            }
+            violations.add(new Violation(pointer.toString(), field.toString(), keyword, message));
+        }
+    }
+}
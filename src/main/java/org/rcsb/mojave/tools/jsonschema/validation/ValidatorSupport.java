@@ -0,0 +1,160 @@
+package org.rcsb.mojave.tools.jsonschema.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Helpers shared by the validators, including the generated ones.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public final class ValidatorSupport {
+
+    private ValidatorSupport() {}
+
+    /**
+     * Lookup key of an enum value: equal JSON values have equal keys, numbers are compared by their value
+     * regardless of the representation (1 and 1.0 are the same).
+     *
+     * @param value a string, number, boolean, null (Java or JSON) or any other JSON value.
+     * @return the lookup key.
+     */
+    public static Object enumKey(Object value) {
+
+        if (value == null)
+            return NullNode.getInstance();
+
+        if (value instanceof JsonNode) {
+            JsonNode node = (JsonNode) value;
+            if (node.isTextual())
+                return node.textValue();
+            if (node.isBoolean())
+                return node.booleanValue();
+            if (node.isNumber())
+                return numberKey(node.numberValue());
+            if (node.isNull() || node.isMissingNode())
+                return NullNode.getInstance();
+            return node;
+        }
+
+        if (value instanceof Number)
+            return numberKey((Number) value);
+        return value;
+    }
+
+    private static Object numberKey(Number number) {
+        BigDecimal decimal;
+        if (number instanceof BigDecimal)
+            decimal = (BigDecimal) number;
+        else if (number instanceof BigInteger)
+            decimal = new BigDecimal((BigInteger) number);
+        else if (number instanceof Double || number instanceof Float) {
+            if (!Double.isFinite(number.doubleValue()))
+                return number.doubleValue();
+            decimal = BigDecimal.valueOf(number.doubleValue());
+        } else
+            decimal = BigDecimal.valueOf(number.longValue());
+        decimal = decimal.stripTrailingZeros();
+        return decimal.signum() == 0 ? BigDecimal.ZERO : decimal;
+    }
+
+    /**
+     * @param values enum values, see {@link #enumKey(Object)}.
+     * @return an unmodifiable set of their lookup keys.
+     */
+    public static Set<Object> enumSet(Iterable<?> values) {
+        Set<Object> keys = new HashSet<>();
+        for (Object value : values)
+            keys.add(enumKey(value));
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * @param chunks consecutive parts of a JSON array of enum values. Large enums are split to keep each
+     *               part within the limits of a string constant of a class file.
+     * @return an unmodifiable set of the lookup keys of the values.
+     */
+    public static Set<Object> enumSet(String... chunks) {
+        return enumSet(json(String.join("", chunks)));
+    }
+
+    /**
+     * @param json a JSON value.
+     * @return the parsed value.
+     */
+    public static JsonNode json(String json) {
+        try {
+            return ConfigurableMapper.getMapper().readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param node a JSON value.
+     * @return true for a number without a fractional part.
+     */
+    public static boolean isInteger(JsonNode node) {
+        if (node.isIntegralNumber())
+            return true;
+        if (!node.isNumber() || !Double.isFinite(node.doubleValue()))
+            return false;
+        return node.decimalValue().stripTrailingZeros().scale() <= 0;
+    }
+
+    /**
+     * Compares a number with a <code>minimum</code> or <code>maximum</code> bound without rounding the number to a
+     * double first, e.g. integers above 2<sup>53</sup> and decimals with more than 17 significant digits. The
+     * bound is taken as the decimal the schema states, e.g. 0.1 rather than its binary approximation.
+     *
+     * @param value a number, e.g. a {@link BigDecimal} or a {@link BigInteger} for large or precise values.
+     * @param bound the bound.
+     * @return a negative number, zero, or a positive number as the value is less than, equal to, or greater
+     * than the bound.
+     */
+    public static int compare(Number value, double bound) {
+        double d = value.doubleValue();
+        // rounding is monotonic: only a value that rounds to the bound itself needs the exact comparison
+        if (d != bound || !Double.isFinite(bound)
+                || value instanceof Double || value instanceof Float || value instanceof Integer)
+            return d < bound ? -1 : (d > bound ? 1 : 0);
+
+        BigDecimal decimal;
+        if (value instanceof BigDecimal)
+            decimal = (BigDecimal) value;
+        else if (value instanceof BigInteger)
+            decimal = new BigDecimal((BigInteger) value);
+        else
+            decimal = BigDecimal.valueOf(value.longValue());
+        return decimal.compareTo(BigDecimal.valueOf(bound));
+    }
+
+    /**
+     * @param text a string.
+     * @return the length of the string in Unicode code points, as JSON schema counts it.
+     */
+    public static int length(String text) {
+        return text.codePointCount(0, text.length());
+    }
+
+    /**
+     * @param name a property name.
+     * @return the name escaped as a JSON pointer token.
+     */
+    public static String escape(String name) {
+        if (name.indexOf('~') < 0 && name.indexOf('/') < 0)
+            return name;
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
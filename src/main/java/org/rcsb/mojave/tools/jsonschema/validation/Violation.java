@@ -0,0 +1,72 @@
+package org.rcsb.mojave.tools.jsonschema.validation;
+
+import java.util.Objects;
+
+/**
+ * A validation error: the JSON pointer to the invalid value in the document, the field of the value (the pointer
+ * with array indices replaced by {@code *}), the schema keyword it violates and a human readable message.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public final class Violation {
+
+    private final String pointer;
+    private final String field;
+    private final String keyword;
+    private final String message;
+
+    /**
+     * Creates a violation of a value that is not nested in an array, its field is the pointer.
+     */
+    public Violation(String pointer, String keyword, String message) {
+        this(pointer, pointer, keyword, message);
+    }
+
+    public Violation(String pointer, String field, String keyword, String message) {
+        this.pointer = pointer;
+        this.field = field;
+        this.keyword = keyword;
+        this.message = message;
+    }
+
+    public String getPointer() {
+        return pointer;
+    }
+
+    /**
+     * @return the pointer with array indices replaced by {@code *}, e.g. <code>/tags/*</code> for
+     * <code>/tags/3</code>. Object properties named by digits are kept.
+     */
+    public String getField() {
+        return field;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Violation)) return false;
+        Violation that = (Violation) o;
+        return pointer.equals(that.pointer) && field.equals(that.field) && keyword.equals(that.keyword)
+                && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pointer, field, keyword, message);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + keyword + "] " + (pointer.isEmpty() ? "/" : pointer) + ": " + message;
+    }
+}
@@ -0,0 +1,197 @@
+package org.rcsb.mojave.tools.jsonschema.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated results of the validation of many documents: the number of violations per field and keyword, where
+ * a field is the JSON pointer with array indices replaced by {@code *} (see {@link Violation#getField()}). Each
+ * counter keeps the number of the first document it was seen in. Instances are not thread-safe, concurrent
+ * validations collect their own statistics and {@link #merge(ViolationStatistics)} them.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class ViolationStatistics {
+
+    private static final String DOCUMENTS = "documents";
+    private static final String INVALID = "invalid";
+    private static final String MALFORMED = "malformed";
+    private static final String VIOLATIONS = "violations";
+    private static final String FIELD = "field";
+    private static final String KEYWORD = "keyword";
+    private static final String COUNT = "count";
+    private static final String FIRST_DOCUMENT = "firstDocument";
+    private static final String MESSAGE = "message";
+
+    private long documents;
+    private long invalid;
+    private long malformed;
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    /**
+     * Counts a validated document.
+     *
+     * @param document the number of the document in the input, starting at 1.
+     * @param violations violations found in the document.
+     */
+    public void add(long document, List<Violation> violations) {
+        documents++;
+        if (violations.isEmpty())
+            return;
+        invalid++;
+        for (Violation violation : violations) {
+            String field = violation.getField();
+            String key = violation.getKeyword() + ' ' + field;
+            Counter counter = counters.get(key);
+            if (counter == null)
+                counters.put(key, counter = new Counter(field, violation.getKeyword(), document, violation.getMessage()));
+            counter.count++;
+        }
+    }
+
+    /**
+     * Counts a document that cannot be parsed.
+     *
+     * @param document the number of the document in the input, starting at 1.
+     * @param message the reason the document cannot be parsed.
+     */
+    public void addMalformed(long document, String message) {
+        documents++;
+        invalid++;
+        malformed++;
+        Counter counter = counters.get(MALFORMED);
+        if (counter == null)
+            counters.put(MALFORMED, counter = new Counter("", MALFORMED, document, message));
+        counter.count++;
+    }
+
+    /**
+     * Adds the counts of other statistics to these.
+     *
+     * @param other statistics to be added.
+     */
+    public void merge(ViolationStatistics other) {
+        documents += other.documents;
+        invalid += other.invalid;
+        malformed += other.malformed;
+        other.counters.forEach((key, counter) -> counters.merge(key, counter.copy(), Counter::add));
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public long getMalformed() {
+        return malformed;
+    }
+
+    /**
+     * @return the counters, most frequent first and then by field and keyword.
+     */
+    public List<Counter> getCounters() {
+        List<Counter> list = new ArrayList<>(counters.values());
+        list.sort(Comparator.comparingLong(Counter::getCount).reversed()
+                .thenComparing(Counter::getField)
+                .thenComparing(Counter::getKeyword));
+        return list;
+    }
+
+    /**
+     * @return the statistics as a JSON object.
+     */
+    public JsonNode toJson() {
+        ObjectNode json = ConfigurableMapper.getMapper().createObjectNode();
+        json.put(DOCUMENTS, documents);
+        json.put(INVALID, invalid);
+        json.put(MALFORMED, malformed);
+        ArrayNode violations = json.putArray(VIOLATIONS);
+        for (Counter counter : getCounters()) {
+            violations.addObject()
+                    .put(FIELD, counter.getField())
+                    .put(KEYWORD, counter.getKeyword())
+                    .put(COUNT, counter.getCount())
+                    .put(FIRST_DOCUMENT, counter.getFirstDocument())
+                    .put(MESSAGE, counter.getMessage());
+        }
+        return json;
+    }
+
+    /**
+     * Number of violations of a keyword in a field, with the first one found.
+     */
+    public static final class Counter {
+
+        private final String field;
+        private final String keyword;
+        private long firstDocument;
+        private String message;
+        private long count;
+
+        private Counter(String field, String keyword, long firstDocument, String message) {
+            this.field = field;
+            this.keyword = keyword;
+            this.firstDocument = firstDocument;
+            this.message = message;
+        }
+
+        private Counter copy() {
+            Counter counter = new Counter(field, keyword, firstDocument, message);
+            counter.count = count;
+            return counter;
+        }
+
+        private Counter add(Counter other) {
+            count += other.count;
+            if (other.firstDocument < firstDocument) {
+                firstDocument = other.firstDocument;
+                message = other.message;
+            }
+            return this;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getKeyword() {
+            return keyword;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the number of the first document with the violation.
+         */
+        public long getFirstDocument() {
+            return firstDocument;
+        }
+
+        /**
+         * @return the message of the first violation.
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return count + " [" + keyword + "] " + field + ": " + message + " (first in document " + firstDocument + ")";
+        }
+    }
+}
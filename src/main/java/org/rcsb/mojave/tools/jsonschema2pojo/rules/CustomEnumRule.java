@@ -16,7 +16,8 @@ import org.jsonschema2pojo.rules.EnumRule;
 import org.jsonschema2pojo.rules.Rule;
 import org.jsonschema2pojo.rules.RuleFactory;
 import org.jsonschema2pojo.util.AnnotationHelper;
-import org.rcsb.mojave.tools.utils.AppUtils;
+import org.rcsb.mojave.tools.utils.MethodHandleRegistry;
+import org.rcsb.mojave.tools.utils.NameRegistry;
 
 import java.util.*;
 
@@ -34,6 +35,7 @@ import static org.jsonschema2pojo.util.TypeUtil.resolveType;
 public class CustomEnumRule implements Rule<JClassContainer, JType> {
 
     private static final String VALUE_FIELD_NAME = "value";
+    private static final Class<?>[] DEFAULT_VALUE_PARAMS = new Class<?>[]{JType.class, String.class};
 
     private final RuleFactory ruleFactory;
 
@@ -147,11 +149,8 @@ public class CustomEnumRule implements Rule<JClassContainer, JType> {
             JEnumConstant constant = _enum.enumConstant(enumValueDefinition.getName());
             String value = enumValueDefinition.getValue();
 
-            Class<DefaultRule> clazz = DefaultRule.class;
-            String methodName = "getDefaultValue";
-            Class<?>[] params = new Class<?>[]{JType.class, String.class};
-            Object[] args = new Object[]{type, value};
-            Object results = AppUtils.invoke(null, clazz, methodName, params, args);
+            Object results = MethodHandleRegistry.invoke(null, DefaultRule.class, "getDefaultValue",
+                    DEFAULT_VALUE_PARAMS, type, value);
             if (!(results instanceof JExpression))
                 throw new IllegalArgumentException("Failed to get correct results from DefaultRule.getDefaultValue(...)");
             constant.arg((JExpression)results);
@@ -235,7 +234,7 @@ public class CustomEnumRule implements Rule<JClassContainer, JType> {
     private EnumDefinition buildEnumDefinitionWithNoExtensions(String nodeName, JsonNode parentNode, JsonNode enums, JType backingType) {
         ArrayList<EnumValueDefinition> enumValues = new ArrayList<>();
 
-        Collection<String> existingConstantNames = new ArrayList<>();
+        NameRegistry existingConstantNames = new NameRegistry();
 
         for (int i = 0; i < enums.size(); i++) {
             JsonNode value = enums.path(i);
@@ -254,7 +253,7 @@ public class CustomEnumRule implements Rule<JClassContainer, JType> {
 
         ArrayList<EnumValueDefinition> enumValues = new ArrayList<>();
 
-        Collection<String> existingConstantNames = new ArrayList<>();
+        NameRegistry existingConstantNames = new NameRegistry();
 
         for (int i = 0; i < enums.size(); i++) {
             JsonNode value = enums.path(i);
@@ -272,7 +271,7 @@ public class CustomEnumRule implements Rule<JClassContainer, JType> {
     private EnumDefinition buildEnumDefinitionWithJavaEnumsExtension(String nodeName, JsonNode enumNode, JsonNode enums, JsonNode javaEnums, JType type) {
         ArrayList<EnumValueDefinition> enumValues = new ArrayList<>();
 
-        Collection<String> existingConstantNames = new ArrayList<>();
+        NameRegistry existingConstantNames = new NameRegistry();
 
         for (int i = 0; i < enums.size(); i++) {
             JsonNode value = enums.path(i);
@@ -416,30 +415,19 @@ public class CustomEnumRule implements Rule<JClassContainer, JType> {
         String className = ruleFactory.getNameHelper().replaceIllegalCharacters(capitalize(fieldName));
         String normalizedName = ruleFactory.getNameHelper().normalizeName(className);
 
-        Collection<String> existingClassNames = new ArrayList<>();
+        NameRegistry existingClassNames = new NameRegistry();
         for (Iterator<JDefinedClass> classes = container.classes(); classes.hasNext();) {
             existingClassNames.add(classes.next().name());
         }
         return makeUnique(normalizedName, existingClassNames);
     }
 
-    private String makeUnique(final String name, Collection<String> existingNames) {
-        boolean found = false;
-
-        for (String existingName : existingNames) {
-            if (name.equalsIgnoreCase(existingName)) {
-                found = true;
-                break;
-            }
-        }
-
-        if (found) {
-            String newName = makeUnique(name + "_", existingNames);
+    private String makeUnique(final String name, NameRegistry existingNames) {
+        String newName = existingNames.makeUnique(name);
+        if (!newName.equals(name))
             System.err.println("Enum name " + name + " already used; trying to replace it with " + newName);
-            return newName;
-        }
 
-        return name;
+        return newName;
     }
 
     private String getConstantName(String nodeName, String customName) {
@@ -12,7 +12,7 @@ import org.jsonschema2pojo.util.AnnotationHelper;
 import org.jsonschema2pojo.util.ParcelableHelper;
 import org.jsonschema2pojo.util.ReflectionHelper;
 import org.jsonschema2pojo.util.SerializableHelper;
-import org.rcsb.mojave.tools.utils.AppUtils;
+import org.rcsb.mojave.tools.utils.MethodHandleRegistry;
 
 /**
  * Created on 9/21/21.
@@ -76,8 +76,8 @@ public class CustomObjectRule extends ObjectRule {
         ruleFactory.getPropertiesRule().apply(nodeName, node.get("properties"), node, jclass, schema);
 
         if (node.has("javaInterfaces")) {
-            AppUtils.invoke(this, getClass().getSuperclass(),"addInterfaces",
-                    new Class<?>[]{JDefinedClass.class,JsonNode.class}, new Object[]{jclass,node.get("javaInterfaces")});
+            MethodHandleRegistry.invoke(this, ObjectRule.class, "addInterfaces",
+                    new Class<?>[]{JDefinedClass.class,JsonNode.class}, jclass, node.get("javaInterfaces"));
         }
 
         ruleFactory.getAdditionalPropertiesRule().apply(nodeName, node.get("additionalProperties"), node, jclass, schema);
@@ -91,18 +91,18 @@ public class CustomObjectRule extends ObjectRule {
             AnnotationHelper.addGeneratedAnnotation(jclass);
         }
         if (ruleFactory.getGenerationConfig().isIncludeToString()) {
-            AppUtils.invoke(this, getClass().getSuperclass(),"addToString",
-                    new Class<?>[]{JDefinedClass.class}, new Object[]{jclass});
+            MethodHandleRegistry.invoke(this, ObjectRule.class, "addToString",
+                    new Class<?>[]{JDefinedClass.class}, jclass);
         }
         if (ruleFactory.getGenerationConfig().isIncludeHashcodeAndEquals()) {
-            AppUtils.invoke(this, getClass().getSuperclass(),"addHashCode",
-                    new Class<?>[]{JDefinedClass.class,JsonNode.class}, new Object[]{jclass,node});
-            AppUtils.invoke(this, getClass().getSuperclass(),"addEquals",
-                    new Class<?>[]{JDefinedClass.class,JsonNode.class}, new Object[]{jclass,node});
+            MethodHandleRegistry.invoke(this, ObjectRule.class, "addHashCode",
+                    new Class<?>[]{JDefinedClass.class,JsonNode.class}, jclass, node);
+            MethodHandleRegistry.invoke(this, ObjectRule.class, "addEquals",
+                    new Class<?>[]{JDefinedClass.class,JsonNode.class}, jclass, node);
         }
         if (ruleFactory.getGenerationConfig().isParcelable()) {
-            AppUtils.invoke(this, getClass().getSuperclass(),"addParcelSupport",
-                    new Class<?>[]{JDefinedClass.class}, new Object[]{jclass});
+            MethodHandleRegistry.invoke(this, ObjectRule.class, "addParcelSupport",
+                    new Class<?>[]{JDefinedClass.class}, jclass);
         }
         if (ruleFactory.getGenerationConfig().isIncludeConstructors()) {
             ruleFactory.getConstructorRule().apply(nodeName, node, parent, jclass, schema);
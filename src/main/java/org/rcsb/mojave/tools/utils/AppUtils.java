@@ -1,23 +1,18 @@
 package org.rcsb.mojave.tools.utils;
 
-import org.jsonschema2pojo.exception.GenerationException;
-
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-
 public class AppUtils {
 
     private AppUtils() {}
 
     public static final String PROPERTIES_RESOURCE_NAME = "/tools.module.properties";
 
+    /**
+     * @deprecated the method is looked up on every call, use
+     * {@link MethodHandleRegistry#invoke(Object, Class, String, Class[], Object...)} that caches it. Will be
+     * removed in the next release.
+     */
+    @Deprecated
     public static Object invoke(Object obj, Class<?> clazz, String methodName, Class<?>[] parameterTypes, Object[] args) {
-        try {
-            Method m = clazz.getDeclaredMethod(methodName, parameterTypes);
-            m.setAccessible(true);
-            return m.invoke(obj, args);
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            throw new GenerationException(e);
-        }
+        return MethodHandleRegistry.invoke(obj, clazz, methodName, parameterTypes, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,258 @@
+package org.rcsb.mojave.tools.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import org.rcsb.mojave.tools.jsonschema.HttpSchemaFetcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Manifest of a generator run that enables incremental generation. The manifest records the tool, its options,
+ * and the content hashes of the inputs and of the outputs. A following run with the same tool and options is
+ * skipped when none of the inputs changed and all outputs still hold the recorded content.
+ * <p>
+ * Incremental mode is opt-in: it's enabled when a tool is given the location of the manifest file with the
+ * <code>-m</code> option. Without the option {@link #isUpToDate(Collection)} is always false and
+ * {@link #save()} does nothing.
+ * <p>
+ * Inputs are file system paths, <code>file:</code> URIs, <code>jar:</code> resources or <code>http(s):</code>
+ * URIs. Remote inputs are hashed through {@link HttpSchemaFetcher#getDefault()}, which only revalidates its cached
+ * copies. A run with an input that cannot be hashed is never considered up to date.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class BuildManifest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildManifest.class);
+
+    public static final String OPTION = "-m";
+    private static final List<String> IGNORED_OPTIONS = Arrays.asList(OPTION, CommandOptions.WORKERS);
+
+    private static final String JAR_SCHEME = "jar";
+    private static final String FILE_SCHEME = "file";
+    private static final String HTTP_SCHEME = "http";
+    private static final String HTTPS_SCHEME = "https";
+
+    private static final String TOOL = "tool";
+    private static final String OPTIONS = "options";
+    private static final String INPUTS = "inputs";
+    private static final String OUTPUTS = "outputs";
+
+    private final File manifestFile;
+    private final String tool;
+    private final List<String> options;
+
+    private final Map<String, String> inputs = new TreeMap<>();
+    private final Map<String, String> outputs = new TreeMap<>();
+
+    private boolean reusable = true;
+
+    private BuildManifest(File manifestFile, String tool, List<String> options) {
+        this.manifestFile = manifestFile;
+        this.tool = tool;
+        this.options = options;
+    }
+
+    /**
+     * Creates the manifest of a tool run from the command line arguments of the tool.
+     *
+     * @param tool the tool class.
+     * @param args command line arguments. Incremental mode is enabled with <code>-m manifest.json</code>.
+     * @return manifest of the run.
+     */
+    public static BuildManifest fromArguments(Class<?> tool, String[] args) {
+
+        CommandOptions cmd = new CommandOptions(args);
+        File manifestFile = null;
+        if (cmd.hasOption(OPTION) && !cmd.valueOf(OPTION).isEmpty())
+            manifestFile = new File(cmd.valueOf(OPTION).get(0));
+
+        // neither the location of the manifest itself nor the number of workers is relevant for the outputs
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        for (String ignored : IGNORED_OPTIONS) {
+            int i = options.indexOf(ignored);
+            if (i >= 0) {
+                options.remove(i);
+                if (i < options.size())
+                    options.remove(i);
+            }
+        }
+        return new BuildManifest(manifestFile, tool.getName(), options);
+    }
+
+    public boolean isEnabled() {
+        return manifestFile != null;
+    }
+
+    private static String hash(byte[] content) {
+        return Hashing.sha256().hashBytes(content).toString();
+    }
+
+    private static String hashFile(File file) throws IOException {
+        return hash(Files.readAllBytes(file.toPath()));
+    }
+
+    private static boolean isRemote(String location) {
+        return location.regionMatches(true, 0, HTTP_SCHEME + ":", 0, HTTP_SCHEME.length() + 1)
+                || location.regionMatches(true, 0, HTTPS_SCHEME + ":", 0, HTTPS_SCHEME.length() + 1);
+    }
+
+    private static String normalize(String location) {
+        if (isRemote(location))
+            return URI.create(location).normalize().toString();
+        if (location.startsWith(JAR_SCHEME + ":"))
+            return location;
+        if (location.startsWith(FILE_SCHEME + ":"))
+            return Paths.get(URI.create(location)).toAbsolutePath().normalize().toString();
+        return Paths.get(location).toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * @return content hash of the input or null if the input doesn't exist or a remote input cannot be fetched.
+     */
+    private static String hashInput(String location) throws IOException {
+        if (isRemote(location)) {
+            try {
+                return hash(HttpSchemaFetcher.getDefault().fetch(URI.create(location)));
+            } catch (IOException e) {
+                logger.warn("Input {} cannot be fetched: {}", location, e.getMessage());
+                return null;
+            }
+        }
+        if (location.startsWith(JAR_SCHEME + ":")) {
+            try (InputStream is = BuildManifest.class.getResourceAsStream(location.substring(JAR_SCHEME.length() + 1))) {
+                return is == null ? null : hash(ByteStreams.toByteArray(is));
+            }
+        }
+        File file = new File(location);
+        return file.isFile() ? hashFile(file) : null;
+    }
+
+    /**
+     * Records the inputs of the current run and checks whether the outputs of the previous run can be reused.
+     * The inputs of the previous run (including the ones added with {@link #addInput(String)}) are checked too.
+     *
+     * @param locations inputs of the current run.
+     * @return true if the tool and its options are the same as in the previous run, no input changed, every
+     * remote input could be fetched and all outputs hold the recorded content.
+     * @throws IOException when an input cannot be read.
+     */
+    public boolean isUpToDate(Collection<String> locations) throws IOException {
+
+        for (String location : locations)
+            addInput(location);
+
+        if (!isEnabled() || !reusable || !manifestFile.isFile())
+            return false;
+
+        JsonNode previous;
+        try {
+            previous = new ObjectMapper().readTree(manifestFile);
+        } catch (IOException e) {
+            logger.warn("Manifest {} cannot be read, all outputs will be generated: {}", manifestFile, e.getMessage());
+            return false;
+        }
+
+        if (!tool.equals(previous.path(TOOL).asText()))
+            return false;
+
+        List<String> previousOptions = new ArrayList<>();
+        previous.path(OPTIONS).forEach(o -> previousOptions.add(o.asText()));
+        if (!options.equals(previousOptions))
+            return false;
+
+        JsonNode previousInputs = previous.path(INPUTS);
+        for (String location : inputs.keySet()) {
+            if (!previousInputs.has(location))
+                return false;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = previousInputs.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> input = fields.next();
+            String hash = inputs.containsKey(input.getKey()) ? inputs.get(input.getKey()) : hashInput(input.getKey());
+            if (!input.getValue().asText().equals(hash))
+                return false;
+        }
+
+        fields = previous.path(OUTPUTS).fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> output = fields.next();
+            File file = new File(output.getKey());
+            if (!file.isFile() || !output.getValue().asText().equals(hashFile(file)))
+                return false;
+        }
+
+        logger.info("Outputs of {} are up to date, nothing to generate", tool);
+        return true;
+    }
+
+    /**
+     * Adds an input, e.g. a document that was loaded when JSON references were resolved.
+     *
+     * @param location input file path, <code>file:</code> URI, <code>jar:</code> resource or <code>http(s):</code> URI.
+     * @throws IOException when a local input cannot be read.
+     */
+    public void addInput(String location) throws IOException {
+        if (!isEnabled())
+            return;
+        String key = normalize(location);
+        String hash = hashInput(key);
+        if (hash != null)
+            inputs.put(key, hash);
+        else if (isRemote(key))
+            reusable = false;
+    }
+
+    public void addOutput(File file) {
+        outputs.put(file.getAbsoluteFile().toPath().normalize().toString(), null);
+    }
+
+    public void addOutputs(Collection<File> files) {
+        files.forEach(this::addOutput);
+    }
+
+    /**
+     * Saves the manifest of the current run. Output hashes are computed from the written files.
+     *
+     * @throws IOException when an output cannot be read or the manifest cannot be written.
+     */
+    public void save() throws IOException {
+
+        if (!isEnabled())
+            return;
+
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode manifest = mapper.createObjectNode();
+        manifest.put(TOOL, tool);
+        ArrayNode optionsNode = manifest.putArray(OPTIONS);
+        options.forEach(optionsNode::add);
+        ObjectNode inputsNode = manifest.putObject(INPUTS);
+        inputs.forEach(inputsNode::put);
+        ObjectNode outputsNode = manifest.putObject(OUTPUTS);
+        for (String output : outputs.keySet())
+            outputsNode.put(output, hashFile(new File(output)));
+
+        CommonUtils.ensurePathToFolderExist(manifestFile.getAbsoluteFile().getParentFile());
+        CommonUtils.writeIfChanged(manifestFile, mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest));
+    }
+}
@@ -13,6 +13,8 @@ import static java.util.Arrays.asList;
  */
 public class CommandOptions {
 
+    public static final String WORKERS = "-w";
+
     private List<String> options = new ArrayList<>();
     private List<String> arguments = new ArrayList<>();
 
@@ -61,4 +63,18 @@ public class CommandOptions {
         }
         return value;
     }
+
+    /**
+     * @return the number of workers given with the {@value #WORKERS} option, 1 by default.
+     * @throws IllegalArgumentException when the number is missing or not positive.
+     */
+    public int getWorkers() {
+        if (!hasOption(WORKERS))
+            return 1;
+        List<String> value = valueOf(WORKERS);
+        int workers = value.isEmpty() ? 0 : Integer.parseInt(value.get(0));
+        if (workers < 1)
+            throw new IllegalArgumentException("Number of workers (" + WORKERS + ") must be positive.");
+        return workers;
+    }
 }
@@ -1,16 +1,18 @@
 package org.rcsb.mojave.tools.utils;
 
-import com.sun.codemodel.CodeWriter;
 import com.sun.codemodel.JCodeModel;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.DirectoryFileFilter;
 import org.apache.commons.io.filefilter.RegexFileFilter;
-import org.jsonschema2pojo.FileCodeWriterWithEncoding;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Properties;
 
@@ -50,7 +52,8 @@ public class CommonUtils {
      * @param folder that may not exist.
      */
     public static void ensurePathToFolderExist(File folder) throws IOException {
-        if (!folder.exists() && !folder.mkdirs())
+        // the folder may be created concurrently by another worker
+        if (!folder.exists() && !folder.mkdirs() && !folder.isDirectory())
             throw new IOException("Couldn't create a directory: "+folder.getAbsolutePath());
     }
 
@@ -74,15 +77,49 @@ public class CommonUtils {
     }
 
     /**
-     * Writes Java class to a specified location.
+     * Writes the content to a file unless the file already holds identical bytes. An unchanged file
+     * is not touched, so its timestamp is kept.
+     *
+     * @param file the file to be written.
+     * @param content the content of the file.
+     * @return true if the file was written.
+     * @throws IOException when the application is unable to read or write the file.
+     */
+    public static boolean writeIfChanged(File file, byte[] content) throws IOException {
+
+        Path path = file.toPath();
+        if (Files.isRegularFile(path) && Files.size(path) == content.length
+                && Arrays.equals(Files.readAllBytes(path), content))
+            return false;
+        Files.write(path, content);
+        return true;
+    }
+
+    /**
+     * Writes Java class to a specified location. Classes that already exist with identical
+     * content are not rewritten.
      *
      * @param outDir location where the class should be placed.
      * @param codeModel with Java code to be generated.
      * @throws IOException when the application is unable to write resulting file.
      */
     public static void writeClassToFile(File outDir, JCodeModel codeModel) throws IOException {
+        writeClassToFile(outDir, codeModel, new ArrayList<>());
+    }
+
+    /**
+     * Writes Java class to a specified location. Classes that already exist with identical
+     * content are not rewritten.
+     *
+     * @param outDir location where the class should be placed.
+     * @param codeModel with Java code to be generated.
+     * @param files collects the files produced by the code model.
+     * @throws IOException when the application is unable to write resulting file.
+     */
+    public static void writeClassToFile(File outDir, JCodeModel codeModel, Collection<File> files) throws IOException {
 
-        CodeWriter resourcesWriter = new FileCodeWriterWithEncoding(outDir, "UTF-8");
+        UnchangedFileSkippingCodeWriter resourcesWriter = new UnchangedFileSkippingCodeWriter(outDir, "UTF-8");
         codeModel.build(resourcesWriter);
+        files.addAll(resourcesWriter.getFiles());
     }
 }
@@ -22,26 +22,34 @@ public class ConfigurableMapper {
 
     private ConfigurableMapper() {}
 
-    private static ObjectMapper mapper;
+    // the holder class is initialized on first use, which the JVM does once and safely publishes to all threads
+    private static final class Holder {
+        private static final ObjectMapper MAPPER = createMapper();
+    }
 
-    public static ObjectMapper getMapper() {
-        if (mapper == null) {
-            mapper = JsonMapper.builder()
-                    .enable(SerializationFeature.INDENT_OUTPUT)
-                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
-                    .enable(JsonParser.Feature.ALLOW_COMMENTS)
-                    .enable(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES)
-                    .serializationInclusion(JsonInclude.Include.NON_EMPTY)
-                    .build();
-            mapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
-
-            mapper.configOverride(List.class).setInclude(
-                    JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, null));
-            mapper.configOverride(Set.class).setInclude(
-                    JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, null));
-            mapper.configOverride(Map.class).setInclude(
-                    JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, null));
-        }
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = JsonMapper.builder()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(JsonParser.Feature.ALLOW_COMMENTS)
+                .enable(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES)
+                .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+                .build();
+        mapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+        mapper.configOverride(List.class).setInclude(
+                JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, null));
+        mapper.configOverride(Set.class).setInclude(
+                JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, null));
+        mapper.configOverride(Map.class).setInclude(
+                JsonInclude.Value.construct(JsonInclude.Include.NON_EMPTY, null));
         return mapper;
     }
+
+    /**
+     * @return the shared mapper, fully configured before any thread can see it. It must not be reconfigured.
+     */
+    public static ObjectMapper getMapper() {
+        return Holder.MAPPER;
+    }
 }
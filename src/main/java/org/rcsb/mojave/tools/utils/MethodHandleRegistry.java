@@ -0,0 +1,111 @@
+package org.rcsb.mojave.tools.utils;
+
+import org.jsonschema2pojo.exception.GenerationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Invokes (non-public) methods of the classes we extend, like the jsonschema2pojo rules. A method is looked up once
+ * per (class, name, parameter types) and cached as a {@link MethodHandle} of the generic shape
+ * {@code (Object receiver, Object[] args)Object}, the receiver is ignored for static methods.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public final class MethodHandleRegistry {
+
+    private static final Map<Key, MethodHandle> handles = new ConcurrentHashMap<>();
+
+    private MethodHandleRegistry() {}
+
+    /**
+     * @param clazz the class that declares the method.
+     * @param methodName name of the method.
+     * @param parameterTypes parameter types of the method.
+     * @return the cached handle of the method, see {@link #invoke(Object, Class, String, Class[], Object...)}.
+     * @throws GenerationException when the method cannot be found or accessed.
+     */
+    public static MethodHandle find(Class<?> clazz, String methodName, Class<?>... parameterTypes) {
+        return handles.computeIfAbsent(new Key(clazz, methodName, parameterTypes), MethodHandleRegistry::resolve);
+    }
+
+    /**
+     * Invokes a method declared by a given class.
+     *
+     * @param obj the receiver, ignored (can be null) for static methods.
+     * @param clazz the class that declares the method.
+     * @param methodName name of the method.
+     * @param parameterTypes parameter types of the method.
+     * @param args arguments of the invocation.
+     * @return the result of the invocation, null for void methods.
+     * @throws GenerationException when the method cannot be resolved or fails.
+     */
+    public static Object invoke(Object obj, Class<?> clazz, String methodName, Class<?>[] parameterTypes, Object... args) {
+        MethodHandle handle = find(clazz, methodName, parameterTypes);
+        try {
+            return handle.invokeExact(obj, args);
+        } catch (GenerationException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new GenerationException("Invocation of " + describe(clazz, methodName, parameterTypes) + " failed", e);
+        }
+    }
+
+    private static MethodHandle resolve(Key key) {
+        try {
+            Method m = key.clazz.getDeclaredMethod(key.methodName, key.parameterTypes);
+            m.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(m);
+            if (Modifier.isStatic(m.getModifiers()))
+                handle = MethodHandles.dropArguments(handle.asType(handle.type().generic()), 0, Object.class);
+            else
+                handle = handle.asType(handle.type().generic());
+            return handle.asSpreader(Object[].class, key.parameterTypes.length);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new GenerationException("Cannot resolve method "
+                    + describe(key.clazz, key.methodName, key.parameterTypes), e);
+        }
+    }
+
+    private static String describe(Class<?> clazz, String methodName, Class<?>[] parameterTypes) {
+        return clazz.getName() + "." + methodName + Arrays.stream(parameterTypes)
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    private static final class Key {
+
+        private final Class<?> clazz;
+        private final String methodName;
+        private final Class<?>[] parameterTypes;
+
+        private Key(Class<?> clazz, String methodName, Class<?>[] parameterTypes) {
+            this.clazz = clazz;
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return clazz == key.clazz && methodName.equals(key.methodName)
+                    && Arrays.equals(parameterTypes, key.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hash(clazz, methodName) + Arrays.hashCode(parameterTypes);
+        }
+    }
+}
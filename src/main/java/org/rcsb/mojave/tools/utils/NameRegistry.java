@@ -0,0 +1,100 @@
+package org.rcsb.mojave.tools.utils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case insensitive registry of generated names. Names are compared as {@link String#equalsIgnoreCase(String)} does,
+ * through a case folded form kept in a hash set.
+ * <p>
+ * A name that is already taken is made unique by appending the smallest number of '_' that gives a name not taken
+ * yet. The number of '_' found for a name is remembered, names are never unregistered, so the search for the next
+ * name with the same stem starts from there.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class NameRegistry {
+
+    private static final char SUFFIX = '_';
+
+    private final Set<String> names = new HashSet<>();
+    private final Map<String, Integer> suffixes = new HashMap<>();
+
+    public NameRegistry() {}
+
+    /**
+     * @param names names already taken.
+     */
+    public NameRegistry(Collection<String> names) {
+        names.forEach(this::add);
+    }
+
+    private static String fold(String name) {
+        char[] chars = new char[name.length()];
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        return new String(chars);
+    }
+
+    /**
+     * @param name the name to be registered.
+     * @return true if the name (ignoring case) was not registered before.
+     */
+    public boolean add(String name) {
+        return names.add(fold(name));
+    }
+
+    /**
+     * @param name the name to look up.
+     * @return true if the name (ignoring case) is registered.
+     */
+    public boolean contains(String name) {
+        return names.contains(fold(name));
+    }
+
+    /**
+     * Makes a name unique without registering it.
+     *
+     * @param name the name to be made unique.
+     * @return the name itself if it's not taken, otherwise the name followed by the smallest number of '_'
+     * that gives a name not taken yet.
+     */
+    public String makeUnique(String name) {
+
+        String stem = fold(name);
+        if (!names.contains(stem))
+            return name;
+
+        int count = suffixes.getOrDefault(stem, 1);
+        StringBuilder candidate = new StringBuilder(stem);
+        for (int i = 0; i < count; i++)
+            candidate.append(SUFFIX);
+        while (names.contains(candidate.toString())) {
+            candidate.append(SUFFIX);
+            count++;
+        }
+        suffixes.put(stem, count);
+
+        StringBuilder unique = new StringBuilder(name);
+        for (int i = 0; i < count; i++)
+            unique.append(SUFFIX);
+        return unique.toString();
+    }
+
+    /**
+     * Makes a name unique and registers it.
+     *
+     * @param name the name to be registered.
+     * @return the registered name, see {@link #makeUnique(String)}.
+     */
+    public String register(String name) {
+        String unique = makeUnique(name);
+        add(unique);
+        return unique;
+    }
+}
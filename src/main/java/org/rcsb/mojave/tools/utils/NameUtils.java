@@ -61,19 +61,23 @@ public final class NameUtils {
      * @return case insensitive representation for a name
      */
     public static String makeUnique(String name, Collection<String> existingNames) {
-        var modified = uniqify(name, existingNames);
+        return makeUnique(name, new NameRegistry(existingNames));
+    }
+
+    /**
+     * Helps to create a mapping between case sensitive names and their case insensitive
+     * representation. The name is not registered.
+     *
+     * @param name a name to be registered.
+     * @param existingNames the registry of names already registered.
+     *
+     * @return case insensitive representation for a name
+     */
+    public static String makeUnique(String name, NameRegistry existingNames) {
+        var modified = existingNames.makeUnique(name);
         if (!modified.equals(name)) {
             logger.info("Renamed field '{}' → '{}' (because not unique compared to existing names).", name, modified);
         }
         return modified;
     }
-
-    private static String uniqify(String name, Collection<String> existingNames) {
-        for (String existingName : existingNames) {
-            if (name.equalsIgnoreCase(existingName)) {
-                return makeUnique(name + "_", existingNames);
-            }
-        }
-        return name;
-    }
-}
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package org.rcsb.mojave.tools.utils;
+
+import com.sun.codemodel.JPackage;
+import org.jsonschema2pojo.FileCodeWriterWithEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Writes generated classes the same way as {@link FileCodeWriterWithEncoding}, but leaves files that
+ * already hold identical content untouched. Their timestamps are kept, so unchanged classes are not
+ * recompiled downstream.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class UnchangedFileSkippingCodeWriter extends FileCodeWriterWithEncoding {
+
+    private final File target;
+    private final Collection<File> files = new ArrayList<>();
+
+    public UnchangedFileSkippingCodeWriter(File target, String encoding) throws IOException {
+        super(target, encoding);
+        this.target = target;
+    }
+
+    private File getTargetFile(JPackage pkg, String fileName) {
+        File dir = pkg.isUnnamed() ? target : new File(target, pkg.name().replace('.', File.separatorChar));
+        return new File(dir, fileName);
+    }
+
+    @Override
+    public OutputStream openBinary(JPackage pkg, String fileName) {
+
+        File file = getTargetFile(pkg, fileName);
+        files.add(file);
+
+        return new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                CommonUtils.ensurePathToFolderExist(file.getParentFile());
+                CommonUtils.writeIfChanged(file, toByteArray());
+            }
+        };
+    }
+
+    /**
+     * @return all files produced by the code model, including the ones that were not rewritten.
+     */
+    public Collection<File> getFiles() {
+        return files;
+    }
+}
@@ -0,0 +1,203 @@
+package org.rcsb.mojave.tools.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.validation.DocumentValidator;
+import org.rcsb.mojave.tools.jsonschema.validation.StreamingValidator;
+import org.rcsb.mojave.tools.jsonschema.validation.Violation;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestGenerateSchemaValidators {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DocumentValidator compile() throws Exception {
+
+        URL source = TestGenerateSchemaValidators.class.getResource("/schema/validation/json-schema-validation.json");
+        JsonNode schema = new SchemaLoader().readSchema(source);
+        String className = GenerateSchemaValidators.getClassName(new File(source.getPath()));
+        assertEquals("JsonSchemaValidationValidator", className);
+
+        File sources = folder.newFolder("src");
+        Collection<File> files = new GenerateSchemaValidators()
+                .run(Collections.singletonMap(className, schema), sources, "org.rcsb.validation");
+        assertEquals(1, files.size());
+
+        File classes = folder.newFolder("classes");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> args = new ArrayList<>(asList("-d", classes.getPath(),
+                "-classpath", System.getProperty("java.class.path")));
+        files.forEach(f -> args.add(f.getPath()));
+        assertEquals(0, compiler.run(null, null, null, args.toArray(new String[0])));
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+        return (DocumentValidator) loader.loadClass("org.rcsb.validation." + className)
+                .getDeclaredConstructor().newInstance();
+    }
+
+    private static Set<String> validate(DocumentValidator validator, String json) throws Exception {
+        List<Violation> violations = validator.validate(ConfigurableMapper.getMapper().readTree(json));
+        return violations.stream()
+                .map(v -> v.getKeyword() + " " + v.getPointer())
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void shouldValidateDocuments() throws Exception {
+
+        DocumentValidator validator = compile();
+
+        assertEquals(Collections.emptySet(), validate(validator,
+                "{\"id\": \"1ABC\", \"count\": 9, \"status\": \"REL\", \"resolution\": null," +
+                        " \"entity\": {\"name\": \"e\", \"kind\": 2.50}, \"tags\": [\"a\", \"bcdef\"], \"comment\": [1]}"));
+        assertEquals(Collections.emptySet(), validate(validator,
+                "{\"id\": \"1ABC\", \"count\": 1.0, \"resolution\": 1.5, \"entity\": {\"name\": \"e\", \"kind\": 1}}"));
+
+        assertEquals(new HashSet<>(asList(
+                "pattern /id",
+                "maximum /count",
+                "enum /status",
+                "minimum /resolution",
+                "required /entity",
+                "enum /entity/kind",
+                "maxItems /tags",
+                "minLength /tags/0",
+                "maxLength /tags/3",
+                "additionalProperties /extra~1field")), validate(validator,
+                "{\"id\": \"abcd\", \"count\": 10, \"status\": \"rel\", \"resolution\": -1," +
+                        " \"entity\": {\"kind\": \"y\"}, \"tags\": [\"\", \"a\", \"b\", \"abcdef\"], \"extra/field\": 1}"));
+
+        assertEquals(new HashSet<>(asList(
+                "type /id",
+                "type /count",
+                "type /resolution",
+                "required ")), validate(validator,
+                "{\"id\": 1, \"count\": 1.5, \"resolution\": \"high\"}"));
+
+        assertEquals(Collections.singleton("type "), validate(validator, "[]"));
+    }
+
+    @Test
+    public void shouldValidateParsedDocuments() throws Exception {
+
+        DocumentValidator validator = compile();
+        String json = "{\"id\": \"1ABC\", \"entity\": {\"name\": \"e\"}}\n{\"id\": \"1ABC\"}";
+        try (JsonParser parser = ConfigurableMapper.getMapper().getFactory().createParser(json)) {
+            List<Violation> violations = new ArrayList<>();
+            validator.validate(parser, violations);
+            assertTrue(violations.isEmpty());
+
+            parser.nextToken();
+            validator.validate(parser, violations);
+            assertEquals(Collections.singletonList(new Violation("", "required", "missing property 'entity'")),
+                    violations);
+        }
+    }
+
+    @Test
+    public void shouldRegenerateWhenReferencedFragmentChanges() throws Exception {
+
+        File schemas = folder.newFolder("core");
+        File fragment = folder.newFile("fragment.json");
+        Files.write(fragment.toPath(), "{\"type\": \"string\", \"maxLength\": 5}".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(schemas, "core_entry.json").toPath(), ("{\"type\": \"object\", \"properties\": {" +
+                "\"id\": {\"$ref\": \"" + fragment.toURI() + "\"}}}").getBytes(StandardCharsets.UTF_8));
+
+        File output = new File(folder.getRoot(), "java");
+        String[] args = {"-i", schemas.getPath(), "-o", output.getPath(), "-t", "org.rcsb.validation",
+                "-m", new File(folder.getRoot(), "manifest.json").getPath()};
+        GenerateSchemaValidators.main(args);
+        File validator = new File(output, "org/rcsb/validation/CoreEntryValidator.java");
+        String generated = new String(Files.readAllBytes(validator.toPath()), StandardCharsets.UTF_8);
+
+        // only the referenced fragment changes, the run is not skipped
+        Files.write(fragment.toPath(), "{\"type\": \"string\", \"maxLength\": 7}".getBytes(StandardCharsets.UTF_8));
+        GenerateSchemaValidators.main(args);
+        String regenerated = new String(Files.readAllBytes(validator.toPath()), StandardCharsets.UTF_8);
+        assertNotEquals(generated, regenerated);
+        assertTrue(regenerated.contains("7"));
+    }
+
+    @Test
+    public void shouldFailOnClassNameCollision() throws Exception {
+
+        File schemas = folder.newFolder("core");
+        File first = new File(schemas, "core_entry.json");
+        File second = new File(folder.newFolder("core", "nested"), "core-entry.json");
+        for (File f : asList(first, second))
+            Files.write(f.toPath(), "{\"type\": \"object\"}".getBytes(StandardCharsets.UTF_8));
+
+        File output = new File(folder.getRoot(), "java");
+        String[] args = {"-i", schemas.getPath(), "-o", output.getPath(), "-t", "org.rcsb.validation"};
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> GenerateSchemaValidators.main(args));
+        assertTrue(e.getMessage().contains(first.getPath()));
+        assertTrue(e.getMessage().contains(second.getPath()));
+        assertTrue(e.getMessage().contains("CoreEntryValidator"));
+        assertFalse(output.exists());
+    }
+
+    @Test
+    public void shouldCompareNumbersExactly() throws Exception {
+
+        DocumentValidator validator = compile();
+        // 2^53 + 1 is equal to the bound when rounded to a double
+        String json = "{\"id\": \"1ABC\", \"entity\": {\"name\": \"e\"}, \"serial\": %s, \"ratio\": %s}";
+        assertEquals(Collections.emptySet(), validate(validator, String.format(json, "9007199254740992", "0.1")));
+        assertEquals(new HashSet<>(asList("maximum /serial", "minimum /ratio")),
+                validate(validator, String.format(json, "9007199254740993", "0.09999999999999999")));
+
+        // so is 0.1 - 1e-20, decimals keep their precision when the document is read as BigDecimal
+        JsonNode document = ConfigurableMapper.getMapper().reader(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .readTree(String.format(json, "1", "0.09999999999999999999"));
+        assertEquals(Collections.singletonList(new Violation("/ratio", "minimum", "must be >= 0.1")),
+                validator.validate(document));
+    }
+
+    @Test
+    public void shouldReportFields() throws Exception {
+
+        JsonNode document = ConfigurableMapper.getMapper().readTree(
+                "{\"id\": \"1ABC\", \"entity\": {\"name\": \"e\"}, \"tags\": [\"a\", \"\"], \"2019\": 1}");
+        Set<Violation> expected = new HashSet<>(asList(
+                new Violation("/tags/1", "/tags/*", "minLength", "must be at least 1 characters long"),
+                new Violation("/2019", "/2019", "additionalProperties", "property is not allowed")));
+        assertEquals(expected, new HashSet<>(compile().validate(document)));
+
+        URL schema = TestGenerateSchemaValidators.class.getResource("/schema/validation/json-schema-validation.json");
+        assertEquals(expected, new HashSet<>(new StreamingValidator(new SchemaLoader().readSchema(schema))
+                .validate(document)));
+    }
+}
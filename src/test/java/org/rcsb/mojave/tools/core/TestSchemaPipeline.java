@@ -0,0 +1,224 @@
+package org.rcsb.mojave.tools.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.utils.BuildManifest;
+import org.rcsb.mojave.tools.utils.CommonUtils;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestSchemaPipeline {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String resource(String name) {
+        return TestSchemaPipeline.class.getResource(name).toString();
+    }
+
+    private static List<String> args(Path root) {
+        return asList(
+                "GenerateAutoJsonSchema", "-i " + root.resolve("core") + " -o " + root.resolve("auto") + " -t org.rcsb.auto",
+                "GenerateValidationBsonSchema", "-i " + root.resolve("core") + " -o " + root.resolve("validation") + " -p v_",
+                "GenerateSchemaConstants", "-i " + root.resolve("core") + " -o " + root.resolve("java") + " -t org.rcsb.Constants",
+                "GenerateSchemaEnums", "-i " + root.resolve("auto") + " -o " + root.resolve("java") + " -t org.rcsb.enums",
+                "GenerateCombinedJsonSchema", "-i " + resource("/schema/stitching/target_json_schema.json") + " "
+                        + resource("/schema/stitching/update_json_schema.json") + " -o " + root.resolve("core/core.json")
+                        + " -s core");
+    }
+
+    private static void assertSameFiles(File expected, File actual) throws IOException {
+        Collection<File> expectedFiles = FileUtils.listFiles(expected, null, true);
+        assertEquals(expectedFiles.size(), FileUtils.listFiles(actual, null, true).size());
+        for (File e : expectedFiles) {
+            File a = new File(actual, expected.toURI().relativize(e.toURI()).getPath());
+            assertEquals(FileUtils.readFileToString(e, StandardCharsets.UTF_8)
+                            .replace(expected.getAbsolutePath(), ""),
+                    FileUtils.readFileToString(a, StandardCharsets.UTF_8)
+                            .replace(actual.getAbsolutePath(), ""));
+        }
+    }
+
+    @Test
+    public void shouldProduceSameOutputsAsSeparateTools() throws Exception {
+
+        Path separate = folder.newFolder("separate").toPath();
+        List<String> separateArgs = args(separate);
+        // the tools run one after another in the dependency order
+        for (int i : new int[]{8, 0, 2, 4, 6}) {
+            String[] a = separateArgs.get(i + 1).split(" ");
+            switch (separateArgs.get(i)) {
+                case "GenerateCombinedJsonSchema": GenerateCombinedJsonSchema.main(a); break;
+                case "GenerateAutoJsonSchema": GenerateAutoJsonSchema.main(a); break;
+                case "GenerateValidationBsonSchema": GenerateValidationBsonSchema.main(a); break;
+                case "GenerateSchemaConstants": GenerateSchemaConstants.main(a); break;
+                case "GenerateSchemaEnums": GenerateSchemaEnums.main(a); break;
+            }
+        }
+
+        Path pipelined = folder.newFolder("pipelined").toPath();
+        List<String> pipelineArgs = args(pipelined);
+        ObjectNode config = ConfigurableMapper.getMapper().createObjectNode();
+        ArrayNode stages = config.putArray("stages");
+        // the stages are listed before the stages they depend on
+        for (int i = 0; i < pipelineArgs.size(); i += 2) {
+            ObjectNode stage = stages.addObject();
+            stage.put("tool", pipelineArgs.get(i));
+            ArrayNode a = stage.putArray("args");
+            for (String arg : pipelineArgs.get(i + 1).split(" "))
+                a.add(arg);
+        }
+        new SchemaPipeline().run(config);
+
+        assertTrue(new File(pipelined.toFile(), "java/org/rcsb/Constants.java").exists());
+        assertSameFiles(separate.toFile(), pipelined.toFile());
+    }
+
+    @Test
+    public void shouldNotModifySharedSchemas() throws Exception {
+
+        Path root = folder.getRoot().toPath();
+        ObjectNode config = ConfigurableMapper.getMapper().createObjectNode();
+        ArrayNode stages = config.putArray("stages");
+        List<String> pipelineArgs = args(root);
+        for (int i : new int[]{8, 2, 4}) {
+            ObjectNode stage = stages.addObject();
+            stage.put("tool", pipelineArgs.get(i));
+            ArrayNode a = stage.putArray("args");
+            for (String arg : pipelineArgs.get(i + 1).split(" "))
+                a.add(arg);
+        }
+        new SchemaPipeline().run(config);
+
+        // constants are collected from the shared core schema after the validation schema was produced
+        String constants = FileUtils.readFileToString(root.resolve("java/org/rcsb/Constants.java").toFile(),
+                StandardCharsets.UTF_8);
+        assertFalse(constants.contains("\"_id\""));
+        JsonNode validation = ConfigurableMapper.getMapper().readTree(root.resolve("validation/v_core.json").toFile());
+        assertTrue(validation.get("properties").has("_id"));
+    }
+
+    private static String[] toolArgs(String input, Path output, String options) {
+        return (("-i " + input + " -o " + output + " " + options).trim()).split(" ");
+    }
+
+    @Test
+    public void shouldProduceSameOutputsOnWorkers() throws Exception {
+
+        File core = folder.newFolder("core");
+        FileUtils.copyDirectory(new File(TestSchemaPipeline.class.getResource("/schema/traversal").toURI()), core);
+        assertTrue(core.list().length > 4);
+
+        Path sequential = folder.newFolder("sequential").toPath();
+        Path parallel = folder.newFolder("parallel").toPath();
+        for (Path root : asList(sequential, parallel)) {
+            String w = root == sequential ? "" : "-w 4";
+            GenerateAutoJsonSchema.main(toolArgs(core.getPath(), root.resolve("auto"), "-t org.rcsb.auto " + w));
+            AnnotateSchemaWithJavaTypes.main(toolArgs(core.getPath(), root.resolve("annotated"),
+                    "-t org.rcsb.annotated " + w));
+            GenerateValidationBsonSchema.main(toolArgs(core.getPath(), root.resolve("validation"), "-p v_ " + w));
+        }
+        assertSameFiles(sequential.toFile(), parallel.toFile());
+
+        // stages of the pipeline accept the option of the tools
+        Path pipelined = folder.newFolder("pipelined").toPath();
+        ObjectNode config = ConfigurableMapper.getMapper().createObjectNode();
+        ArrayNode stages = config.putArray("stages");
+        String[][] tools = {
+                {"GenerateAutoJsonSchema", "auto", "-t org.rcsb.auto -w 4"},
+                {"AnnotateSchemaWithJavaTypes", "annotated", "-t org.rcsb.annotated -w 3"},
+                {"GenerateValidationBsonSchema", "validation", "-p v_ -w 2"}};
+        for (String[] tool : tools) {
+            ObjectNode stage = stages.addObject();
+            stage.put("tool", tool[0]);
+            ArrayNode a = stage.putArray("args");
+            for (String arg : toolArgs(core.getPath(), pipelined.resolve(tool[1]), tool[2]))
+                a.add(arg);
+        }
+        new SchemaPipeline().run(config);
+        assertSameFiles(sequential.toFile(), pipelined.toFile());
+    }
+
+    @Test
+    public void shouldWriteSnapshotOfCombinedSchema() throws Exception {
+
+        Path root = folder.getRoot().toPath();
+        String[] a = (args(root).get(9) + " -b true").split(" ");
+        GenerateCombinedJsonSchema.main(a);
+
+        File snapshot = root.resolve("core/core" + SchemaLoader.SNAPSHOT_EXTENSION).toFile();
+        assertTrue(snapshot.exists());
+        SchemaLoader loader = new SchemaLoader();
+        JsonNode combined = loader.readSchema(root.resolve("core/core.json").toFile());
+        assertEquals(combined, loader.readSchema(snapshot));
+        assertEquals("core", loader.readSchema(snapshot.toURI()).get("$id").asText());
+    }
+
+    @Test
+    public void shouldRunStagesIncrementally() throws Exception {
+
+        File core = folder.newFolder("core");
+        FileUtils.copyDirectory(new File(TestSchemaPipeline.class.getResource("/schema/traversal").toURI()), core);
+        Path root = folder.getRoot().toPath();
+        String manifest = root.resolve("auto-manifest.json").toString();
+        String[] stageArgs = toolArgs(core.getPath(), root.resolve("auto"), "-t org.rcsb.auto -w 2 -m " + manifest);
+
+        ObjectNode config = ConfigurableMapper.getMapper().createObjectNode();
+        ObjectNode stage = config.putArray("stages").addObject();
+        stage.put("tool", "GenerateAutoJsonSchema");
+        ArrayNode a = stage.putArray("args");
+        for (String arg : stageArgs)
+            a.add(arg);
+        new SchemaPipeline().run(config);
+        assertTrue(new File(manifest).exists());
+
+        // the stage records the manifest of the tool, with any number of workers the tool run is skipped
+        List<String> inputs = new ArrayList<>();
+        for (File f : CommonUtils.listSchemaFiles(core))
+            inputs.add(f.getPath());
+        String[] toolArgs = toolArgs(core.getPath(), root.resolve("auto"), "-t org.rcsb.auto -m " + manifest);
+        assertTrue(BuildManifest.fromArguments(GenerateAutoJsonSchema.class, toolArgs).isUpToDate(inputs));
+
+        // a modified output is generated again
+        File output = root.resolve("auto").toFile().listFiles()[0];
+        String generated = FileUtils.readFileToString(output, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(output, "{}", StandardCharsets.UTF_8);
+        new SchemaPipeline().run(config);
+        assertEquals(generated, FileUtils.readFileToString(output, StandardCharsets.UTF_8));
+        assertTrue(BuildManifest.fromArguments(GenerateAutoJsonSchema.class, toolArgs).isUpToDate(inputs));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownTool() throws Exception {
+
+        ObjectNode config = ConfigurableMapper.getMapper().createObjectNode();
+        ObjectNode stage = config.putArray("stages").addObject();
+        stage.put("tool", "Unknown");
+        List<String> a = new ArrayList<>(asList("-i", "in", "-o", "out"));
+        a.forEach(stage.putArray("args")::add);
+        new SchemaPipeline().run(config);
+    }
+}
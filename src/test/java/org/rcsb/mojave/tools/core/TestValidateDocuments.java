@@ -0,0 +1,122 @@
+package org.rcsb.mojave.tools.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.validation.StreamingValidator;
+import org.rcsb.mojave.tools.jsonschema.validation.ViolationStatistics;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestValidateDocuments {
+
+    private static final String VALID = "{\"id\": \"1ABC\", \"entity\": {\"name\": \"e\"}, \"tags\": [\"a\"]}";
+    private static final String INVALID = "{\"id\": \"1ABC\", \"entity\": {}, \"tags\": [\"\", \"abcdef\"]}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static URL schema() {
+        return TestValidateDocuments.class.getResource("/schema/validation/json-schema-validation.json");
+    }
+
+    private static String documents(int count) {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ndjson.append(i % 3 == 0 ? INVALID : VALID).append('\n');
+            if (i % 10 == 0)
+                ndjson.append('\n');
+        }
+        return ndjson.append("{\"id\": ").toString();
+    }
+
+    private static Map<String, Long> counts(ViolationStatistics statistics) {
+        Map<String, Long> counts = new HashMap<>();
+        statistics.getCounters().forEach(c -> counts.put(c.getKeyword() + " " + c.getField(), c.getCount()));
+        return counts;
+    }
+
+    @Test
+    public void shouldAggregateViolations() throws IOException {
+
+        StreamingValidator validator = new StreamingValidator(new SchemaLoader().readSchema(schema()));
+        String ndjson = documents(100);
+
+        ViolationStatistics single = new ValidateDocuments(validator, 1, 1).validate(new StringReader(ndjson));
+        assertEquals(101, single.getDocuments());
+        assertEquals(35, single.getInvalid());
+        assertEquals(1, single.getMalformed());
+
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("required /entity", 34L);
+        expected.put("minLength /tags/*", 34L);
+        expected.put("maxLength /tags/*", 34L);
+        expected.put("malformed ", 1L);
+        assertEquals(expected, counts(single));
+        // the first invalid document is on the first line, the malformed one is the last line
+        assertEquals(1, single.getCounters().get(0).getFirstDocument());
+        assertEquals(111, single.getCounters().get(3).getFirstDocument());
+
+        // chunks smaller than the queue and than the input
+        for (int chunkSize : new int[]{1, 7, 1000}) {
+            ViolationStatistics parallel = new ValidateDocuments(validator, 4, chunkSize)
+                    .validate(new StringReader(ndjson));
+            assertEquals(single.toJson(), parallel.toJson());
+        }
+    }
+
+    @Test
+    public void shouldValidateCompressedFiles() throws Exception {
+
+        File input = folder.newFile("entries.json.gz");
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(input)),
+                StandardCharsets.UTF_8)) {
+            writer.write(documents(20));
+        }
+        File output = new File(folder.getRoot(), "report/report.json");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> ValidateDocuments.main(new String[]{
+                "-s", schema().getPath(), "-i", input.getPath(), "-o", output.getPath(), "-w", "2", "-c", "3"}));
+        assertEquals("8 of 21 documents are invalid.", e.getMessage());
+
+        JsonNode report = ConfigurableMapper.getMapper().readTree(output).get(input.getPath());
+        assertEquals(21, report.get("documents").asInt());
+        assertEquals(1, report.get("malformed").asInt());
+        assertEquals(4, report.get("violations").size());
+    }
+
+    @Test
+    public void shouldReplaceOnlyArrayIndices() throws IOException {
+
+        StreamingValidator validator = new StreamingValidator(new SchemaLoader().readSchema(schema()));
+        String ndjson = "{\"id\": \"1ABC\", \"entity\": {\"name\": \"e\"}, \"tags\": [\"a\", \"\"], \"2019\": 1}\n" +
+                "{\"id\": \"1ABC\", \"entity\": {\"name\": \"e\"}, \"tags\": [\"\"], \"2020\": 1}\n";
+
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("minLength /tags/*", 2L);
+        expected.put("additionalProperties /2019", 1L);
+        expected.put("additionalProperties /2020", 1L);
+        assertEquals(expected, counts(new ValidateDocuments(validator, 1, 1).validate(new StringReader(ndjson))));
+    }
+}
@@ -0,0 +1,113 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import org.junit.Test;
+import org.rcsb.mesh.auto.DescriptorRecord;
+import org.rcsb.ncbi.auto.ESummaryResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestJaxbPool {
+
+    private static final String DESCRIPTOR = "<DescriptorRecord DescriptorClass=\"1\">" +
+            "<DescriptorUI>D000001</DescriptorUI><DescriptorName><String>Calcimycin</String></DescriptorName>" +
+            "<TreeNumberList><TreeNumber>D03.633.100.221.173</TreeNumber></TreeNumberList></DescriptorRecord>";
+
+    private static final String SUMMARY = "<eSummaryResult><DocSum><Id>%s</Id>" +
+            "<Item Name=\"ScientificName\" Type=\"String\">Homo sapiens</Item></DocSum></eSummaryResult>";
+
+    private static InputStream bytes(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldShareContexts() {
+        for (JaxbPackage p : JaxbPackage.values()) {
+            assertSame(p.getContext(), p.getContext());
+            assertSame(p.getPool(), p.getPool());
+        }
+    }
+
+    @Test
+    public void shouldReuseInstances() throws IOException {
+
+        JaxbPool pool = new JaxbPool(JaxbPackage.MESH);
+        DescriptorRecord record = pool.unmarshal(bytes(DESCRIPTOR), DescriptorRecord.class);
+        assertEquals("D000001", record.getDescriptorUI());
+        assertEquals("Calcimycin", record.getDescriptorName().getString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pool.marshal(record, out);
+        DescriptorRecord copy = pool.unmarshal(new ByteArrayInputStream(out.toByteArray()), DescriptorRecord.class);
+        assertEquals("D03.633.100.221.173", copy.getTreeNumberList().getTreeNumber().get(0).getvalue());
+
+        JaxbPool.Metrics metrics = pool.getUnmarshallerMetrics();
+        assertEquals(1, metrics.getCreated());
+        assertEquals(2, metrics.getAcquired());
+        assertEquals(0, metrics.getInUse());
+        assertEquals(1, metrics.getIdle());
+        assertEquals(1, pool.getMarshallerMetrics().getCreated());
+    }
+
+    @Test
+    public void shouldBoundIdleInstances() throws Exception {
+
+        JaxbPool pool = new JaxbPool(JaxbPackage.NCBI, null, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 100; j++)
+                        pool.unmarshal(bytes(String.format(SUMMARY, j)), ESummaryResult.class);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        JaxbPool.Metrics metrics = pool.getUnmarshallerMetrics();
+        assertEquals(800, metrics.getAcquired());
+        assertEquals(800, metrics.getReleased());
+        assertTrue(metrics.getIdle() <= 2);
+        // instances discarded above the maximum are created again when needed
+        assertEquals(metrics.getCreated(), metrics.getDiscarded() + metrics.getIdle());
+    }
+
+    @Test
+    public void shouldValidateDocuments() throws Exception {
+
+        JaxbPool pool = new JaxbPool(JaxbPackage.NCBI,
+                JaxbPool.newSchema(getClass().getResource("/xsd-schemas/ncbi-esummary.xsd")), 1);
+        ESummaryResult result = pool.unmarshal(bytes(String.format(SUMMARY, 9606)), ESummaryResult.class);
+        assertEquals(1, result.getDocSumOrERROR().size());
+
+        assertThrows(IOException.class, () -> pool.unmarshal(bytes(String.format(SUMMARY, "human")),
+                ESummaryResult.class));
+        assertEquals(0, pool.getUnmarshallerMetrics().getInUse());
+
+        // the same document is accepted without validation
+        JaxbPackage.NCBI.getPool().unmarshal(bytes(String.format(SUMMARY, "human")), ESummaryResult.class);
+    }
+}
@@ -0,0 +1,65 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import org.junit.Test;
+import org.rcsb.mesh.auto.DescriptorRecord;
+import org.rcsb.mesh.auto.TreeNumber;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestMeshDescriptorReader {
+
+    static InputStream sample() {
+        return TestMeshDescriptorReader.class.getResourceAsStream("/xml/mesh/mesh_sample.xml");
+    }
+
+    @Test
+    public void shouldReadRecords() throws IOException {
+
+        try (MeshDescriptorReader reader = new MeshDescriptorReader(sample())) {
+            DescriptorRecord record = reader.next();
+            assertEquals("D000001", record.getDescriptorUI());
+            assertEquals("Calcimycin", record.getDescriptorName().getString());
+            assertEquals("D03.633.100.221.173", record.getTreeNumberList().getTreeNumber().get(0).getvalue());
+            assertEquals("D000900", record.getPharmacologicalActionList().getPharmacologicalAction().get(0)
+                    .getDescriptorReferredTo().getDescriptorUI());
+
+            int count = 1;
+            while ((record = reader.read()) != null)
+                count++;
+            assertEquals(12, count);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    public void shouldStreamRecords() throws IOException {
+
+        try (Stream<DescriptorRecord> records = MeshDescriptorReader.stream(sample())) {
+            List<String> breast = records.filter(r -> r.getDescriptorUI().equals("D001940"))
+                    .flatMap(r -> r.getTreeNumberList().getTreeNumber().stream())
+                    .map(TreeNumber::getvalue)
+                    .collect(Collectors.toList());
+            assertEquals(asList("A01.923.133", "A01.923.761.133"), breast);
+        }
+
+        try (Stream<DescriptorRecord> records = MeshDescriptorReader.stream(sample())) {
+            DescriptorRecord female = records.reduce((a, b) -> b).orElseThrow(AssertionError::new);
+            assertEquals("D005260", female.getDescriptorUI());
+            assertNull(female.getTreeNumberList());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rcsb.mesh.auto.DescriptorRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestMeshIndex {
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static Path file;
+    private static MeshIndex index;
+
+    @BeforeClass
+    public static void buildIndex() throws IOException {
+        file = folder.newFile("mesh.xml").toPath();
+        try (InputStream in = TestMeshDescriptorReader.sample()) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        index = MeshIndex.build(file);
+    }
+
+    @Test
+    public void shouldIndexRecords() throws IOException {
+
+        assertEquals(12, index.size());
+        assertEquals("D006225", index.getDescriptorUI("A01.378.800.667"));
+        assertNull(index.getDescriptorUI("A01.378.800.6"));
+        assertEquals(asList("A01.923.133", "A01.923.761.133"), index.getTreeNumbers("D001940"));
+        assertEquals(Collections.emptyList(), index.getTreeNumbers("D005260"));
+
+        // the UIs of the descriptors a record refers to are not indexed
+        assertNull(index.getRecord("D000900"));
+        DescriptorRecord record = index.getRecord("D000001");
+        assertEquals("Calcimycin", record.getDescriptorName().getString());
+
+        // every record of the file is found
+        try (Stream<DescriptorRecord> records = MeshDescriptorReader.stream(Files.newInputStream(file))) {
+            records.forEach(r -> {
+                try {
+                    assertEquals(r.getDescriptorName().getString(),
+                            index.getRecord(r.getDescriptorUI()).getDescriptorName().getString());
+                } catch (IOException e) {
+                    throw new AssertionError(e);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void shouldFindAncestors() {
+
+        assertEquals(asList("D001829", "D005121", "D034941", "D006225", "D005385"), index.getAncestors("D013933"));
+        // from both trees of the descriptor
+        assertEquals(asList("D001829", "D014068", "D013909"), index.getAncestors("D001940"));
+        assertEquals(Collections.emptyList(), index.getAncestors("D001829"));
+        // the ancestors of D03.633.100.221.173 are not in the file
+        assertEquals(Collections.emptyList(), index.getAncestors("D000001"));
+        assertEquals(Collections.emptyList(), index.getAncestors("D999999"));
+    }
+
+    @Test
+    public void shouldFindDescendants() {
+
+        assertEquals(asList("D005385", "D013933"), index.getDescendants("D006225"));
+        assertEquals(asList("D000005", "D001940", "D013909"), index.getDescendants("D014068"));
+        assertEquals(asList("D001940"), index.getDescendants("D013909"));
+        assertEquals(Collections.emptyList(), index.getDescendants("D013933"));
+        assertEquals(9, index.getDescendants("D001829").size());
+    }
+
+    @Test
+    public void shouldFailOnDuplicates() throws IOException {
+
+        String xml = "<DescriptorRecordSet LanguageCode = \"eng\">" +
+                "<DescriptorRecord><DescriptorUI>D000001</DescriptorUI><TreeNumberList>" +
+                "<TreeNumber>A01</TreeNumber></TreeNumberList></DescriptorRecord>" +
+                "<DescriptorRecord><DescriptorUI>D000002</DescriptorUI><TreeNumberList>" +
+                "<TreeNumber>A01</TreeNumber></TreeNumberList></DescriptorRecord></DescriptorRecordSet>";
+        Path duplicates = folder.newFile("duplicates.xml").toPath();
+        Files.write(duplicates, xml.getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> MeshIndex.build(duplicates));
+
+        Path truncated = folder.newFile("truncated.xml").toPath();
+        Files.write(truncated, xml.substring(0, xml.lastIndexOf("</DescriptorRecord>"))
+                .getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> MeshIndex.build(truncated));
+    }
+}
@@ -0,0 +1,213 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rcsb.uniprot.auto.Entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestParallelUniProtReader {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String uniprot(int count) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<uniprot xmlns=\"http://uniprot.org/uniprot\">\n");
+        for (int i = 0; i < count; i++) {
+            xml.append(String.format("<entry dataset=\"TrEMBL\" created=\"2011-11-16\" modified=\"2023-11-08\"" +
+                    " version=\"%d\">\n  <accession>A%05d</accession>\n  <name>A%05d_HUMAN</name>\n" +
+                    "  <sequence length=\"%d\">%s</sequence>\n</entry>\n", i, i, i, i % 50, repeat(i % 50)));
+        }
+        return xml.append("<copyright>\nCopyrighted by the UniProt Consortium\n</copyright>\n</uniprot>\n")
+                .toString();
+    }
+
+    private static String repeat(int length) {
+        return String.join("", Collections.nCopies(length, "M"));
+    }
+
+    private static List<String> accessions(Stream<Entry> entries) {
+        return entries.map(e -> e.getAccession().get(0)).collect(Collectors.toList());
+    }
+
+    private static InputStream bytes(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldReadEntriesInOrder() throws IOException {
+
+        String xml = uniprot(500);
+        Path file = folder.newFile("uniprot.xml").toPath();
+        Files.write(file, xml.getBytes(StandardCharsets.UTF_8));
+
+        List<String> expected;
+        try (Stream<Entry> entries = UniProtEntryReader.stream(bytes(xml))) {
+            expected = accessions(entries);
+        }
+        assertEquals(500, expected.size());
+
+        for (int chunkSize : new int[]{1, 1000, 1 << 20}) {
+            ParallelUniProtReader reader = new ParallelUniProtReader.Builder()
+                    .fromFile(file)
+                    .withWorkers(4)
+                    .withQueueSize(2)
+                    .withChunkSize(chunkSize)
+                    .build();
+            try (Stream<Entry> entries = reader.stream()) {
+                assertEquals(expected, accessions(entries));
+            }
+        }
+
+        ParallelUniProtReader reader = new ParallelUniProtReader.Builder()
+                .fromStream(bytes(xml))
+                .withWorkers(3)
+                .withChunkSize(700)
+                .build();
+        try (Stream<Entry> entries = reader.stream()) {
+            assertEquals(expected, accessions(entries));
+        }
+    }
+
+    @Test
+    public void shouldReadEntriesUnordered() throws IOException {
+
+        String xml = uniprot(300);
+        ParallelUniProtReader reader = new ParallelUniProtReader.Builder()
+                .fromStream(bytes(xml))
+                .withWorkers(4)
+                .withChunkSize(500)
+                .withOrderPreserved(false)
+                .build();
+
+        List<String> found;
+        try (Stream<Entry> entries = reader.stream()) {
+            found = new ArrayList<>(accessions(entries));
+        }
+        List<String> expected;
+        try (Stream<Entry> entries = UniProtEntryReader.stream(bytes(xml))) {
+            expected = accessions(entries);
+        }
+        Collections.sort(found);
+        assertEquals(expected, found);
+    }
+
+    @Test
+    public void shouldReadSample() throws IOException {
+
+        ParallelUniProtReader reader = new ParallelUniProtReader.Builder()
+                .fromStream(TestUniProtEntryReader.sample())
+                .withWorkers(2)
+                .withChunkSize(1)
+                .build();
+        try (Stream<Entry> entries = reader.stream()) {
+            assertEquals(asList("P69905", "P68871", "G3V1N2"), accessions(entries));
+        }
+    }
+
+    @Test
+    public void shouldReadDocumentsWithoutEntries() throws IOException {
+
+        ParallelUniProtReader reader = new ParallelUniProtReader.Builder()
+                .fromStream(bytes("<uniprot xmlns=\"http://uniprot.org/uniprot\"><entryList/></uniprot>"))
+                .build();
+        assertFalse(reader.hasNext());
+        reader.close();
+    }
+
+    @Test
+    public void shouldFailOnMalformedEntries() throws IOException {
+
+        String xml = uniprot(100).replace("<name>A00042_HUMAN</name>", "<name>A00042_HUMAN</nam>");
+        ParallelUniProtReader reader = new ParallelUniProtReader.Builder()
+                .fromStream(bytes(xml))
+                .withWorkers(2)
+                .withChunkSize(1000)
+                .build();
+        try (Stream<Entry> entries = reader.stream()) {
+            assertThrows(UncheckedIOException.class, () -> entries.forEach(e -> {}));
+        }
+
+        ParallelUniProtReader truncated = new ParallelUniProtReader.Builder()
+                .fromStream(bytes(xml.substring(0, xml.indexOf("<name>A00099_HUMAN"))))
+                .build();
+        try (Stream<Entry> entries = truncated.stream()) {
+            assertThrows(UncheckedIOException.class, entries::count);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void shouldFailOnErrors() throws IOException {
+
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() {
+                throw new OutOfMemoryError("test");
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return read();
+            }
+        };
+        ParallelUniProtReader reader = new ParallelUniProtReader.Builder().fromStream(failing).build();
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, reader::hasNext);
+        assertTrue(e.getCause().getCause() instanceof OutOfMemoryError);
+        reader.close();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldStopWorkersWithoutClose() throws Exception {
+
+        // the splitter and the workers are created in the group of the thread that builds the reader
+        ThreadGroup group = new ThreadGroup("readers");
+        AtomicReference<ParallelUniProtReader> reader = new AtomicReference<>();
+        Thread builder = new Thread(group, () -> {
+            try {
+                reader.set(new ParallelUniProtReader.Builder()
+                        .fromStream(bytes(uniprot(100)))
+                        .withWorkers(4)
+                        .withChunkSize(1000)
+                        .build());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        builder.start();
+        builder.join();
+
+        int count = 0;
+        while (reader.get().hasNext()) {
+            reader.get().next();
+            count++;
+        }
+        assertEquals(100, count);
+        while (group.activeCount() > 0)
+            Thread.sleep(10);
+    }
+}
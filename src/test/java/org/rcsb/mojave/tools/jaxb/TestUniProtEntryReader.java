@@ -0,0 +1,83 @@
+package org.rcsb.mojave.tools.jaxb;
+
+import org.junit.Test;
+import org.rcsb.uniprot.auto.Entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestUniProtEntryReader {
+
+    static InputStream sample() {
+        return TestUniProtEntryReader.class.getResourceAsStream("/xml/uniprot/uniprot_sample.xml");
+    }
+
+    @Test
+    public void shouldReadEntries() throws IOException {
+
+        try (UniProtEntryReader reader = new UniProtEntryReader(sample())) {
+            assertTrue(reader.hasNext());
+            Entry entry = reader.next();
+            assertEquals(asList("P69905", "P01922"), entry.getAccession());
+            assertEquals("HBA_HUMAN", entry.getName().get(0));
+            assertEquals("Swiss-Prot", entry.getDataset());
+            assertEquals(256, entry.getVersion());
+            assertEquals(142, entry.getSequence().getLength());
+            assertEquals(142, entry.getSequence().getValue().length());
+
+            assertEquals("P68871", reader.next().getAccession().get(0));
+            assertEquals("G3V1N2", reader.read().getAccession().get(0));
+            assertFalse(reader.hasNext());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void shouldStreamEntries() throws IOException {
+
+        try (Stream<Entry> entries = UniProtEntryReader.stream(sample())) {
+            List<String> names = entries.map(e -> e.getName().get(0)).collect(Collectors.toList());
+            assertEquals(asList("HBA_HUMAN", "HBB_HUMAN", "G3V1N2_HUMAN"), names);
+        }
+    }
+
+    @Test
+    public void shouldIgnoreEntriesOfOtherNamespaces() throws IOException {
+
+        String xml = "<uniprot xmlns=\"http://uniprot.org/uniprot\"><other xmlns=\"urn:other\"><entry/></other>" +
+                "<entry dataset=\"TrEMBL\" created=\"2011-11-16\" modified=\"2023-11-08\" version=\"1\">" +
+                "<accession>A0A000</accession><name>A0A000_HUMAN</name></entry></uniprot>";
+        try (Stream<Entry> entries = UniProtEntryReader.stream(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals(asList("A0A000"), entries.map(e -> e.getAccession().get(0)).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void shouldFailOnMalformedXml() throws IOException {
+
+        String xml = "<uniprot xmlns=\"http://uniprot.org/uniprot\"><entry dataset=\"TrEMBL\"><accession>A0A000";
+        try (UniProtEntryReader reader = new UniProtEntryReader(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))) {
+            assertThrows(UncheckedIOException.class, reader::hasNext);
+        }
+    }
+}
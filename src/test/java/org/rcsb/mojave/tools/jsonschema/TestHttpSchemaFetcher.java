@@ -0,0 +1,230 @@
+package org.rcsb.mojave.tools.jsonschema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rcsb.mojave.tools.utils.BuildManifest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestHttpSchemaFetcher {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<String, String> documents = new ConcurrentHashMap<>();
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long delay;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Serves the documents with an ETag derived from their content, answers conditional requests with 304.
+     */
+    private void serve(HttpExchange e) throws IOException {
+        // HttpExchange is not AutoCloseable before Java 18
+        try {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+
+            String document = documents.get(e.getRequestURI().getPath());
+            if (document == null) {
+                e.sendResponseHeaders(404, -1);
+                return;
+            }
+            String etag = "\"" + Integer.toHexString(document.hashCode()) + "\"";
+            if (etag.equals(e.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                e.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] body = document.getBytes(StandardCharsets.UTF_8);
+            e.getResponseHeaders().add("ETag", etag);
+            e.getResponseHeaders().add("Content-Type", "application/json");
+            e.sendResponseHeaders(200, body.length);
+            try (OutputStream os = e.getResponseBody()) {
+                os.write(body);
+            }
+            downloads.incrementAndGet();
+        } finally {
+            e.close();
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::serve);
+        executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private HttpSchemaFetcher.Builder fetcher(File cache) {
+        return new HttpSchemaFetcher.Builder().withCacheDirectory(cache);
+    }
+
+    @Test
+    public void shouldResolveRemoteReferences() throws IOException {
+
+        documents.put("/schemas/entry.json", "{\"$id\": \"" + uri("/schemas/entry.json") + "\", \"properties\": {" +
+                "\"a\": {\"$ref\": \"a.json#/definitions/a\"}, \"b\": {\"$ref\": \"" + uri("/schemas/b.json") + "\"}}}");
+        documents.put("/schemas/a.json", "{\"$id\": \"" + uri("/schemas/a.json") + "\", \"definitions\": {" +
+                "\"a\": {\"$ref\": \"c.json\"}}}");
+        documents.put("/schemas/b.json", "{\"type\": \"integer\"}");
+        documents.put("/schemas/c.json", "{\"type\": \"string\"}");
+
+        SchemaLoader loader = new SchemaLoader(fetcher(null).build());
+        JsonNode schema = loader.readSchema(uri("/schemas/entry.json"));
+        assertEquals(schema, loader.readSchema(uri("/schemas/entry.json").toString()));
+        assertEquals(schema, loader.readSchema(uri("/schemas/entry.json").toURL()));
+        downloads.set(0);
+
+        SchemaCache cache = new SchemaCache();
+        new SchemaRefResolver(schema, loader, cache).resolveInline();
+        assertEquals("string", schema.at("/properties/a/type").asText());
+        assertEquals("integer", schema.at("/properties/b/type").asText());
+        // each document is fetched once, before the references are resolved
+        assertEquals(3, downloads.get());
+        assertEquals(3, cache.getDocumentLocations().size());
+    }
+
+    @Test
+    public void shouldFetchConcurrently() throws IOException {
+
+        List<URI> uris = Arrays.asList(uri("/1.json"), uri("/2.json"), uri("/3.json"), uri("/4.json"));
+        for (URI uri : uris)
+            documents.put(uri.getPath(), "{\"title\": \"" + uri.getPath() + "\"}");
+        delay = 200;
+
+        SchemaLoader loader = new SchemaLoader(fetcher(null).withMaxConcurrentRequests(2).build());
+        Map<URI, JsonNode> schemas = loader.readSchemas(uris);
+        assertEquals(uris, Arrays.asList(schemas.keySet().toArray()));
+        for (URI uri : uris)
+            assertEquals(uri.getPath(), schemas.get(uri).get("title").asText());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    public void shouldRevalidateCachedDocuments() throws IOException {
+
+        File cache = folder.newFolder("cache");
+        documents.put("/schema.json", "{\"title\": \"1\"}");
+        assertEquals("1", new SchemaLoader(fetcher(cache).build()).readSchema(uri("/schema.json")).get("title").asText());
+
+        // a new fetcher, as in the next build, only revalidates the cached copy
+        SchemaLoader loader = new SchemaLoader(fetcher(cache).build());
+        assertEquals("1", loader.readSchema(uri("/schema.json")).get("title").asText());
+        assertEquals(1, downloads.get());
+        assertEquals(1, notModified.get());
+
+        documents.put("/schema.json", "{\"title\": \"2\"}");
+        assertEquals("2", loader.readSchema(uri("/schema.json")).get("title").asText());
+        assertEquals(2, downloads.get());
+
+        // the cached copy is used when the server cannot be reached
+        server.stop(0);
+        assertEquals("2", loader.readSchema(uri("/schema.json")).get("title").asText());
+        assertThrows(IOException.class, () -> loader.readSchema(uri("/other.json")));
+    }
+
+    @Test
+    public void shouldReadCachedDocumentsOffline() throws IOException {
+
+        File cache = folder.newFolder("cache");
+        documents.put("/schema.json", "{\"title\": \"1\"}");
+        new SchemaLoader(fetcher(cache).build()).readSchema(uri("/schema.json"));
+
+        SchemaLoader loader = new SchemaLoader(fetcher(cache).withOffline(true).build());
+        documents.put("/schema.json", "{\"title\": \"2\"}");
+        assertEquals("1", loader.readSchema(uri("/schema.json#/title")).get("title").asText());
+        assertEquals(1, downloads.get() + notModified.get());
+
+        documents.put("/other.json", "{}");
+        IOException e = assertThrows(IOException.class, () -> loader.readSchema(uri("/other.json")));
+        assertTrue(e.getMessage().contains("offline"));
+        assertEquals(1, downloads.get());
+
+        assertThrows(IllegalStateException.class, () -> new HttpSchemaFetcher.Builder().withOffline(true).build());
+    }
+
+    @Test
+    public void shouldFailOnErrorStatus() {
+
+        SchemaLoader loader = new SchemaLoader(fetcher(null).build());
+        IOException e = assertThrows(IOException.class, () -> loader.readSchema(uri("/missing.json")));
+        assertTrue(e.getMessage().contains("404"));
+        assertFalse(new File(folder.getRoot(), "cache").exists());
+    }
+
+    @Test
+    public void shouldHashRemoteManifestInputs() throws IOException {
+
+        String[] args = {"-m", new File(folder.getRoot(), "manifest.json").getPath()};
+        List<String> inputs = Collections.singletonList(uri("/schemas/../schema.json").toString());
+        documents.put("/schema.json", "{\"title\": \"1\"}");
+
+        BuildManifest manifest = BuildManifest.fromArguments(TestHttpSchemaFetcher.class, args);
+        assertFalse(manifest.isUpToDate(inputs));
+        manifest.save();
+        assertTrue(BuildManifest.fromArguments(TestHttpSchemaFetcher.class, args).isUpToDate(inputs));
+
+        documents.put("/schema.json", "{\"title\": \"2\"}");
+        assertFalse(BuildManifest.fromArguments(TestHttpSchemaFetcher.class, args).isUpToDate(inputs));
+
+        // an input that cannot be hashed never allows to reuse the outputs
+        manifest = BuildManifest.fromArguments(TestHttpSchemaFetcher.class, args);
+        manifest.isUpToDate(inputs);
+        manifest.save();
+        server.stop(0);
+        assertFalse(BuildManifest.fromArguments(TestHttpSchemaFetcher.class, args).isUpToDate(inputs));
+    }
+}
@@ -0,0 +1,258 @@
+package org.rcsb.mojave.tools.jsonschema;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests to ensure that schemas are written consistently.
+ *
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestSchemaLoader {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final SchemaLoader loader = new SchemaLoader();
+
+    /**
+     * Output of the former implementation that converted the schema to a string, parsed it into plain Java
+     * objects and pretty-printed these.
+     */
+    private String writeViaRoundTrip(JsonNode node) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        Object json = mapper.readValue(node.toString(), Object.class);
+        return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(json);
+    }
+
+    private String write(JsonNode node, boolean compact) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        loader.writeSchema(os, node, compact);
+        return new String(os.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void shouldWriteSameOutputAsRoundTrip() throws IOException {
+
+        String[] resources = {
+                "/schema/stitching/target_json_schema.json",
+                "/schema/stitching/update_json_schema.json",
+                "/schema/reference/json-schema-with-definitions.json",
+                "/schema/traversal/json-schema-java-types.json"
+        };
+        for (String resource : resources) {
+            URL url = TestSchemaLoader.class.getResource(resource);
+            JsonNode schema = loader.readSchema(url);
+            assertEquals(resource, writeViaRoundTrip(schema), write(schema, false));
+        }
+
+        ObjectNode numbers = JsonNodeFactory.instance.objectNode();
+        numbers.put("int", 1);
+        numbers.put("long", 10_000_000_000L);
+        numbers.put("double", 0.1);
+        numbers.put("small", 1e-10);
+        numbers.put("large", 1.5e20);
+        numbers.put("float", 2.5f);
+        numbers.put("decimal", new BigDecimal("1.50"));
+        numbers.putArray("mixed").add("a").add(true).addNull().addObject();
+        assertEquals(writeViaRoundTrip(numbers), write(numbers, false));
+    }
+
+    @Test
+    public void shouldWriteCompactOutput() throws IOException {
+
+        URL url = TestSchemaLoader.class.getResource("/schema/traversal/json-schema-java-types.json");
+        JsonNode schema = loader.readSchema(url);
+
+        String compact = write(schema, true);
+        assertFalse(compact.contains("\n"));
+        assertEquals(schema, new ObjectMapper().readTree(compact));
+    }
+
+    @Test
+    public void shouldNotRewriteIdenticalSchema() throws IOException {
+
+        URL url = TestSchemaLoader.class.getResource("/schema/traversal/json-schema-java-types.json");
+        JsonNode schema = loader.readSchema(url);
+        File file = new File(tempFolder.getRoot(), "out/schema.json");
+
+        loader.writeSchema(file.getPath(), schema);
+        assertTrue(file.setLastModified(1000L));
+        loader.writeSchema(file.getPath(), schema);
+        assertEquals(1000L, file.lastModified());
+        assertEquals(write(schema, false), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+
+        loader.writeSchema(file.getPath(), schema, true);
+        assertEquals(write(schema, true), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        assertEquals(1, tempFolder.getRoot().toPath().resolve("out").toFile().list().length);
+    }
+
+    @Test
+    public void shouldKeepPermissionsOfReplacedSchema() throws IOException {
+
+        Path path = tempFolder.getRoot().toPath().resolve("schema.json");
+        assumeTrue(Files.getFileStore(tempFolder.getRoot().toPath())
+                .supportsFileAttributeView(PosixFileAttributeView.class));
+
+        ObjectNode schema = JsonNodeFactory.instance.objectNode().put("title", "1");
+        loader.writeSchema(path.toString(), schema);
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r--r--");
+        Files.setPosixFilePermissions(path, permissions);
+
+        loader.writeSchema(path.toString(), schema.put("title", "2"));
+        assertEquals("2", loader.readSchema(path.toFile()).get("title").asText());
+        assertEquals(permissions, Files.getPosixFilePermissions(path));
+
+        loader.writeSnapshot(path.toString(), schema.put("title", "3"));
+        assertEquals(permissions, Files.getPosixFilePermissions(path));
+    }
+
+    private byte[] snapshot(JsonNode node) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        loader.writeSnapshot(os, node);
+        return os.toByteArray();
+    }
+
+    @Test
+    public void shouldReadSnapshots() throws IOException {
+
+        String[] resources = {
+                "/schema/stitching/target_json_schema.json",
+                "/schema/reference/json-schema-with-definitions.json",
+                "/schema/traversal/json-schema-java-types.json"
+        };
+        for (String resource : resources) {
+            JsonNode schema = loader.readSchema(TestSchemaLoader.class.getResource(resource));
+            byte[] snapshot = snapshot(schema);
+            assertTrue(resource, snapshot.length < write(schema, true).length());
+            JsonNode read = loader.readSchema(new ByteArrayInputStream(snapshot));
+            assertEquals(resource, schema, read);
+            // numbers are read back as they are from JSON
+            assertEquals(resource, write(schema, false), write(read, false));
+        }
+
+        ObjectNode numbers = JsonNodeFactory.instance.objectNode();
+        numbers.put("long", 10_000_000_000L);
+        numbers.put("double", 0.1);
+        numbers.put("decimal", new BigDecimal("1.50"));
+        JsonNode read = loader.readSchema(new ByteArrayInputStream(snapshot(numbers)));
+        assertEquals(write(numbers, false), write(read, false));
+    }
+
+    @Test
+    public void shouldDetectSnapshotFiles() throws IOException {
+
+        JsonNode schema = loader.readSchema(TestSchemaLoader.class
+                .getResource("/schema/traversal/json-schema-java-types.json"));
+        File file = new File(tempFolder.getRoot(), "schema" + SchemaLoader.SNAPSHOT_EXTENSION);
+        loader.writeSnapshot(file.getPath(), schema);
+
+        assertEquals(schema, loader.readSchema(file));
+        assertEquals(schema, loader.readSchema(file.toURI()));
+        assertEquals(schema, loader.readSchema(file.toURI().toString()));
+        assertEquals(schema, loader.readSchema(file.toURI().toURL()));
+    }
+
+    @Test
+    public void shouldRejectCorruptedSnapshots() throws IOException {
+
+        JsonNode schema = loader.readSchema(TestSchemaLoader.class
+                .getResource("/schema/traversal/json-schema-java-types.json"));
+        byte[] snapshot = snapshot(schema);
+
+        byte[] corrupted = snapshot.clone();
+        corrupted[corrupted.length - 10] ^= 1;
+        IOException e = assertThrows(IOException.class,
+                () -> loader.readSchema(new ByteArrayInputStream(corrupted)));
+        assertTrue(e.getMessage().contains("checksum"));
+
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length / 2);
+        assertThrows(IOException.class, () -> loader.readSchema(new ByteArrayInputStream(truncated)));
+
+        // the version follows the magic number
+        byte[] version = snapshot.clone();
+        version[7] = (byte) (SchemaLoader.SNAPSHOT_VERSION + 1);
+        e = assertThrows(IOException.class, () -> loader.readSchema(new ByteArrayInputStream(version)));
+        assertTrue(e.getMessage().contains("version"));
+    }
+
+    @Test
+    public void shouldReadLocalFilesOfAnySize() throws Exception {
+
+        ObjectNode small = JsonNodeFactory.instance.objectNode();
+        small.put("type", "string");
+        ObjectNode large = JsonNodeFactory.instance.objectNode();
+        ObjectNode properties = large.putObject("properties");
+        for (int i = 0; properties.size() < 30_000; i++)
+            properties.putObject("property_" + i).put("type", "string").put("description", "Property " + i);
+
+        File smallFile = new File(tempFolder.getRoot(), "small.json");
+        File largeFile = new File(tempFolder.getRoot(), "large.json");
+        loader.writeSchema(smallFile.getPath(), small);
+        loader.writeSchema(largeFile.getPath(), large);
+        // the large file is memory-mapped
+        assertTrue(largeFile.length() >= SchemaLoader.MAPPED_READ_THRESHOLD);
+
+        // the buffer reused after the large file holds stale bytes past the end of the small one
+        assertEquals(large, loader.readSchema(largeFile));
+        assertEquals(small, loader.readSchema(smallFile));
+        assertEquals(large, loader.readSchema(largeFile.toURI()));
+        assertEquals(small, loader.readSchema(smallFile.toURI().toURL()));
+
+        File largeSnapshot = new File(tempFolder.getRoot(), "large" + SchemaLoader.SNAPSHOT_EXTENSION);
+        loader.writeSnapshot(largeSnapshot.getPath(), large);
+        assertEquals(large, loader.readSchema(largeSnapshot));
+
+        File empty = tempFolder.newFile("empty.json");
+        assertTrue(loader.readSchema(empty).isMissingNode());
+
+        // each thread reads into its own buffer
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> reads = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                File file = i % 2 == 0 ? smallFile : largeFile;
+                JsonNode expected = i % 2 == 0 ? small : large;
+                reads.add(executor.submit(() -> expected.equals(loader.readSchema(file))));
+            }
+            for (Future<Boolean> read : reads)
+                assertTrue(read.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.rcsb.mojave.tools.jsonschema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestSchemaRepository {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File copy(String resource, File directory) throws IOException {
+        File file = new File(directory, resource.substring(resource.lastIndexOf('/') + 1));
+        try (InputStream in = TestSchemaRepository.class.getResourceAsStream(resource)) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    private static void write(File file, String json) throws IOException {
+        Files.write(file.toPath(), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldLoadResolvedSchemas() throws IOException {
+
+        File directory = folder.newFolder("core");
+        copy("/schema/resolving/json-schema-with-external-fragment.json", directory);
+        copy("/schema/resolving/json-schema-with-local-fragment.json", directory);
+        File entry = folder.newFile("entry.json");
+        write(entry, "{\"$id\": \"https://example.org/core_entry.json\", \"type\": \"object\"," +
+                " \"properties\": {\"ids\": {\"type\": \"array\", \"items\": {\"type\": \"string\"}}}}");
+
+        SchemaRepository repository = new SchemaRepository.Builder()
+                .fromDirectory(directory)
+                .fromLocation(entry.toURI())
+                .build();
+
+        SchemaRepository.Snapshot snapshot = repository.getSnapshot();
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(3, snapshot.getIds().size());
+        assertTrue(snapshot.getIds().contains("json-schema-with-local-fragment"));
+
+        // the external reference is inlined
+        assertEquals("string", repository.at("json-schema-with-external-fragment", "/properties/field/type")
+                .asText());
+        assertEquals("string", repository.at("https://example.org/core_entry.json", "/properties/ids/items/type")
+                .asText());
+        assertNull(repository.at("json-schema-with-local-fragment", "/properties/missing"));
+        assertNull(repository.getSchema("entry"));
+    }
+
+    @Test
+    public void shouldFreezeSchemas() throws IOException {
+
+        File schema = folder.newFile("schema.json");
+        write(schema, "{\"type\": \"object\", \"required\": [\"id\"], \"properties\": {\"id\": {\"type\": \"string\"}}}");
+        SchemaRepository repository = new SchemaRepository.Builder()
+                .fromLocation(schema.toURI())
+                .withRefResolution(false)
+                .build();
+
+        ObjectNode frozen = (ObjectNode) repository.getSchema("schema");
+        assertThrows(UnsupportedOperationException.class, () -> frozen.put("title", "Schema"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove("type"));
+        assertThrows(UnsupportedOperationException.class, () -> ((ObjectNode) frozen.get("properties"))
+                .putObject("name"));
+        assertThrows(UnsupportedOperationException.class, () -> ((ArrayNode) frozen.get("required")).add("name"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.fields().next().setValue(null));
+
+        ObjectNode copy = frozen.deepCopy();
+        copy.put("title", "Schema");
+        assertEquals(new SchemaLoader().readSchema(schema.toURI()), frozen);
+    }
+
+    @Test
+    public void shouldSwapSnapshotsOnReload() throws Exception {
+
+        File directory = folder.newFolder("core");
+        File a = new File(directory, "a.json");
+        File b = new File(directory, "b.json");
+        write(a, "{\"title\": \"1\"}");
+        write(b, "{\"title\": \"1\"}");
+        SchemaRepository repository = new SchemaRepository.Builder()
+                .fromDirectory(directory)
+                .build();
+
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    long reads = 0;
+                    while (!done.get()) {
+                        // both schemas of a snapshot are from the same reload
+                        SchemaRepository.Snapshot snapshot = repository.getSnapshot();
+                        assertEquals(snapshot.at("a", "/title"), snapshot.at("b", "/title"));
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+            for (int version = 2; version <= 20; version++) {
+                write(a, "{\"title\": \"" + version + "\"}");
+                write(b, "{\"title\": \"" + version + "\"}");
+                assertEquals(version, repository.reload().getVersion());
+            }
+            done.set(true);
+            for (Future<Long> reader : readers)
+                assertTrue(reader.get() > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("20", repository.at("a", "/title").asText());
+
+        // a failed reload keeps the current snapshot
+        write(new File(directory, "c.json"), "{\"$id\": \"a\"}");
+        assertThrows(IOException.class, repository::reload);
+        assertEquals(20, repository.getSnapshot().getVersion());
+        assertEquals(asList("a", "b"), new ArrayList<>(repository.getSnapshot().getIds()));
+    }
+}
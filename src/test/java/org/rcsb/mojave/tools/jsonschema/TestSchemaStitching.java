@@ -1,15 +1,22 @@
 package org.rcsb.mojave.tools.jsonschema;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -80,4 +87,99 @@ public class TestSchemaStitching {
         assertTrue(enumValues.contains("B"));
         assertTrue(enumValues.contains("C"));
     }
+
+    @Test
+    public void shouldKeepOrderWhenMergingLargeArrays() {
+
+        ObjectNode target = JsonNodeFactory.instance.objectNode();
+        ObjectNode update = JsonNodeFactory.instance.objectNode();
+        ArrayNode targetEnum = target.putArray("enum");
+        ArrayNode updateEnum = update.putArray("enum");
+        for (int i = 0; i < 10000; i++) {
+            targetEnum.add("value_" + i);
+            updateEnum.add("value_" + (i + 5000));
+        }
+        // duplicates within the update array are kept, as before
+        updateEnum.add("extra").add("extra");
+        targetEnum.addObject().put("type", "string");
+        updateEnum.addObject().put("type", "string");
+
+        SchemaStitching.mergeSchemas(target, update);
+
+        ArrayNode merged = (ArrayNode) target.get("enum");
+        assertEquals(15003, merged.size());
+        for (int i = 0; i < 10000; i++)
+            assertEquals("value_" + i, merged.get(i).textValue());
+        assertEquals("string", merged.get(10000).get("type").textValue());
+        for (int i = 10000; i < 15000; i++)
+            assertEquals("value_" + i, merged.get(i + 1).textValue());
+        assertEquals("extra", merged.get(15001).textValue());
+        assertEquals("extra", merged.get(15002).textValue());
+    }
+
+    private static JsonNode randomValue(Random random, int depth) {
+        int kind = random.nextInt(depth > 2 ? 2 : 4);
+        switch (kind) {
+            case 0:
+                return JsonNodeFactory.instance.textNode("v" + random.nextInt(3));
+            case 1:
+                return JsonNodeFactory.instance.numberNode(random.nextInt(3));
+            case 2: {
+                ArrayNode array = JsonNodeFactory.instance.arrayNode();
+                for (int i = random.nextInt(4); i > 0; i--)
+                    array.add("e" + random.nextInt(5));
+                return array;
+            }
+            default:
+                return randomObject(random, depth + 1);
+        }
+    }
+
+    private static ObjectNode randomObject(Random random, int depth) {
+        ObjectNode object = JsonNodeFactory.instance.objectNode();
+        for (int i = random.nextInt(4); i > 0; i--)
+            object.set("f" + random.nextInt(4), randomValue(random, depth));
+        return object;
+    }
+
+    @Test
+    public void shouldReduceInParallelAsLeftFold() {
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(42);
+            for (int round = 0; round < 200; round++) {
+                List<JsonNode> instances = new ArrayList<>();
+                for (int i = 1 + random.nextInt(12); i > 0; i--)
+                    instances.add(randomObject(random, 0));
+
+                List<JsonNode> copies = new ArrayList<>();
+                instances.forEach(n -> copies.add(n.deepCopy()));
+
+                JsonNode expected = SchemaStitching.mergeSchemas(copies);
+                JsonNode actual = SchemaStitching.mergeSchemas(instances, pool);
+                assertEquals(expected, actual);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReplaceValueOfDifferentTypeInParallelReduction() throws IOException {
+
+        List<JsonNode> instances = new ArrayList<>();
+        instances.add(loader.readSchema(new ByteArrayInputStream("{\"a\": {\"x\": 1}}".getBytes())));
+        instances.add(loader.readSchema(new ByteArrayInputStream("{\"a\": \"text\"}".getBytes())));
+        instances.add(loader.readSchema(new ByteArrayInputStream("{\"a\": {\"y\": 2}}".getBytes())));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            JsonNode merged = SchemaStitching.mergeSchemas(instances, pool);
+            assertFalse(merged.get("a").has("x"));
+            assertEquals(2, merged.get("a").get("y").intValue());
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -1,9 +1,12 @@
 package org.rcsb.mojave.tools.jsonschema.resolver;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import junit.framework.TestCase;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.rcsb.mojave.tools.jsonschema.SchemaCache;
 import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
 import org.rcsb.mojave.tools.jsonschema.SchemaRefResolver;
 import org.rcsb.mojave.tools.jsonschema.constants.MetaSchemaProperty;
@@ -16,6 +19,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -120,6 +125,56 @@ public class TestSchemaRefResolver {
                 .get("field2").get(MetaSchemaProperty.TYPE).asText());
     }
 
+    @Test
+    public void shouldReuseCachedDocuments() throws IOException {
+        URL source = TestSchemaRefResolver.class
+                .getResource("/schema/resolving/json-schema-chase-refs.json");
+        SchemaCache cache = new SchemaCache();
+
+        JsonNode schema1 = loader.readSchema(source);
+        new SchemaRefResolver(schema1, loader, cache).resolveInline();
+
+        // both refs point to the same document, each of them points to another document
+        assertEquals(3, cache.getDocumentStats().missCount());
+        assertEquals(1, cache.getDocumentStats().hitCount());
+
+        JsonNode schema2 = loader.readSchema(source);
+        new SchemaRefResolver(schema2, loader, cache).resolveInline();
+
+        assertEquals(3, cache.getDocumentStats().missCount());
+        assertEquals(4, cache.getFragmentStats().missCount());
+        assertEquals(4, cache.getFragmentStats().hitCount());
+        assertEquals(schema1, schema2);
+
+        // resolved fragments must not share nodes with the cached documents
+        ((ObjectNode) schema1.get(MetaSchemaProperty.PROPERTIES).get("field1")).put(MetaSchemaProperty.TYPE, "integer");
+        assertEquals(MetaSchemaType.STRING, schema2.get(MetaSchemaProperty.PROPERTIES)
+                .get("field1").get(MetaSchemaProperty.TYPE).asText());
+    }
+
+    @Test
+    public void shouldRecordEvictedDocuments() throws IOException {
+        File dir = Files.createTempDirectory("mojave-refs").toFile();
+        dir.deleteOnExit();
+
+        ObjectNode schema = JsonNodeFactory.instance.objectNode();
+        ObjectNode properties = schema.putObject(MetaSchemaProperty.PROPERTIES);
+        for (int i = 0; i < 5; i++) {
+            File fragment = new File(dir, "fragment-" + i + ".json");
+            fragment.deleteOnExit();
+            Files.write(fragment.toPath(), "{\"type\": \"string\"}".getBytes(StandardCharsets.UTF_8));
+            properties.putObject("field" + i).put(MetaSchemaProperty.SCHEMA_REF, fragment.toURI().toString());
+        }
+
+        // more documents are referenced than the cache holds
+        SchemaCache cache = new SchemaCache(2);
+        new SchemaRefResolver(schema, loader, cache).resolveInline();
+        assertTrue(cache.getDocumentLocations().size() <= 2);
+        assertEquals(5, cache.getLoadedLocations().size());
+        for (int i = 0; i < 5; i++)
+            assertTrue(cache.getLoadedLocations().contains(new File(dir, "fragment-" + i + ".json").toURI()));
+    }
+
     private void setUpMockSchemainFileSystem(File tmpDir) throws IOException {
         InputStream isRootSchema = TestSchemaRefResolver.class.getResourceAsStream("/schema/resolving/json-schema-chase-refs.json");
         InputStream isDir1Schema = TestSchemaRefResolver.class.getResourceAsStream("/schema/resolving/dir1/json-schema-fragment-1.json");
@@ -1,15 +1,28 @@
 package org.rcsb.mojave.tools.jsonschema.traversal;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.CaseFormat;
 import org.junit.BeforeClass;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Test;
 import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.SchemaStitching;
+import org.rcsb.mojave.tools.jsonschema.constants.TraversalLabel;
+import org.rcsb.mojave.tools.jsonschema.traversal.algorithm.JsonSchemaTraversal;
+import org.rcsb.mojave.tools.jsonschema.traversal.builder.JsonSchemaBuilder;
+import org.rcsb.mojave.tools.jsonschema.traversal.builder.TreeBuilder;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
+import org.rcsb.mojave.tools.jsonschema.traversal.visitables.Visitable;
 import org.rcsb.mojave.tools.jsonschema.traversal.visitors.*;
 import org.rcsb.mojave.tools.jsonschema.utils.SchemaVersion;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.StreamSupport;
@@ -19,6 +32,7 @@ import static java.util.Collections.singletonList;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 
 /**
  * Tests for {@link JsonSchemaWalker} traversal and available visitors.
@@ -255,4 +269,204 @@ public class TestVisitableSchemaTree {
 
         assertEquals(0, enumNodes.size());
     }
+
+    /**
+     * Records the nodes passed to a given builder.
+     */
+    private static class RecordingBuilder implements TreeBuilder {
+
+        private final TreeBuilder builder;
+        private final List<Pair<JsonPointer, JsonNode>> nodes = new ArrayList<>();
+
+        private RecordingBuilder(TreeBuilder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void add(JsonPointer path, JsonNode node) {
+            nodes.add(Pair.of(path, node.deepCopy()));
+            builder.add(path, node);
+        }
+
+        @Override
+        public JsonNode buildTree() throws IOException {
+            return builder.buildTree();
+        }
+    }
+
+    /**
+     * Reference tree: unique nodes sorted by the number of levels in the pointer and merged one by one.
+     */
+    private static JsonNode sortedMerge(List<Pair<JsonPointer, JsonNode>> added) {
+
+        List<Pair<JsonPointer, JsonNode>> nodes = new ArrayList<>();
+        for (Pair<JsonPointer, JsonNode> pair : added)
+            if (!nodes.contains(pair))
+                nodes.add(pair);
+        nodes.sort(Comparator.comparingInt(p -> p.getLeft().toString().split("/", -1).length));
+
+        ObjectNode tree = JsonNodeFactory.instance.objectNode();
+        for (Pair<JsonPointer, JsonNode> pair : nodes) {
+            if (pair.getLeft().matches())
+                continue;
+            ObjectNode parent = tree;
+            for (JsonPointer p = pair.getLeft(); !p.matches(); p = p.tail()) {
+                JsonNode child = parent.get(p.getMatchingProperty());
+                parent = child == null ? parent.putObject(p.getMatchingProperty()) : (ObjectNode) child;
+            }
+            SchemaStitching.mergeSchemas(parent, pair.getRight());
+        }
+        return tree;
+    }
+
+    @Test
+    public void shouldBuildSchemaTree() throws IOException {
+
+        List<String> sources = asList(
+                "/schema/traversal/json-schema-java-types.json",
+                "/schema/traversal/json-schema-naming-visitor.json",
+                "/schema/traversal/json-schema-namespace-visitor.json",
+                "/schema/traversal/json-schema-collect-names.json",
+                "/schema/traversal/json-schema-collect-enums.json",
+                "/schema/traversal/json-schema-json-to-bson.json",
+                "/schema/reference/json-schema-with-definitions.json");
+
+        int built = 0;
+        for (String source : sources) {
+            JsonNode schema = loader.readSchema(TestVisitableSchemaTree.class.getResource(source));
+
+            RecordingBuilder builder = new RecordingBuilder(new JsonSchemaBuilder());
+            new JsonSchemaWalker.Builder()
+                    .fromInstance(schema)
+                    .acceptingVisitors(singletonList(new SchemaBuilderVisitor()))
+                    .withSchemaTreeBuilder(builder)
+                    .build()
+                    .walk();
+
+            JsonNode expected;
+            try {
+                expected = sortedMerge(builder.nodes);
+            } catch (ClassCastException e) {
+                // nodes of combined schemas are arrays that cannot be merged
+                assertThrows(source, IOException.class, builder::buildTree);
+                continue;
+            }
+            assertEquals(source, expected.toString(), builder.buildTree().toString());
+            built++;
+        }
+        assertTrue(built > 0);
+    }
+
+    /**
+     * Delegates to a given visitor and counts the nodes dispatched to it.
+     */
+    private static class CountingVisitor implements Visitor {
+
+        private final Visitor visitor;
+        private int count;
+
+        private CountingVisitor(Visitor visitor) {
+            this.visitor = visitor;
+        }
+
+        @Override
+        public VisitResult visit(Visitable visitableNode) {
+            count++;
+            return visitor.visit(visitableNode);
+        }
+
+        @Override
+        public Set<TraversalLabel> getLabels() {
+            return visitor.getLabels();
+        }
+    }
+
+    private static ObjectNode objectSchema(String... names) {
+        ObjectNode schema = JsonNodeFactory.instance.objectNode();
+        schema.put("type", "object");
+        schema.putArray("required").add(names[0]);
+        ObjectNode properties = schema.putObject("properties");
+        for (String name : names)
+            properties.putObject(name).put("type", "string");
+        return schema;
+    }
+
+    @Test
+    public void shouldPruneRootLevelVisitors() throws IOException {
+
+        ObjectNode schema = objectSchema("cluster_membership", "a", "b");
+        for (String name : asList("a", "b", "cluster_membership")) {
+            ObjectNode property = objectSchema("x", "y", "cluster_membership");
+            for (int i = 0; i < 10; i++)
+                ((ObjectNode) property.get("properties")).set("nested_" + i, objectSchema("u", "v"));
+            ((ObjectNode) schema.get("properties")).set(name, property);
+        }
+
+        List<JsonNode> results = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        for (JsonSchemaTraversal.Strategy strategy : JsonSchemaTraversal.Strategy.values()) {
+            JsonNode copy = schema.deepCopy();
+            CountingVisitor v1 = new CountingVisitor(new PropertiesFilterVisitor(singletonList("cluster_membership")));
+            CountingVisitor v2 = new CountingVisitor(new NamespaceVisitor()
+                    .atLevel(NamespaceVisitor.Level.ROOT)
+                    .withPrefix("rcsb").withDelimiter("_"));
+            new JsonSchemaWalker.Builder()
+                    .fromInstance(copy)
+                    .acceptingVisitors(asList(v1, v2))
+                    .withSchemaTraversalStrategy(strategy)
+                    .build()
+                    .walk();
+            results.add(copy);
+            counts.add(v1.count + v2.count);
+        }
+
+        assertEquals(results.get(0), results.get(1));
+        assertEquals("rcsb_cluster_membership", results.get(0).get("required").get(0).asText());
+        assertFalse(results.get(0).get("properties").has("rcsb_a"));
+        // pre-order skips the properties that are filtered out
+        assertTrue(counts.get(0) * 2 < counts.get(1));
+    }
+
+    @Test
+    public void shouldDispatchDeclaredLabelsOnly() throws IOException {
+
+        URL source = TestVisitableSchemaTree.class.getResource("/schema/traversal/json-schema-with-node-id.json");
+        JsonNode schema = loader.readSchema(source);
+
+        CountingVisitor visitor = new CountingVisitor(new FieldNamesCollector());
+        new JsonSchemaWalker.Builder()
+                .fromInstance(schema)
+                .acceptingVisitors(singletonList(visitor))
+                .build()
+                .walk();
+
+        assertEquals(2, visitor.count);
+    }
+
+    @Test
+    public void shouldTerminateWalk() throws IOException {
+
+        URL source = TestVisitableSchemaTree.class.getResource("/schema/traversal/json-schema-with-node-id.json");
+        JsonNode schema = loader.readSchema(source);
+
+        CountingVisitor terminating = new CountingVisitor(node -> VisitResult.TERMINATE);
+        CountingVisitor counting = new CountingVisitor(node -> VisitResult.CONTINUE);
+        new JsonSchemaWalker.Builder()
+                .fromInstance(schema)
+                .acceptingVisitors(asList(terminating, counting))
+                .build()
+                .walk();
+
+        // the walk goes on as long as one of the visitors continues
+        assertEquals(1, terminating.count);
+        assertTrue(counting.count > 1);
+
+        counting.count = 0;
+        new JsonSchemaWalker.Builder()
+                .fromInstance(schema)
+                .acceptingVisitors(singletonList(new CountingVisitor(node -> VisitResult.TERMINATE)))
+                .build()
+                .walk();
+        assertEquals(0, counting.count);
+    }
 }
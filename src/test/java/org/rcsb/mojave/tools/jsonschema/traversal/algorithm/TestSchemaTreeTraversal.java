@@ -1,8 +1,12 @@
 package org.rcsb.mojave.tools.jsonschema.traversal.algorithm;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Test;
+import org.rcsb.mojave.tools.jsonschema.constants.JsonPointerConstants;
 import org.rcsb.mojave.tools.jsonschema.traversal.TestVisitableSchemaTree;
+import org.rcsb.mojave.tools.jsonschema.traversal.constants.VisitResult;
 import org.rcsb.mojave.tools.jsonschema.traversal.model.TraversalContext;
 import org.rcsb.mojave.tools.utils.ConfigurableMapper;
 
@@ -12,7 +16,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
 
 /**
  * Created on 1/14/20.
@@ -100,4 +106,193 @@ public class TestSchemaTreeTraversal {
             TraversalContext ctx = i.getRight();
         });
     }
+
+    private List<Pair<JsonNode, TraversalContext>> collect(JsonNode schemaTree, JsonSchemaTraversal.Strategy strategy,
+                                                          boolean lazy) {
+        JsonSchemaTraversal iterator = new JsonSchemaTraversal();
+        iterator.setTraversalStrategy(strategy);
+        iterator.setLazy(lazy);
+        iterator.traverse(schemaTree);
+
+        List<Pair<JsonNode, TraversalContext>> items = new ArrayList<>();
+        iterator.forEachRemaining(items::add);
+        return items;
+    }
+
+    private void assertSameVisitingOrder(String resource) throws IOException {
+
+        InputStream is = TestVisitableSchemaTree.class.getResourceAsStream(resource);
+        JsonNode schemaTree = ConfigurableMapper.getMapper().readTree(is);
+
+        for (JsonSchemaTraversal.Strategy strategy : JsonSchemaTraversal.Strategy.values()) {
+            List<Pair<JsonNode, TraversalContext>> expected = collect(schemaTree, strategy, false);
+            List<Pair<JsonNode, TraversalContext>> actual = collect(schemaTree, strategy, true);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertSame(expected.get(i).getLeft(), actual.get(i).getLeft());
+                assertEquals(expected.get(i).getRight().getJsonPointer(), actual.get(i).getRight().getJsonPointer());
+                assertEquals(expected.get(i).getRight().getLabel(), actual.get(i).getRight().getLabel());
+                assertEquals(expected.get(i).getRight().getLineage(), actual.get(i).getRight().getLineage());
+            }
+        }
+    }
+
+    @Test
+    public void testLazyTraversalKeepsVisitingOrder() throws IOException {
+        assertSameVisitingOrder("/schema/traversal/json-schema-with-node-id.json");
+        assertSameVisitingOrder("/schema/traversal/json-schema-context-test.json");
+        assertSameVisitingOrder("/schema/traversal/json-schema-json-to-bson.json");
+        assertSameVisitingOrder("/schema/resolving/json-schema-with-allOf-extension.json");
+    }
+
+    private void assertVisitingOrder(String resource, JsonSchemaTraversal.Strategy strategy, List<String> expected)
+            throws IOException {
+
+        InputStream is = TestVisitableSchemaTree.class.getResourceAsStream(resource);
+        JsonNode schemaTree = ConfigurableMapper.getMapper().readTree(is);
+
+        for (boolean lazy : asList(true, false)) {
+            List<String> actual = new ArrayList<>();
+            for (Pair<JsonNode, TraversalContext> item : collect(schemaTree, strategy, lazy)) {
+                TraversalContext ctx = item.getRight();
+                actual.add(ctx.getJsonPointer() + " " + ctx.getLabel() + " " + ctx.getLineage());
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    /**
+     * The expected nodes (JSON pointer, label and lineage) were recorded from the traversal of version 1.9.1.
+     */
+    @Test
+    public void testTraversalKeepsBaselineOrder() throws IOException {
+
+        assertVisitingOrder("/schema/traversal/json-schema-context-test.json", JsonSchemaTraversal.Strategy.PRE_ORDER,
+                asList(" OBJECT []",
+                        "/properties PROPERTIES []",
+                        "/properties/simple_attribute ATTRIBUTE [simple_attribute]",
+                        "/properties/object_node OBJECT [object_node]",
+                        "/properties/object_node/properties PROPERTIES [object_node]",
+                        "/properties/object_node/properties/nested_attribute ATTRIBUTE [object_node, nested_attribute]",
+                        "/properties/array_node ARRAY [array_node]",
+                        "/properties/array_node/items OBJECT [array_node]",
+                        "/properties/array_node/items/properties PROPERTIES [array_node]",
+                        "/properties/array_node/items/properties/array_element ATTRIBUTE [array_node, array_element]",
+                        "/properties/simple_array ARRAY [simple_array]",
+                        "/properties/simple_array/items ATTRIBUTE [simple_array]"));
+
+        assertVisitingOrder("/schema/traversal/json-schema-context-test.json", JsonSchemaTraversal.Strategy.POST_ORDER,
+                asList("/properties/simple_array/items ATTRIBUTE [simple_array]",
+                        "/properties/simple_array ARRAY [simple_array]",
+                        "/properties/array_node/items/properties/array_element ATTRIBUTE [array_node, array_element]",
+                        "/properties/array_node/items/properties PROPERTIES [array_node]",
+                        "/properties/array_node/items OBJECT [array_node]",
+                        "/properties/array_node ARRAY [array_node]",
+                        "/properties/object_node/properties/nested_attribute ATTRIBUTE [object_node, nested_attribute]",
+                        "/properties/object_node/properties PROPERTIES [object_node]",
+                        "/properties/object_node OBJECT [object_node]",
+                        "/properties/simple_attribute ATTRIBUTE [simple_attribute]",
+                        "/properties PROPERTIES []",
+                        " OBJECT []"));
+
+        assertVisitingOrder("/schema/resolving/json-schema-with-allOf-extension.json",
+                JsonSchemaTraversal.Strategy.PRE_ORDER,
+                asList(" OBJECT []",
+                        "/properties PROPERTIES []",
+                        "/properties/field ATTRIBUTE [field]",
+                        "/properties/field/allOf ATTRIBUTE [field]",
+                        "/properties/field/allOf ATTRIBUTE [field]",
+                        "/properties/field/allOf ATTRIBUTE [field]",
+                        "/properties/field/allOf/properties PROPERTIES [field]",
+                        "/properties/field/allOf/properties/integer_field ATTRIBUTE [field, integer_field]",
+                        "/properties/field/allOf ATTRIBUTE [field]"));
+    }
+
+    @Test
+    public void testContextCopiesAreIndependent() {
+
+        TraversalContext ctx = new TraversalContext();
+        ctx.setJsonPointer(JsonPointerConstants.ROOT);
+        ctx.appendJsonPointer(JsonPointerConstants.PROPERTIES);
+        ctx.appendJsonPointer("/a");
+        ctx.getLineage().add("a");
+
+        TraversalContext copy = ctx.deepCopy();
+        copy.appendJsonPointer(JsonPointerConstants.ARRAY);
+        copy.appendLineage("b");
+
+        assertEquals(JsonPointer.compile("/properties/a"), ctx.getJsonPointer());
+        assertEquals(singletonList("a"), ctx.getLineage());
+        assertEquals("a", ctx.getFullyQualifiedName());
+
+        assertEquals(JsonPointer.compile("/properties/a/items"), copy.getJsonPointer());
+        assertEquals(asList("a", "b"), copy.getLineage());
+        assertEquals("a.b", copy.getFullyQualifiedName());
+        assertEquals("b", copy.getCurrentFieldName());
+        assertEquals("a", copy.getParentFieldName());
+    }
+
+    @Test
+    public void testLineageViewIsMutable() {
+
+        TraversalContext ctx = new TraversalContext();
+        ctx.setLineage(new ArrayList<>(asList("a", "b", "c")));
+        TraversalContext copy = ctx.deepCopy();
+
+        List<String> lineage = ctx.getLineage();
+        assertEquals("b", lineage.set(1, "x"));
+        assertEquals("c", lineage.remove(2));
+        lineage.add(0, "r");
+        lineage.add("d");
+        assertEquals(asList("r", "a", "x", "d"), ctx.getLineage());
+        assertEquals("r.a.x.d", ctx.getFullyQualifiedName());
+        assertEquals(asList("a", "b", "c"), copy.getLineage());
+
+        // the lineage is copied from the given list
+        List<String> names = new ArrayList<>(singletonList("a"));
+        ctx.setLineage(names);
+        names.add("b");
+        assertEquals(singletonList("a"), ctx.getLineage());
+    }
+
+    private List<Integer> visitWithResult(JsonSchemaTraversal.Strategy strategy, boolean lazy, int id,
+                                          VisitResult result) throws IOException {
+
+        InputStream is = TestVisitableSchemaTree.class
+                .getResourceAsStream("/schema/traversal/json-schema-with-node-id.json");
+        JsonNode schemaTree = ConfigurableMapper.getMapper().readTree(is);
+
+        JsonSchemaTraversal iterator = new JsonSchemaTraversal();
+        iterator.setTraversalStrategy(strategy);
+        iterator.setLazy(lazy);
+        iterator.traverse(schemaTree);
+
+        List<Integer> actualOrder = new ArrayList<>();
+        while (iterator.hasNext()) {
+            JsonNode node = iterator.next().getLeft();
+            if (!node.has("id"))
+                continue;
+            actualOrder.add(node.get("id").asInt());
+            if (node.get("id").asInt() == id)
+                iterator.skip(result);
+        }
+        return actualOrder;
+    }
+
+    @Test
+    public void testTraversalPruning() throws IOException {
+
+        for (boolean lazy : asList(true, false)) {
+            JsonSchemaTraversal.Strategy preOrder = JsonSchemaTraversal.Strategy.PRE_ORDER;
+            assertEquals(asList(1, 2, 3), visitWithResult(preOrder, lazy, 3, VisitResult.SKIP_SUBTREE));
+            assertEquals(asList(1, 2, 3, 4, 5), visitWithResult(preOrder, lazy, 5, VisitResult.SKIP_SIBLINGS));
+            assertEquals(asList(1, 2), visitWithResult(preOrder, lazy, 2, VisitResult.TERMINATE));
+            assertEquals(asList(1), visitWithResult(preOrder, lazy, 1, VisitResult.SKIP_SIBLINGS));
+
+            JsonSchemaTraversal.Strategy postOrder = JsonSchemaTraversal.Strategy.POST_ORDER;
+            assertEquals(asList(6, 5, 4, 3, 2, 1), visitWithResult(postOrder, lazy, 4, VisitResult.SKIP_SUBTREE));
+            assertEquals(asList(6, 4, 3, 2, 1), visitWithResult(postOrder, lazy, 6, VisitResult.SKIP_SIBLINGS));
+            assertEquals(asList(6, 5, 4), visitWithResult(postOrder, lazy, 4, VisitResult.TERMINATE));
+        }
+    }
 }
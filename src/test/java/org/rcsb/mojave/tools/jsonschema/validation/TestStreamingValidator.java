@@ -0,0 +1,150 @@
+package org.rcsb.mojave.tools.jsonschema.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+import org.rcsb.mojave.tools.jsonschema.SchemaLoader;
+import org.rcsb.mojave.tools.jsonschema.utils.SchemaVersion;
+import org.rcsb.mojave.tools.utils.ConfigurableMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestStreamingValidator {
+
+    private static StreamingValidator create() throws IOException {
+        JsonNode schema = new SchemaLoader().readSchema(
+                TestStreamingValidator.class.getResource("/schema/validation/json-schema-validation.json"));
+        return new StreamingValidator(schema);
+    }
+
+    private static Set<String> validate(DocumentValidator validator, String json) throws IOException {
+        List<Violation> violations = new ArrayList<>();
+        try (JsonParser parser = ConfigurableMapper.getMapper().getFactory().createParser(json)) {
+            validator.validate(parser, violations);
+        }
+        Set<String> found = violations.stream()
+                .map(v -> v.getKeyword() + " " + v.getPointer())
+                .collect(Collectors.toSet());
+        // validation of the parsed tree must give the same result
+        assertEquals(found, validator.validate(ConfigurableMapper.getMapper().readTree(json)).stream()
+                .map(v -> v.getKeyword() + " " + v.getPointer())
+                .collect(Collectors.toSet()));
+        return found;
+    }
+
+    @Test
+    public void shouldValidateDocuments() throws IOException {
+
+        StreamingValidator validator = create();
+        assertEquals(SchemaVersion.DRAFTV4, validator.getSchemaVersion());
+
+        assertEquals(Collections.emptySet(), validate(validator,
+                "{\"id\": \"1ABC\", \"count\": 9, \"status\": \"REL\", \"resolution\": null," +
+                        " \"entity\": {\"name\": \"e\", \"kind\": 2.50}, \"tags\": [\"a\", \"bcdef\"], \"comment\": [1]}"));
+        assertEquals(Collections.emptySet(), validate(validator,
+                "{\"id\": \"1ABC\", \"count\": 1.0, \"resolution\": 1.5, \"entity\": {\"name\": \"e\", \"kind\": 1}}"));
+
+        assertEquals(new HashSet<>(asList(
+                "pattern /id",
+                "maximum /count",
+                "enum /status",
+                "minimum /resolution",
+                "required /entity",
+                "enum /entity/kind",
+                "maxItems /tags",
+                "minLength /tags/0",
+                "maxLength /tags/3",
+                "additionalProperties /extra~1field")), validate(validator,
+                "{\"id\": \"abcd\", \"count\": 10, \"status\": \"rel\", \"resolution\": -1," +
+                        " \"entity\": {\"kind\": \"y\"}, \"tags\": [\"\", \"a\", \"b\", \"abcdef\"], \"extra/field\": 1}"));
+
+        assertEquals(new HashSet<>(asList(
+                "type /id",
+                "type /count",
+                "type /resolution",
+                "required ")), validate(validator,
+                "{\"id\": 1, \"count\": 1.5, \"resolution\": \"high\"}"));
+
+        assertEquals(Collections.singleton("type "), validate(validator, "[]"));
+    }
+
+    @Test
+    public void shouldValidateParsedDocuments() throws IOException {
+
+        StreamingValidator validator = create();
+        String json = "{\"id\": \"1ABC\", \"entity\": {\"name\": \"e\"}, \"comment\": {\"a\": [[{}]]}}\n{\"id\": \"1ABC\"}";
+        try (JsonParser parser = ConfigurableMapper.getMapper().getFactory().createParser(json)) {
+            List<Violation> violations = new ArrayList<>();
+            validator.validate(parser, violations);
+            assertTrue(violations.isEmpty());
+
+            parser.nextToken();
+            validator.validate(parser, violations);
+            assertEquals(Collections.singletonList(new Violation("", "required", "missing property 'entity'")),
+                    violations);
+            assertEquals(null, parser.nextToken());
+        }
+    }
+
+    @Test
+    public void shouldValidateNestedDocuments() throws IOException {
+
+        JsonNode schema = ConfigurableMapper.getMapper().readTree("{\"$schema\": \"http://json-schema.org/draft-04/schema#\"," +
+                " \"type\": \"object\", \"properties\": {\"next\": {\"$ref\": \"#/definitions/node\"}}," +
+                " \"definitions\": {\"node\": {\"type\": \"array\", \"items\": {\"type\": \"array\", \"items\":" +
+                " {\"type\": \"array\", \"items\": {\"type\": \"array\", \"items\": {\"type\": \"integer\"}}}}}}}");
+        StreamingValidator validator = new StreamingValidator(schema);
+
+        StringBuilder json = new StringBuilder("{\"next\": [[[[1, 2.0, \"x\"]]], [[], [[], [true]]]]}");
+        assertEquals(new HashSet<>(asList("type /next/0/0/0/2", "type /next/1/1/1/0")),
+                validate(validator, json.toString()));
+
+        // values no keyword applies to are skipped at any depth
+        json.setLength(0);
+        json.append("{\"other\": ");
+        for (int i = 0; i < 1000; i++)
+            json.append("[");
+        for (int i = 0; i < 1000; i++)
+            json.append("]");
+        json.append("}");
+        assertEquals(Collections.emptySet(), validate(validator, json.toString()));
+    }
+
+    @Test
+    public void shouldCompareNumbersExactly() throws IOException {
+
+        StreamingValidator validator = create();
+        // 2^53 + 1 is equal to the bound when rounded to a double
+        String json = "{\"id\": \"1ABC\", \"entity\": {\"name\": \"e\"}, \"serial\": %s, \"ratio\": %s}";
+        assertEquals(Collections.emptySet(), validate(validator, String.format(json, "9007199254740992", "0.1")));
+        assertEquals(new HashSet<>(asList("maximum /serial", "minimum /ratio")),
+                validate(validator, String.format(json, "9007199254740993", "0.09999999999999999")));
+
+        // so is 0.1 - 1e-20, decimals keep their precision when the document is read as BigDecimal
+        JsonNode document = ConfigurableMapper.getMapper().reader(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .readTree(String.format(json, "1", "0.09999999999999999999"));
+        assertEquals(Collections.singletonList(new Violation("/ratio", "minimum", "must be >= 0.1")),
+                validator.validate(document));
+        List<Violation> violations = new ArrayList<>();
+        try (JsonParser parser = ConfigurableMapper.getMapper().getFactory().createParser(document.toString())) {
+            validator.validate(parser, violations);
+        }
+        assertEquals(validator.validate(document), violations);
+    }
+}
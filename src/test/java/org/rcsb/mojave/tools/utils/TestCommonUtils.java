@@ -6,7 +6,13 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -32,4 +38,73 @@ public class TestCommonUtils {
 
         assertTrue(folder.exists());
     }
+
+    @Test
+    public void shouldNotRewriteIdenticalFile() throws IOException {
+
+        File file = tempFolder.newFile("schema.json");
+        byte[] content = "{}".getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(CommonUtils.writeIfChanged(file, content));
+        assertTrue(file.setLastModified(1000L));
+
+        assertFalse(CommonUtils.writeIfChanged(file, content));
+        assertEquals(1000L, file.lastModified());
+
+        assertTrue(CommonUtils.writeIfChanged(file, "{ }".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("{ }", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldSkipUpToDateRun() throws IOException {
+
+        File input = tempFolder.newFile("input.json");
+        File output = tempFolder.newFile("output.json");
+        File manifestFile = new File(tempFolder.getRoot(), "manifest.json");
+        Files.write(input.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+        Files.write(output.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+
+        String[] args = {"-i", input.getPath(), "-m", manifestFile.getPath(), "-o", output.getPath()};
+
+        BuildManifest manifest = BuildManifest.fromArguments(TestCommonUtils.class, args);
+        assertFalse(manifest.isUpToDate(singletonList(input.getPath())));
+        manifest.addOutput(output);
+        manifest.save();
+
+        manifest = BuildManifest.fromArguments(TestCommonUtils.class, args);
+        assertTrue(manifest.isUpToDate(singletonList(input.getPath())));
+
+        // without the manifest option the run is never skipped
+        manifest = BuildManifest.fromArguments(TestCommonUtils.class, new String[]{"-i", input.getPath()});
+        assertFalse(manifest.isUpToDate(singletonList(input.getPath())));
+
+        // the number of workers doesn't change the outputs
+        manifest = BuildManifest.fromArguments(TestCommonUtils.class,
+                new String[]{"-i", input.getPath(), "-w", "4", "-m", manifestFile.getPath(), "-o", output.getPath()});
+        assertTrue(manifest.isUpToDate(singletonList(input.getPath())));
+
+        // different options
+        manifest = BuildManifest.fromArguments(TestCommonUtils.class,
+                new String[]{"-i", input.getPath(), "-m", manifestFile.getPath(), "-o", input.getPath()});
+        assertFalse(manifest.isUpToDate(singletonList(input.getPath())));
+
+        // modified output
+        Files.write(output.toPath(), "{ }".getBytes(StandardCharsets.UTF_8));
+        manifest = BuildManifest.fromArguments(TestCommonUtils.class, args);
+        assertFalse(manifest.isUpToDate(singletonList(input.getPath())));
+        Files.write(output.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+
+        // modified input
+        Files.write(input.toPath(), "{\"type\": \"object\"}".getBytes(StandardCharsets.UTF_8));
+        manifest = BuildManifest.fromArguments(TestCommonUtils.class, args);
+        assertFalse(manifest.isUpToDate(singletonList(input.getPath())));
+    }
+
+    @Test
+    public void shouldParseWorkers() {
+        assertEquals(1, new CommandOptions(new String[]{"-i", "a.json"}).getWorkers());
+        assertEquals(4, new CommandOptions(new String[]{"-w", "4", "-i", "a.json"}).getWorkers());
+        assertThrows(IllegalArgumentException.class, () -> new CommandOptions(new String[]{"-w", "0"}).getWorkers());
+        assertThrows(IllegalArgumentException.class, () -> new CommandOptions(new String[]{"-w"}).getWorkers());
+    }
 }
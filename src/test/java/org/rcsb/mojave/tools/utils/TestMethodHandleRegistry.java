@@ -0,0 +1,76 @@
+package org.rcsb.mojave.tools.utils;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFormatter;
+import com.sun.codemodel.JType;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.rules.DefaultRule;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 10/17/26.
+ *
+ * @since 1.10.0
+ */
+public class TestMethodHandleRegistry {
+
+    private static class Counter {
+
+        private int count;
+
+        private void add(int n) {
+            count += n;
+        }
+    }
+
+    @Test
+    public void shouldInvokeStaticMethod() {
+
+        JType type = new JCodeModel().INT;
+        Object result = MethodHandleRegistry.invoke(null, DefaultRule.class, "getDefaultValue",
+                new Class<?>[]{JType.class, String.class}, type, "42");
+
+        StringWriter writer = new StringWriter();
+        ((JExpression) result).generate(new JFormatter(writer));
+        assertEquals("42", writer.toString());
+    }
+
+    @Test
+    public void shouldInvokePrivateMethod() {
+
+        Counter counter = new Counter();
+        Class<?>[] params = new Class<?>[]{int.class};
+        assertNull(MethodHandleRegistry.invoke(counter, Counter.class, "add", params, 2));
+        MethodHandleRegistry.invoke(counter, Counter.class, "add", params, 3);
+        assertEquals(5, counter.count);
+
+        assertSame(MethodHandleRegistry.find(Counter.class, "add", int.class),
+                MethodHandleRegistry.find(Counter.class, "add", int.class));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void shouldDelegateDeprecatedInvoke() {
+
+        Counter counter = new Counter();
+        assertNull(AppUtils.invoke(counter, Counter.class, "add", new Class<?>[]{int.class}, new Object[]{4}));
+        assertEquals(4, counter.count);
+    }
+
+    @Test
+    public void shouldReportMissingMethod() {
+
+        GenerationException e = assertThrows(GenerationException.class, () -> MethodHandleRegistry
+                .invoke(new Counter(), Counter.class, "add", new Class<?>[]{long.class}, 1L));
+        assertTrue(e.getMessage(), e.getMessage().contains("Counter.add(long)"));
+    }
+}
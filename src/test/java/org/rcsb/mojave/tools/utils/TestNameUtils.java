@@ -2,6 +2,12 @@ package org.rcsb.mojave.tools.utils;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -43,4 +49,41 @@ public class TestNameUtils {
         String legalName = NameUtils.makeNameBeLegalJavaName(illegalName);
         assertTrue(legalName.startsWith("$"));
     }
+
+    @Test
+    public void shouldMakeNameUniqueIgnoringCase() {
+
+        NameRegistry registry = new NameRegistry(asList("value", "VALUE_", "other"));
+        assertEquals("Value__", NameUtils.makeUnique("Value", registry));
+        // not registered by makeUnique
+        assertEquals("Value__", registry.makeUnique("Value"));
+        assertEquals("Value__", registry.register("Value"));
+        assertEquals("VALUE___", registry.register("VALUE"));
+        assertEquals("Other_", registry.register("Other"));
+        assertEquals("new", registry.register("new"));
+        assertTrue(registry.contains("NEW"));
+    }
+
+    private static String scanUnique(String name, List<String> existingNames) {
+        for (String existingName : existingNames)
+            if (name.equalsIgnoreCase(existingName))
+                return scanUnique(name + "_", existingNames);
+        return name;
+    }
+
+    @Test
+    public void shouldMakeSameNamesAsLinearScan() {
+
+        String[] stems = {"a", "A", "a_", "A__", "b", "\u00df", "\u1e9e", "_"};
+        Random random = new Random(7);
+
+        List<String> existingNames = new ArrayList<>();
+        NameRegistry registry = new NameRegistry();
+        for (int i = 0; i < 500; i++) {
+            String name = stems[random.nextInt(stems.length)];
+            String expected = scanUnique(name, existingNames);
+            assertEquals(expected, registry.register(name));
+            existingNames.add(expected);
+        }
+    }
 }